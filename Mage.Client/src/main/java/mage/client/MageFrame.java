@@ -80,6 +80,7 @@ import mage.remote.Connection;
 import mage.remote.Connection.ProxyType;
 import mage.utils.MageVersion;
 import mage.view.GameEndView;
+import mage.view.RoomChangesView;
 import mage.view.UserRequestMessage;
 import net.java.balloontip.BalloonTip;
 import net.java.balloontip.positioners.LeftAbovePositioner;
@@ -1065,6 +1066,10 @@ public class MageFrame extends javax.swing.JFrame implements MageClient {
         }
     }
 
+    public void updateRoom(UUID roomId, RoomChangesView changes) {
+        this.tablesPane.updateRoom(roomId, changes);
+    }
+
     public void prepareAndShowTablesPane() {
         // Update the tables pane with the new session
         this.tablesPane.showTables();
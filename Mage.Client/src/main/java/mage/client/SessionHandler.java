@@ -277,6 +277,19 @@ public final class SessionHandler {
         }
     }
 
+    public static RoomChangesView getRoomChanges(UUID roomId, long sinceVersion, boolean withMatches) {
+        try {
+            return session.getRoomChanges(roomId, sinceVersion, withMatches);
+        } catch (MageRemoteException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    public static boolean stopRoomChanges(UUID roomId) {
+        return session.stopRoomChanges(roomId);
+    }
+
     public static void replayGame(UUID id) {
         session.replayGame(id);
     }
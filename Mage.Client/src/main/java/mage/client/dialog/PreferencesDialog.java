@@ -80,6 +80,7 @@ import mage.players.net.UserSkipPrioritySteps;
 import mage.remote.Connection;
 import mage.remote.Connection.ProxyType;
 import mage.remote.Session;
+import mage.remote.traffic.CompactObjectCodec;
 import mage.view.UserRequestMessage;
 import org.apache.log4j.Logger;
 
@@ -3857,7 +3858,7 @@ public class PreferencesDialog extends javax.swing.JDialog {
             getSelectedAvatar();
         }
         String userStrId = System.getProperty("user.name");
-        return new UserData(UserGroup.PLAYER,
+        UserData userData = new UserData(UserGroup.PLAYER,
                 PreferencesDialog.selectedAvatarId,
                 PreferencesDialog.getCachedValue(PreferencesDialog.KEY_SHOW_ABILITY_PICKER_FORCED, "true").equals("true"),
                 PreferencesDialog.getCachedValue(PreferencesDialog.KEY_GAME_ALLOW_REQUEST_SHOW_HAND_CARDS, "true").equals("true"),
@@ -3873,6 +3874,9 @@ public class PreferencesDialog extends javax.swing.JDialog {
                 PreferencesDialog.getCachedValue(PreferencesDialog.KEY_USE_FIRST_MANA_ABILITY, "false").equals("true"),
                 userStrId
         );
+        userData.setCompactViews(true);
+        userData.setViewDictionaryId(CompactObjectCodec.getDictionaryId());
+        return userData;
     }
 
     public static int getBattlefieldFeedbackColorizingMode() {
@@ -119,6 +119,11 @@ public final class GamePanel extends javax.swing.JPanel {
 
     private Map<String, Card> loadedCards = new HashMap<>();
 
+    // last game update, base of the next delta update
+    private GameView lastGameView;
+    private long lastGameViewVersion = GameViewDelta.FULL;
+    private boolean gameViewResyncRequested = false;
+
     private int storedHeight;
     private Map<String, HoverButton> hoverButtons;
 
@@ -524,6 +529,9 @@ public final class GamePanel extends javax.swing.JPanel {
                 holdingPriority
         );
 
+        lastGameView = game;
+        lastGameViewVersion = 0;
+        gameViewResyncRequested = false;
         updateGame(game);
     }
 
@@ -636,6 +644,34 @@ public final class GamePanel extends javax.swing.JPanel {
         updateGame(game, null);
     }
 
+    public synchronized void updateGame(GameViewDelta delta) {
+        updateGame(delta, null);
+    }
+
+    /**
+     * @param delta
+     * @param watchedHands hands a watcher is allowed to see, sent separately
+     * from the update that is shared by all watchers
+     */
+    public synchronized void updateGame(GameViewDelta delta, Map<String, SimpleCardsView> watchedHands) {
+        GameView game = delta.applyTo(lastGameView, lastGameViewVersion);
+        if (game == null) {
+            if (!gameViewResyncRequested) {
+                logger.debug("Game view update " + delta.getVersion() + " doesn't fit to version " + lastGameViewVersion + " - requesting full view");
+                gameViewResyncRequested = true;
+                SessionHandler.sendPlayerAction(RESYNC_GAME_VIEW, gameId, null);
+            }
+            return;
+        }
+        lastGameView = game;
+        lastGameViewVersion = delta.getVersion();
+        gameViewResyncRequested = false;
+        if (watchedHands != null) {
+            game.setWatchedHands(watchedHands);
+        }
+        updateGame(game);
+    }
+
     public synchronized void updateGame(GameView game, Map<String, Serializable> options) {
         if (playerId == null && game.getWatchedHands() == null) {
             this.handContainer.setVisible(false);
@@ -301,7 +301,14 @@ public class CallbackClientImpl implements CallbackClient {
                         if (panel != null) {
                             appendJsonEvent("GAME_UPDATE", callback.getObjectId(), callback.getData());
 
-                            panel.updateGame((GameView) callback.getData());
+                            if (callback.getData() instanceof GameViewOverlay) {
+                                GameViewOverlay overlay = (GameViewOverlay) callback.getData();
+                                panel.updateGame((GameViewDelta) CompressUtil.decompress(overlay.getUpdate()), overlay.getWatchedHands());
+                            } else if (callback.getData() instanceof GameViewDelta) {
+                                panel.updateGame((GameViewDelta) callback.getData());
+                            } else {
+                                panel.updateGame((GameView) callback.getData());
+                            }
                         }
                         break;
                     }
@@ -397,6 +404,9 @@ public class CallbackClientImpl implements CallbackClient {
                     case USER_REQUEST_DIALOG:
                         frame.showUserRequestDialog((UserRequestMessage) callback.getData());
                         break;
+                    case ROOM_UPDATE:
+                        frame.updateRoom(callback.getObjectId(), (RoomChangesView) callback.getData());
+                        break;
                 }
                 messageId = callback.getMessageId();
             } catch (Exception ex) {
@@ -68,6 +68,8 @@ import mage.game.match.MatchOptions;
 import mage.players.PlayerType;
 import mage.remote.MageRemoteException;
 import mage.view.MatchView;
+import mage.view.RoomChangesView;
+import mage.view.RoomState;
 import mage.view.RoomUsersView;
 import mage.view.TableView;
 import mage.view.UserRequestMessage;
@@ -88,9 +90,10 @@ public class TablesPanel extends javax.swing.JPanel {
     private final TableTableModel tableModel;
     private final MatchesTableModel matchesModel;
     private UUID roomId;
-    private UpdateTablesTask updateTablesTask;
-    private UpdatePlayersTask updatePlayersTask;
-    private UpdateMatchesTask updateMatchesTask;
+    private final RoomState roomState = new RoomState();
+    private boolean roomUpdatesActive;
+    private UpdateRoomTask updateRoomTask;
+    private UpdateMessagesTask updateMessagesTask;
     private JoinTableDialog joinTableDialog;
     private NewTableDialog newTableDialog;
     private NewTournamentDialog newTournamentDialog;
@@ -497,41 +500,64 @@ public class TablesPanel extends javax.swing.JPanel {
         }
     }
 
+    /**
+     * Applies the changes of the room sent by the server
+     *
+     * @param roomId
+     * @param changes
+     */
+    public void updateRoom(UUID roomId, RoomChangesView changes) {
+        if (!roomUpdatesActive || !roomId.equals(this.roomId)) {
+            return;
+        }
+        if (!roomState.apply(changes)) {
+            // some changes are missing
+            requestRoomChanges();
+            return;
+        }
+        updateTables(roomState.getTables());
+        updateMatches(roomState.getMatches());
+        chatPanelMain.setRoomUserInfo(Collections.<Collection<RoomUsersView>>singletonList(Collections.singletonList(roomState.getRoomUsersInfo())));
+    }
+
+    private void requestRoomChanges() {
+        if (updateRoomTask == null || updateRoomTask.isDone()) {
+            updateRoomTask = new UpdateRoomTask(roomId, roomState.getVersion(), btnStateFinished.isSelected(), this);
+            updateRoomTask.execute();
+        }
+    }
+
     public void startTasks() {
         if (SessionHandler.getSession() != null) {
-            if (updateTablesTask == null || updateTablesTask.isDone()) {
-                updateTablesTask = new UpdateTablesTask(roomId, this);
-                updateTablesTask.execute();
-            }
-            if (updatePlayersTask == null || updatePlayersTask.isDone()) {
-                updatePlayersTask = new UpdatePlayersTask(roomId, this.chatPanelMain);
-                updatePlayersTask.execute();
-            }
-            if (this.btnStateFinished.isSelected()) {
-                if (updateMatchesTask == null || updateMatchesTask.isDone()) {
-                    updateMatchesTask = new UpdateMatchesTask(roomId, this);
-                    updateMatchesTask.execute();
-                }
-            } else if (updateMatchesTask != null) {
-                updateMatchesTask.cancel(true);
+            // the server sends the following changes until they are stopped
+            roomUpdatesActive = true;
+            requestRoomChanges();
+            if (updateMessagesTask == null || updateMessagesTask.isDone()) {
+                updateMessagesTask = new UpdateMessagesTask(this);
+                updateMessagesTask.execute();
             }
         }
     }
 
     public void stopTasks() {
-        if (updateTablesTask != null) {
-            updateTablesTask.cancel(true);
+        if (roomUpdatesActive) {
+            roomUpdatesActive = false;
+            if (SessionHandler.getSession() != null && roomId != null) {
+                SessionHandler.stopRoomChanges(roomId);
+            }
         }
-        if (updatePlayersTask != null) {
-            updatePlayersTask.cancel(true);
+        if (updateRoomTask != null) {
+            updateRoomTask.cancel(true);
         }
-        if (updateMatchesTask != null) {
-            updateMatchesTask.cancel(true);
+        if (updateMessagesTask != null) {
+            updateMessagesTask.cancel(true);
         }
     }
 
     public void showTables(UUID roomId) {
         this.roomId = roomId;
+        // versions of another connection don't fit
+        roomState.clear();
         UUID chatRoomId = null;
         if (SessionHandler.getSession() != null) {
             btnQuickStart.setVisible(SessionHandler.isTestMode());
@@ -1301,6 +1327,11 @@ public class TablesPanel extends javax.swing.JPanel {
         } else {
             this.jSplitPaneTables.setDividerLocation(this.jPanelTables.getHeight());
         }
+        // the finished matches of the state don't fit anymore, get the full room with or without them
+        if (updateRoomTask != null) {
+            updateRoomTask.cancel(true);
+        }
+        roomState.clear();
         this.startTasks();
     }//GEN-LAST:event_btnStateFinishedActionPerformed
 
@@ -1504,88 +1535,67 @@ class TableTableModel extends AbstractTableModel {
 
 }
 
-class UpdateTablesTask extends SwingWorker<Void, Collection<TableView>> {
+class UpdateRoomTask extends SwingWorker<RoomChangesView, Void> {
 
     private final UUID roomId;
+    private final long sinceVersion;
+    private final boolean withMatches;
     private final TablesPanel panel;
 
-    private static final Logger logger = Logger.getLogger(UpdateTablesTask.class);
-
-    private int count = 0;
-
-    UpdateTablesTask(UUID roomId, TablesPanel panel) {
+    private static final Logger logger = Logger.getLogger(UpdateRoomTask.class);
 
+    UpdateRoomTask(UUID roomId, long sinceVersion, boolean withMatches, TablesPanel panel) {
         this.roomId = roomId;
+        this.sinceVersion = sinceVersion;
+        this.withMatches = withMatches;
         this.panel = panel;
     }
 
     @Override
-    protected Void doInBackground() throws Exception {
-        while (!isCancelled()) {
-            Collection<TableView> tables = SessionHandler.getTables(roomId);
-            if (tables != null) {
-                this.publish(tables);
-            }
-            TimeUnit.SECONDS.sleep(3);
-        }
-        return null;
-    }
-
-    @Override
-    protected void process(java.util.List<Collection<TableView>> view) {
-        panel.updateTables(view.get(0));
-        count++;
-        if (count > 60) {
-            count = 0;
-            panel.reloadMessages();
-        }
+    protected RoomChangesView doInBackground() throws Exception {
+        return SessionHandler.getRoomChanges(roomId, sinceVersion, withMatches);
     }
 
     @Override
     protected void done() {
         try {
-            get();
+            RoomChangesView changes = get();
+            if (changes != null) {
+                panel.updateRoom(roomId, changes);
+            }
         } catch (InterruptedException | ExecutionException ex) {
-            logger.fatal("Update Tables Task error", ex);
+            logger.fatal("Update Room Task error", ex);
         } catch (CancellationException ex) {
         }
     }
 
 }
 
-class UpdatePlayersTask extends SwingWorker<Void, Collection<RoomUsersView>> {
-
-    private final UUID roomId;
-    private final PlayersChatPanel chat;
+class UpdateMessagesTask extends SwingWorker<Void, Void> {
 
-    private static final Logger logger = Logger.getLogger(UpdatePlayersTask.class);
+    private final TablesPanel panel;
 
-    UpdatePlayersTask(UUID roomId, PlayersChatPanel chat) {
+    private static final Logger logger = Logger.getLogger(UpdateMessagesTask.class);
 
-        this.roomId = roomId;
-        this.chat = chat;
+    UpdateMessagesTask(TablesPanel panel) {
+        this.panel = panel;
     }
 
     @Override
     protected Void doInBackground() throws Exception {
         while (!isCancelled()) {
-            this.publish(SessionHandler.getRoomUsers(roomId));
-            TimeUnit.SECONDS.sleep(3);
+            TimeUnit.MINUTES.sleep(3);
+            SwingUtilities.invokeLater(panel::reloadMessages);
         }
         return null;
     }
 
-    @Override
-    protected void process(java.util.List<Collection<RoomUsersView>> roomUserInfo) {
-        chat.setRoomUserInfo(roomUserInfo);
-    }
-
     @Override
     protected void done() {
         try {
             get();
         } catch (InterruptedException | ExecutionException ex) {
-            logger.fatal("Update Players Task error", ex);
+            logger.fatal("Update Messages Task error", ex);
         } catch (CancellationException ex) {
         }
     }
@@ -1705,47 +1715,6 @@ class MatchesTableModel extends AbstractTableModel {
 
 }
 
-class UpdateMatchesTask extends SwingWorker<Void, Collection<MatchView>> {
-
-    private final UUID roomId;
-    private final TablesPanel panel;
-
-    private static final Logger logger = Logger.getLogger(UpdateTablesTask.class);
-
-    UpdateMatchesTask(UUID roomId, TablesPanel panel) {
-        this.roomId = roomId;
-        this.panel = panel;
-    }
-
-    @Override
-    protected Void doInBackground() throws Exception {
-        while (!isCancelled()) {
-            Collection<MatchView> matches = SessionHandler.getFinishedMatches(roomId);
-            if (!matches.isEmpty()) {
-                this.publish(matches);
-            }
-            TimeUnit.SECONDS.sleep(10);
-        }
-        return null;
-    }
-
-    @Override
-    protected void process(java.util.List<Collection<MatchView>> view) {
-        panel.updateMatches(view.get(0));
-    }
-
-    @Override
-    protected void done() {
-        try {
-            get();
-        } catch (InterruptedException | ExecutionException ex) {
-            logger.fatal("Update Matches Task error", ex);
-        } catch (CancellationException ex) {
-        }
-    }
-
-}
-
 class GameChooser extends JPopupMenu {
 
     public void init() {
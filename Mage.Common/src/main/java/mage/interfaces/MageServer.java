@@ -80,6 +80,10 @@ public interface MageServer {
 
     List<MatchView> getFinishedMatches(UUID roomId) throws MageException;
 
+    RoomChangesView getRoomChanges(String sessionId, UUID roomId, long sinceVersion, boolean withMatches) throws MageException;     // following changes are pushed
+
+    void stopRoomChanges(String sessionId, UUID roomId) throws MageException;
+
     Object getServerMessagesCompressed(String sessionId) throws MageException;     // messages of the day
 
     // ping - extends session
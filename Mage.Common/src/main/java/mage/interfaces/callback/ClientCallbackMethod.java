@@ -46,7 +46,8 @@ public enum ClientCallbackMethod {
     DRAFT_INIT("draftInit"),
     // DRAFT_INFORM("draftInform"),
     DRAFT_PICK("draftPick"),
-    DRAFT_UPDATE("draftUpdate");
+    DRAFT_UPDATE("draftUpdate"),
+    ROOM_UPDATE("roomUpdate");
 
     String value;
 
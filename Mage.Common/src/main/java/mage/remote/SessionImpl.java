@@ -770,6 +770,36 @@ public class SessionImpl implements Session {
         return new ArrayList<>();
     }
 
+    @Override
+    public RoomChangesView getRoomChanges(UUID roomId, long sinceVersion, boolean withMatches) throws MageRemoteException {
+        try {
+            if (isConnected()) {
+                return server.getRoomChanges(sessionId, roomId, sinceVersion, withMatches);
+            }
+        } catch (MageException ex) {
+            handleMageException(ex);
+            throw new MageRemoteException();
+        } catch (Throwable t) {
+            handleThrowable(t);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean stopRoomChanges(UUID roomId) {
+        try {
+            if (isConnected()) {
+                server.stopRoomChanges(sessionId, roomId);
+                return true;
+            }
+        } catch (MageException ex) {
+            handleMageException(ex);
+        } catch (Throwable t) {
+            handleThrowable(t);
+        }
+        return false;
+    }
+
     @Override
     public TournamentView getTournament(UUID tournamentId) throws MageRemoteException {
         try {
@@ -33,6 +33,7 @@ import java.util.Optional;
 import java.util.UUID;
 import mage.remote.MageRemoteException;
 import mage.view.MatchView;
+import mage.view.RoomChangesView;
 import mage.view.RoomUsersView;
 import mage.view.TableView;
 import mage.view.UserView;
@@ -54,6 +55,23 @@ public interface ServerState {
 
     Collection<MatchView> getFinishedMatches(UUID roomId) throws MageRemoteException;
 
+    /**
+     * Returns the changes of the room since the given version, the following
+     * changes are sent with ROOM_UPDATE callbacks until
+     * {@link #stopRoomChanges(UUID)} is called
+     *
+     * @param roomId
+     * @param sinceVersion version the client has, negative to get the full
+     * room
+     * @param withMatches false if the finished matches are not shown and
+     * don't have to be sent
+     * @return
+     * @throws MageRemoteException
+     */
+    RoomChangesView getRoomChanges(UUID roomId, long sinceVersion, boolean withMatches) throws MageRemoteException;
+
+    boolean stopRoomChanges(UUID roomId);
+
     String getVersionInfo();
 
 }
@@ -0,0 +1,286 @@
+package mage.remote.traffic;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import org.apache.log4j.Logger;
+
+/**
+ * Compact encoding for the view objects sent to the clients.
+ *
+ * Compared to plain Java serialization + GZIP:
+ * <ul>
+ * <li>class descriptors only contain the class name, client and server always
+ * have the same classes (the versions are checked on connect)</li>
+ * <li>equal strings and UUIDs are written only once per message, all further
+ * occurrences are back references (string and UUID table)</li>
+ * <li>the Deflater / Inflater instances are pooled</li>
+ * <li>optional preset dictionary for the deflate stream, trained from
+ * recorded game view traffic (Utils/gen-view-dictionary.py) and shipped with
+ * client and server</li>
+ * </ul>
+ * The first byte holds the format version. If the dictionary is used, the
+ * next 4 bytes hold the id of the dictionary.
+ *
+ * Set the system property mage.traffic.capture to a directory to record the
+ * uncompressed messages for training a new dictionary.
+ */
+public final class CompactObjectCodec {
+
+    private static final Logger logger = Logger.getLogger(CompactObjectCodec.class);
+
+    public static final byte VERSION = 1;
+    public static final byte VERSION_DICTIONARY = 2;
+
+    private static final String DICTIONARY_RESOURCE = "/mage/remote/traffic/view-dictionary.bin";
+    // deflate can only look back 32 KB
+    private static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+    private static final byte[] dictionary = loadDictionary();
+    private static final int dictionaryId = getId(dictionary);
+
+    private static final File captureDir = getCaptureDir();
+    private static final AtomicLong captureCount = new AtomicLong();
+
+    private static final int POOL_SIZE = 32;
+    private static final BlockingQueue<Deflater> deflaters = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final BlockingQueue<Inflater> inflaters = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private CompactObjectCodec() {
+    }
+
+    /**
+     * @return id of the preset dictionary, 0 if no dictionary is available
+     */
+    public static int getDictionaryId() {
+        return dictionaryId;
+    }
+
+    public static byte[] encode(Object object) throws IOException {
+        return encode(object, false);
+    }
+
+    /**
+     * @param object
+     * @param useDictionary use the preset dictionary, only possible if the
+     * receiver has the same dictionary (see {@link #getDictionaryId()})
+     * @return
+     * @throws IOException
+     */
+    public static byte[] encode(Object object, boolean useDictionary) throws IOException {
+        if (captureDir != null) {
+            capture(object);
+        }
+        boolean withDictionary = useDictionary && dictionary != null;
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(8192);
+        if (withDictionary) {
+            bos.write(VERSION_DICTIONARY);
+            writeInt(bos, dictionaryId);
+        } else {
+            bos.write(VERSION);
+        }
+        Deflater deflater = deflaters.poll();
+        if (deflater == null) {
+            deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        }
+        try {
+            if (withDictionary) {
+                deflater.setDictionary(dictionary);
+            }
+            DeflaterOutputStream dos = new DeflaterOutputStream(bos, deflater, 8192);
+            ObjectOutputStream oos = new CompactObjectOutputStream(dos);
+            oos.writeObject(object);
+            oos.flush();
+            dos.finish();
+        } finally {
+            deflater.reset();
+            deflaters.offer(deflater);
+        }
+        return bos.toByteArray();
+    }
+
+    public static Object decode(byte[] data) throws IOException, ClassNotFoundException {
+        int offset;
+        if (data.length > 0 && data[0] == VERSION) {
+            offset = 1;
+        } else if (data.length > 4 && data[0] == VERSION_DICTIONARY) {
+            int id = readInt(data, 1);
+            if (dictionary == null || id != dictionaryId) {
+                throw new IOException("Unknown view dictionary: " + Integer.toHexString(id));
+            }
+            offset = 5;
+        } else {
+            throw new IOException("Unsupported compact object version: " + (data.length == 0 ? "empty" : data[0]));
+        }
+        ObjectInputStream ois = new CompactObjectInputStream(new ByteArrayInputStream(inflate(data, offset)));
+        return ois.readObject();
+    }
+
+    private static byte[] inflate(byte[] data, int offset) throws IOException {
+        Inflater inflater = inflaters.poll();
+        if (inflater == null) {
+            inflater = new Inflater();
+        }
+        try {
+            inflater.setInput(data, offset, data.length - offset);
+            ByteArrayOutputStream bos = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0) {
+                    if (inflater.needsDictionary()) {
+                        if (dictionary == null) {
+                            throw new IOException("Compact object data needs a view dictionary that was not negotiated");
+                        }
+                        // the stream header holds the adler32 of the dictionary, setDictionary checks it
+                        inflater.setDictionary(dictionary);
+                    } else if (inflater.needsInput()) {
+                        throw new EOFException("Unexpected end of compact object data");
+                    }
+                }
+                bos.write(buffer, 0, count);
+            }
+            return bos.toByteArray();
+        } catch (DataFormatException | IllegalArgumentException e) {
+            throw new IOException("Corrupt compact object data", e);
+        } finally {
+            inflater.reset();
+            inflaters.offer(inflater);
+        }
+    }
+
+    private static void writeInt(OutputStream out, int value) throws IOException {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16)
+                | ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
+    }
+
+    private static byte[] loadDictionary() {
+        try (InputStream in = CompactObjectCodec.class.getResourceAsStream(DICTIONARY_RESOURCE)) {
+            if (in == null) {
+                return null;
+            }
+            ByteArrayOutputStream bos = new ByteArrayOutputStream(MAX_DICTIONARY_SIZE);
+            byte[] buffer = new byte[8192];
+            int count;
+            while ((count = in.read(buffer)) > 0) {
+                bos.write(buffer, 0, count);
+            }
+            byte[] bytes = bos.toByteArray();
+            if (bytes.length == 0) {
+                return null;
+            }
+            // only the end of the dictionary is reachable, it holds the most frequent strings
+            return bytes.length > MAX_DICTIONARY_SIZE ? Arrays.copyOfRange(bytes, bytes.length - MAX_DICTIONARY_SIZE, bytes.length) : bytes;
+        } catch (IOException e) {
+            logger.warn("Can't load view dictionary", e);
+            return null;
+        }
+    }
+
+    private static int getId(byte[] bytes) {
+        if (bytes == null) {
+            return 0;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        int id = (int) crc.getValue();
+        return id == 0 ? 1 : id;
+    }
+
+    private static File getCaptureDir() {
+        String dir = System.getProperty("mage.traffic.capture");
+        if (dir == null || dir.isEmpty()) {
+            return null;
+        }
+        File file = new File(dir);
+        if (!file.isDirectory() && !file.mkdirs()) {
+            logger.warn("Can't create traffic capture directory " + dir);
+            return null;
+        }
+        logger.info("Capturing view traffic to " + file.getAbsolutePath());
+        return file;
+    }
+
+    private static void capture(Object object) {
+        File file = new File(captureDir, "view-" + captureCount.incrementAndGet() + ".bin");
+        try (ObjectOutputStream oos = new CompactObjectOutputStream(new FileOutputStream(file))) {
+            oos.writeObject(object);
+        } catch (IOException e) {
+            logger.warn("Can't capture view traffic to " + file, e);
+        }
+    }
+
+    private static class CompactObjectOutputStream extends ObjectOutputStream {
+
+        private final Map<String, String> strings = new HashMap<>();
+        private final Map<UUID, UUID> uuids = new HashMap<>();
+
+        CompactObjectOutputStream(OutputStream out) throws IOException {
+            super(out);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected void writeClassDescriptor(ObjectStreamClass desc) throws IOException {
+            writeUTF(desc.getName());
+        }
+
+        @Override
+        protected Object replaceObject(Object obj) throws IOException {
+            // equal objects become the same instance, so they are written as back reference
+            if (obj instanceof String) {
+                String string = strings.putIfAbsent((String) obj, (String) obj);
+                return string != null ? string : obj;
+            }
+            if (obj instanceof UUID) {
+                UUID uuid = uuids.putIfAbsent((UUID) obj, (UUID) obj);
+                return uuid != null ? uuid : obj;
+            }
+            return obj;
+        }
+    }
+
+    private static class CompactObjectInputStream extends ObjectInputStream {
+
+        CompactObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+            String name = readUTF();
+            Class<?> clazz = Class.forName(name, false, CompactObjectCodec.class.getClassLoader());
+            ObjectStreamClass desc = ObjectStreamClass.lookup(clazz);
+            if (desc == null) {
+                throw new IOException("Class is not serializable: " + name);
+            }
+            return desc;
+        }
+    }
+}
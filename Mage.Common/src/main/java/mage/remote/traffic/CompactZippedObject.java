@@ -0,0 +1,60 @@
+package mage.remote.traffic;
+
+import java.io.IOException;
+import java.io.Serializable;
+import org.apache.log4j.Logger;
+
+/**
+ * Compressed object using the {@link CompactObjectCodec}. Only used for
+ * clients that announced they support it.
+ *
+ * @param <T>
+ */
+public class CompactZippedObject<T> implements ZippedObject<T>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger logger = Logger.getLogger(CompactZippedObject.class);
+
+    private final transient boolean useDictionary;
+    private byte[] data;
+
+    public CompactZippedObject(T object) {
+        this(object, false);
+    }
+
+    /**
+     * @param object
+     * @param useDictionary compress with the preset dictionary, the receiver
+     * must have the same dictionary
+     */
+    public CompactZippedObject(T object, boolean useDictionary) {
+        this.useDictionary = useDictionary;
+        zip(object);
+    }
+
+    @Override
+    public void zip(T object) {
+        try {
+            data = CompactObjectCodec.encode(object, useDictionary);
+        } catch (IOException e) {
+            logger.error("Can't compress " + object.getClass().getSimpleName(), e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T unzip() {
+        try {
+            return (T) CompactObjectCodec.decode(data);
+        } catch (Exception e) {
+            logger.error("Can't decompress data", e);
+        }
+        return null;
+    }
+
+    @Override
+    public int getSize() {
+        return data == null ? 0 : data.length;
+    }
+}
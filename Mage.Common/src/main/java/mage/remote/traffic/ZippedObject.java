@@ -12,4 +12,9 @@ public interface ZippedObject<T> {
     void zip(T object);
 
     T unzip();
+
+    /**
+     * @return size of the compressed data in bytes
+     */
+    int getSize();
 }
@@ -50,5 +50,10 @@ public class ZippedObjectImpl<T> implements ZippedObject<T>, Serializable {
         return null;
     }
 
+    @Override
+    public int getSize() {
+        return data == null ? 0 : data.length;
+    }
+
     private static final long serialVersionUID = 1L;
 }
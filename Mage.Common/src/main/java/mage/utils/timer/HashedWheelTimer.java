@@ -0,0 +1,333 @@
+package mage.utils.timer;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.log4j.Logger;
+
+/**
+ * Timer for a large number of timeouts that don't need an exact point in time
+ * (priority timers, idle timeouts, ...).
+ *
+ * The timeouts are kept in a wheel of buckets, each bucket covers one tick.
+ * One worker thread advances the wheel each tick and runs the expired
+ * timeouts, so scheduling and cancelling are O(1) and all timeouts share one
+ * thread. Timeouts are run at the end of the tick they expire in, so they can
+ * be late by up to one tick.
+ */
+public class HashedWheelTimer {
+
+    private static final Logger logger = Logger.getLogger(HashedWheelTimer.class);
+
+    private static final int STATE_WAITING = 0;
+    private static final int STATE_CANCELLED = 1;
+    private static final int STATE_EXPIRED = 2;
+
+    private final long tickDuration;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Executor taskExecutor;
+    private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingTimeouts = new AtomicInteger();
+    private final Thread worker;
+    private final long startTime;
+    private volatile boolean stopped = false;
+    private long tick = 0;
+
+    /**
+     * @param name name of the worker thread
+     * @param tickDuration
+     * @param unit
+     * @param wheelSize number of buckets, rounded up to a power of 2
+     * @param taskExecutor executor running the expired tasks, null to run
+     * them on the worker thread (only for short tasks)
+     */
+    public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int wheelSize, Executor taskExecutor) {
+        if (tickDuration <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick duration and wheel size must be positive");
+        }
+        this.tickDuration = unit.toNanos(tickDuration);
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.taskExecutor = taskExecutor;
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::work, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Runs the task once after the delay
+     *
+     * @param task
+     * @param delay
+     * @param unit
+     * @return
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        return add(new Timeout(task, deadline(delay, unit), 0));
+    }
+
+    /**
+     * Runs the task after the initial delay and then repeatedly each period
+     * until the timeout is cancelled
+     *
+     * @param task
+     * @param initialDelay
+     * @param period
+     * @param unit
+     * @return
+     */
+    public Timeout scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        return add(new Timeout(task, deadline(initialDelay, unit), unit.toNanos(period)));
+    }
+
+    /**
+     * @return number of scheduled timeouts
+     */
+    public int getPendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+
+    /**
+     * Stops the worker thread, the scheduled timeouts are not run anymore
+     */
+    public void stop() {
+        stopped = true;
+        worker.interrupt();
+    }
+
+    private long deadline(long delay, TimeUnit unit) {
+        return System.nanoTime() - startTime + Math.max(0, unit.toNanos(delay));
+    }
+
+    private Timeout add(Timeout timeout) {
+        if (stopped) {
+            throw new IllegalStateException("Timer is stopped");
+        }
+        pendingTimeouts.incrementAndGet();
+        newTimeouts.add(timeout);
+        return timeout;
+    }
+
+    private void work() {
+        while (!stopped) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) {
+                break;
+            }
+            removeCancelled();
+            transferNewTimeouts();
+            wheel[(int) (tick & mask)].expire(deadline);
+            tick++;
+        }
+    }
+
+    /**
+     * @return time of the tick end (relative to the start time), -1 if the
+     * timer was stopped
+     */
+    private long waitForNextTick() {
+        long deadline = tickDuration * (tick + 1);
+        while (true) {
+            long sleepNanos = deadline - (System.nanoTime() - startTime);
+            if (sleepNanos <= 0) {
+                return deadline;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                if (stopped) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferNewTimeouts() {
+        Timeout timeout;
+        while ((timeout = newTimeouts.poll()) != null) {
+            if (timeout.state.get() == STATE_CANCELLED) {
+                continue;
+            }
+            long expireTick = timeout.deadline / tickDuration;
+            timeout.remainingRounds = (expireTick - tick) / wheel.length;
+            // already expired timeouts go to the current bucket
+            wheel[(int) (Math.max(expireTick, tick) & mask)].add(timeout);
+        }
+    }
+
+    private void run(Timeout timeout) {
+        if (timeout.period > 0) {
+            // reschedule before the run, the task can cancel itself
+            timeout.deadline += timeout.period;
+            newTimeouts.add(timeout);
+        } else {
+            if (!timeout.state.compareAndSet(STATE_WAITING, STATE_EXPIRED)) {
+                return;
+            }
+            pendingTimeouts.decrementAndGet();
+        }
+        if (taskExecutor == null) {
+            timeout.runTask();
+        } else {
+            try {
+                taskExecutor.execute(timeout::runTask);
+            } catch (RejectedExecutionException e) {
+                logger.error("Timer task rejected", e);
+            }
+        }
+    }
+
+    /**
+     * Handle of a scheduled task
+     */
+    public final class Timeout {
+
+        private final Runnable task;
+        private final long period;
+        private final AtomicInteger state = new AtomicInteger(STATE_WAITING);
+        private long deadline;
+        private long remainingRounds;
+
+        // only used by the worker thread
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(Runnable task, long deadline, long period) {
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        /**
+         * The task won't run anymore (a running task is not interrupted)
+         *
+         * @return false if the task was already cancelled or has run
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(STATE_WAITING, STATE_CANCELLED)) {
+                return false;
+            }
+            pendingTimeouts.decrementAndGet();
+            cancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == STATE_CANCELLED;
+        }
+
+        /**
+         * @return true if the task was cancelled or has run (a periodic task is
+         * only done if cancelled)
+         */
+        public boolean isDone() {
+            return state.get() != STATE_WAITING;
+        }
+
+        /**
+         * @param unit
+         * @return remaining delay until the next run, 0 if done
+         */
+        public long getDelay(TimeUnit unit) {
+            if (isDone()) {
+                return 0;
+            }
+            return unit.convert(Math.max(0, deadline - (System.nanoTime() - startTime)), TimeUnit.NANOSECONDS);
+        }
+
+        private void runTask() {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                logger.error("Timer task error", t);
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of the timeouts of one tick, only used by the worker
+     * thread
+     */
+    private final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        void expire(long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.deadline <= deadline) {
+                        run(timeout);
+                    } else {
+                        // can't happen, the timeout was put in the wrong bucket
+                        newTimeouts.add(timeout);
+                    }
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+    }
+}
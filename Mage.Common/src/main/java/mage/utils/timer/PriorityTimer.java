@@ -3,6 +3,7 @@ package mage.utils.timer;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import mage.MageException;
 import mage.interfaces.Action;
 import org.apache.log4j.Logger;
@@ -20,6 +21,8 @@ public class PriorityTimer extends TimerTask {
     private int count;
     private Action taskOnTick;
     private States state = States.NONE;
+    private Timer timer;
+    private HashedWheelTimer.Timeout timeout;
 
     enum States {
         NONE,
@@ -37,11 +40,34 @@ public class PriorityTimer extends TimerTask {
 
     public void init(UUID gameId) {
         state = States.INIT;
-        Timer timer = new Timer("Priority Timer-" + gameId.toString(), false);
+        timer = new Timer("Priority Timer-" + gameId.toString(), false);
         long delayMs = delay * (int) (1000L / delay);
         timer.scheduleAtFixedRate(this, delayMs, delayMs);
     }
 
+    /**
+     * Uses a shared timer instead of an own timer thread
+     *
+     * @param wheelTimer
+     */
+    public void init(HashedWheelTimer wheelTimer) {
+        state = States.INIT;
+        long delayMs = delay * (int) (1000L / delay);
+        timeout = wheelTimer.scheduleAtFixedRate(this, delayMs, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean cancel() {
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        if (timer != null) {
+            // ends the timer thread
+            timer.cancel();
+        }
+        return super.cancel();
+    }
+
     public void start() {
         if (state == States.NONE) {
             throw new IllegalStateException("Timer should have been initialized first");
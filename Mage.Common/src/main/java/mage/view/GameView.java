@@ -217,6 +217,35 @@ public class GameView implements Serializable {
         rollbackTurnsAllowed = game.getOptions().rollbackTurnsAllowed;
     }
 
+    /**
+     * Shallow copy, the player and card views are shared with the given view
+     *
+     * @param view
+     */
+    public GameView(final GameView view) {
+        this.priorityTime = view.priorityTime;
+        this.players.addAll(view.players);
+        this.hand = view.hand;
+        this.canPlayInHand = view.canPlayInHand;
+        this.opponentHands = view.opponentHands;
+        this.watchedHands = view.watchedHands;
+        this.stack.putAll(view.stack);
+        this.exiles.addAll(view.exiles);
+        this.revealed.addAll(view.revealed);
+        this.lookedAt = view.lookedAt;
+        this.combat.addAll(view.combat);
+        this.phase = view.phase;
+        this.step = view.step;
+        this.activePlayerId = view.activePlayerId;
+        this.activePlayerName = view.activePlayerName;
+        this.priorityPlayerName = view.priorityPlayerName;
+        this.turn = view.turn;
+        this.special = view.special;
+        this.isPlayer = view.isPlayer;
+        this.spellsCastCurrentTurn = view.spellsCastCurrentTurn;
+        this.rollbackTurnsAllowed = view.rollbackTurnsAllowed;
+    }
+
     private void checkPaid(UUID uuid, StackAbility stackAbility) {
         for (Cost cost : stackAbility.getManaCostsToPay()) {
             if (!cost.isPaid()) {
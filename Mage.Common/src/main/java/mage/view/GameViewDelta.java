@@ -0,0 +1,162 @@
+package mage.view;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Game update that only contains the parts of the game view that changed since
+ * the last update sent to the same session.
+ *
+ * Unchanged players are sent as null list entries, unchanged permanents, cards
+ * in graveyards / exile and stack objects are sent as null map values (the key
+ * keeps the order). The client replaces them with the objects of the view of
+ * the base version. If the client doesn't have the base version it has to
+ * request a full view.
+ */
+public class GameViewDelta implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Base version of a full view, it can be applied to any view
+     */
+    public static final long FULL = -1;
+
+    private final long baseVersion;
+    private final long version;
+    private final GameView gameView;
+
+    public GameViewDelta(long baseVersion, long version, GameView gameView) {
+        this.baseVersion = baseVersion;
+        this.version = version;
+        this.gameView = gameView;
+    }
+
+    public long getBaseVersion() {
+        return baseVersion;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isFull() {
+        return baseVersion == FULL;
+    }
+
+    /**
+     * Patches the unchanged parts of the update from the base view.
+     *
+     * @param base last view received
+     * @param currentVersion version of the base view
+     * @return the complete game view or null if the update doesn't fit to the
+     * base view and a full view is needed
+     */
+    public GameView applyTo(GameView base, long currentVersion) {
+        if (isFull()) {
+            return gameView;
+        }
+        if (base == null || baseVersion != currentVersion) {
+            return null;
+        }
+        List<PlayerView> players = gameView.getPlayers();
+        if (players.size() != base.getPlayers().size()) {
+            return null;
+        }
+        Map<UUID, PermanentView> battlefield = new HashMap<>();
+        Map<UUID, CardView> graveyards = new HashMap<>();
+        Map<UUID, CardView> exiles = new HashMap<>();
+        for (PlayerView player : base.getPlayers()) {
+            battlefield.putAll(player.getBattlefield());
+            graveyards.putAll(player.getGraveyard());
+            exiles.putAll(player.getExile());
+        }
+        for (int i = 0; i < players.size(); i++) {
+            PlayerView player = players.get(i);
+            if (player == null) {
+                players.set(i, base.getPlayers().get(i));
+            } else if (!patch(player.getBattlefield(), battlefield)
+                    || !patch(player.getGraveyard(), graveyards)
+                    || !patch(player.getExile(), exiles)) {
+                return null;
+            }
+        }
+        if (!patch(gameView.getStack(), base.getStack())) {
+            return null;
+        }
+        return gameView;
+    }
+
+    /**
+     * Merges this update with the previous update of the same session, so
+     * only the merged update has to be sent. Unchanged parts of this update
+     * are taken from the previous update. The view of this update is
+     * modified.
+     *
+     * @param previous update (not yet sent) this update is based on
+     * @return update from the base version of the previous update to the
+     * version of this update or null if this update isn't based on the
+     * previous update
+     */
+    public GameViewDelta coalesce(GameViewDelta previous) {
+        if (isFull()) {
+            return this;
+        }
+        if (baseVersion != previous.version) {
+            return null;
+        }
+        List<PlayerView> players = gameView.getPlayers();
+        List<PlayerView> previousPlayers = previous.gameView.getPlayers();
+        if (players.size() != previousPlayers.size()) {
+            return null;
+        }
+        Map<UUID, PermanentView> battlefield = new HashMap<>();
+        Map<UUID, CardView> graveyards = new HashMap<>();
+        Map<UUID, CardView> exiles = new HashMap<>();
+        for (PlayerView player : previousPlayers) {
+            if (player != null) {
+                battlefield.putAll(player.getBattlefield());
+                graveyards.putAll(player.getGraveyard());
+                exiles.putAll(player.getExile());
+            }
+        }
+        for (int i = 0; i < players.size(); i++) {
+            PlayerView player = players.get(i);
+            if (player == null) {
+                // can still be null if the player didn't change since the previous base version
+                players.set(i, previousPlayers.get(i));
+            } else {
+                merge(player.getBattlefield(), battlefield);
+                merge(player.getGraveyard(), graveyards);
+                merge(player.getExile(), exiles);
+            }
+        }
+        merge(gameView.getStack(), previous.gameView.getStack());
+        return new GameViewDelta(previous.baseVersion, version, gameView);
+    }
+
+    private static <T> void merge(Map<UUID, T> part, Map<UUID, ? extends T> previous) {
+        for (Map.Entry<UUID, T> entry : part.entrySet()) {
+            if (entry.getValue() == null) {
+                // stays null if it didn't change since the previous base version either
+                entry.setValue(previous.get(entry.getKey()));
+            }
+        }
+    }
+
+    private static <T> boolean patch(Map<UUID, T> part, Map<UUID, ? extends T> base) {
+        for (Map.Entry<UUID, T> entry : part.entrySet()) {
+            if (entry.getValue() == null) {
+                T view = base.get(entry.getKey());
+                if (view == null) {
+                    return false;
+                }
+                entry.setValue(view);
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package mage.view;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Game update for a watcher. The update itself is shared by all watchers of
+ * the game (and usually already compressed), only the watcher specific parts
+ * are added per watcher.
+ */
+public class GameViewOverlay implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Object update;
+    private final Map<String, SimpleCardsView> watchedHands;
+
+    /**
+     * @param update {@link GameViewDelta}, can be compressed
+     * @param watchedHands hands the watcher is allowed to see, can be null
+     */
+    public GameViewOverlay(Object update, Map<String, SimpleCardsView> watchedHands) {
+        this.update = update;
+        this.watchedHands = watchedHands;
+    }
+
+    public Object getUpdate() {
+        return update;
+    }
+
+    public Map<String, SimpleCardsView> getWatchedHands() {
+        return watchedHands;
+    }
+}
@@ -175,6 +175,45 @@ public class PlayerView implements Serializable {
         }
     }
 
+    /**
+     * Shallow copy, the card views are shared with the given view
+     *
+     * @param view
+     */
+    public PlayerView(final PlayerView view) {
+        this.playerId = view.playerId;
+        this.name = view.name;
+        this.life = view.life;
+        this.counters = view.counters;
+        this.wins = view.wins;
+        this.winsNeeded = view.winsNeeded;
+        this.deckHashCode = view.deckHashCode;
+        this.libraryCount = view.libraryCount;
+        this.handCount = view.handCount;
+        this.isActive = view.isActive;
+        this.hasPriority = view.hasPriority;
+        this.timerActive = view.timerActive;
+        this.hasLeft = view.hasLeft;
+        this.manaPool = view.manaPool;
+        this.graveyard.putAll(view.graveyard);
+        this.exile.putAll(view.exile);
+        this.battlefield.putAll(view.battlefield);
+        this.topCard = view.topCard;
+        this.userData = view.userData;
+        this.commandList.addAll(view.commandList);
+        this.attachments.addAll(view.attachments);
+        this.statesSavedSize = view.statesSavedSize;
+        this.priorityTimeLeft = view.priorityTimeLeft;
+        this.passedTurn = view.passedTurn;
+        this.passedUntilEndOfTurn = view.passedUntilEndOfTurn;
+        this.passedUntilNextMain = view.passedUntilNextMain;
+        this.passedUntilStackResolved = view.passedUntilStackResolved;
+        this.passedAllTurns = view.passedAllTurns;
+        this.passedUntilEndStepBeforeMyTurn = view.passedUntilEndStepBeforeMyTurn;
+        this.monarch = view.monarch;
+        this.designationNames.addAll(view.designationNames);
+    }
+
     private boolean showInBattlefield(Permanent permanent, GameState state) {
 
         //show permanents controlled by player or attachments to permanents controlled by player
@@ -0,0 +1,188 @@
+package mage.view;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Changes of a games room (tables, finished matches and users) from one
+ * version of the room to another.
+ *
+ * Only added or changed objects are sent, removed objects are sent as keys.
+ * The order of a part is only sent if it changed. If the client doesn't have
+ * the base version it has to request the changes since the version it has.
+ */
+public class RoomChangesView implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Base version of a full view, it can be applied to any state
+     */
+    public static final long FULL = -1;
+
+    private final long baseVersion;
+    private final long version;
+    private final Changes<UUID, TableView> tables;
+    private final Changes<UUID, MatchView> matches;
+    private final Changes<String, UsersView> users;
+    private final int numberActiveGames;
+    private final int numberGameThreads;
+    private final int numberMaxGames;
+
+    public RoomChangesView(long baseVersion, long version, Changes<UUID, TableView> tables, Changes<UUID, MatchView> matches,
+            Changes<String, UsersView> users, int numberActiveGames, int numberGameThreads, int numberMaxGames) {
+        this.baseVersion = baseVersion;
+        this.version = version;
+        this.tables = tables;
+        this.matches = matches;
+        this.users = users;
+        this.numberActiveGames = numberActiveGames;
+        this.numberGameThreads = numberGameThreads;
+        this.numberMaxGames = numberMaxGames;
+    }
+
+    public long getBaseVersion() {
+        return baseVersion;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isFull() {
+        return baseVersion == FULL;
+    }
+
+    public Changes<UUID, TableView> getTables() {
+        return tables;
+    }
+
+    public Changes<UUID, MatchView> getMatches() {
+        return matches;
+    }
+
+    public Changes<String, UsersView> getUsers() {
+        return users;
+    }
+
+    public int getNumberActiveGames() {
+        return numberActiveGames;
+    }
+
+    public int getNumberGameThreads() {
+        return numberGameThreads;
+    }
+
+    public int getNumberMaxGames() {
+        return numberMaxGames;
+    }
+
+    /**
+     * @return the same changes without the finished matches, for clients
+     * that don't show them
+     */
+    public RoomChangesView withoutMatches() {
+        return new RoomChangesView(baseVersion, version, tables, Changes.empty(), users,
+                numberActiveGames, numberGameThreads, numberMaxGames);
+    }
+
+    /**
+     * Changes of one part of the room
+     *
+     * @param <K> key of the objects
+     * @param <V> view of the objects
+     */
+    public static class Changes<K, V> implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Map<K, V> changed;
+        private final List<K> removed;
+        private final List<K> order;
+
+        /**
+         * @param changed added or changed objects
+         * @param removed keys of the removed objects
+         * @param order keys of all objects in the new order, null if the
+         * order didn't change
+         */
+        public Changes(Map<K, V> changed, List<K> removed, List<K> order) {
+            this.changed = changed;
+            this.removed = removed;
+            this.order = order;
+        }
+
+        public Map<K, V> getChanged() {
+            return changed;
+        }
+
+        public List<K> getRemoved() {
+            return removed;
+        }
+
+        public List<K> getOrder() {
+            return order;
+        }
+
+        public boolean isEmpty() {
+            return changed.isEmpty() && removed.isEmpty() && order == null;
+        }
+
+        /**
+         * @param previous changes directly before these changes
+         * @return changes from the base of the previous changes to the state
+         * after these changes
+         */
+        public Changes<K, V> merge(Changes<K, V> previous) {
+            Map<K, V> mergedChanged = new LinkedHashMap<>(previous.changed);
+            List<K> mergedRemoved = new ArrayList<>(previous.removed);
+            for (K key : removed) {
+                mergedChanged.remove(key);
+                if (!mergedRemoved.contains(key)) {
+                    mergedRemoved.add(key);
+                }
+            }
+            mergedRemoved.removeAll(changed.keySet());
+            mergedChanged.putAll(changed);
+            return new Changes<>(mergedChanged, mergedRemoved, order != null ? order : previous.order);
+        }
+
+        /**
+         * Applies the changes to the current objects of the part
+         *
+         * @param objects objects in their order, are modified
+         * @return false if the changes don't fit to the objects
+         */
+        public boolean applyTo(Map<K, V> objects) {
+            for (K key : removed) {
+                objects.remove(key);
+            }
+            objects.putAll(changed);
+            if (order != null) {
+                if (order.size() != objects.size()) {
+                    return false;
+                }
+                Map<K, V> ordered = new LinkedHashMap<>();
+                for (K key : order) {
+                    V object = objects.get(key);
+                    if (object == null) {
+                        return false;
+                    }
+                    ordered.put(key, object);
+                }
+                objects.clear();
+                objects.putAll(ordered);
+            }
+            return true;
+        }
+
+        public static <K, V> Changes<K, V> empty() {
+            return new Changes<>(Collections.emptyMap(), Collections.emptyList(), null);
+        }
+    }
+}
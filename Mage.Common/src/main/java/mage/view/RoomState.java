@@ -0,0 +1,79 @@
+package mage.view;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * State of a games room on the client, kept up to date with the changes sent
+ * by the server.
+ */
+public class RoomState {
+
+    private long version = RoomChangesView.FULL;
+    private final Map<UUID, TableView> tables = new LinkedHashMap<>();
+    private final Map<UUID, MatchView> matches = new LinkedHashMap<>();
+    private final Map<String, UsersView> users = new LinkedHashMap<>();
+    private int numberActiveGames;
+    private int numberGameThreads;
+    private int numberMaxGames;
+
+    /**
+     * @return version of the state, {@link RoomChangesView#FULL} if no state
+     * was received yet
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * @param changes
+     * @return false if the changes don't fit to the state, the changes since
+     * the current version have to be requested
+     */
+    public synchronized boolean apply(RoomChangesView changes) {
+        if (changes.getVersion() == version) {
+            return true;
+        }
+        if (changes.isFull()) {
+            tables.clear();
+            matches.clear();
+            users.clear();
+        } else if (changes.getBaseVersion() != version) {
+            return false;
+        }
+        if (!changes.getTables().applyTo(tables)
+                || !changes.getMatches().applyTo(matches)
+                || !changes.getUsers().applyTo(users)) {
+            // the state is broken, next time the full state is requested
+            version = RoomChangesView.FULL;
+            return false;
+        }
+        numberActiveGames = changes.getNumberActiveGames();
+        numberGameThreads = changes.getNumberGameThreads();
+        numberMaxGames = changes.getNumberMaxGames();
+        version = changes.getVersion();
+        return true;
+    }
+
+    public synchronized void clear() {
+        version = RoomChangesView.FULL;
+        tables.clear();
+        matches.clear();
+        users.clear();
+    }
+
+    public synchronized List<TableView> getTables() {
+        return new ArrayList<>(tables.values());
+    }
+
+    public synchronized List<MatchView> getMatches() {
+        return new ArrayList<>(matches.values());
+    }
+
+    public synchronized RoomUsersView getRoomUsersInfo() {
+        return new RoomUsersView(new ArrayList<>(users.values()), numberActiveGames, numberGameThreads, numberMaxGames);
+    }
+}
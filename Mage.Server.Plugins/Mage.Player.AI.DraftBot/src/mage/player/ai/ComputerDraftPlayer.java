@@ -32,6 +32,7 @@ import mage.constants.RangeOfInfluence;
 import mage.game.Game;
 import mage.game.Table;
 import mage.game.tournament.TournamentType;
+import mage.player.ai.utils.RateCard;
 import mage.players.Player;
 
 /**
@@ -40,6 +41,11 @@ import mage.players.Player;
  */
 public class ComputerDraftPlayer extends ComputerPlayer implements Player {
 
+    static {
+        // plugin classes are initialized on server start
+        RateCard.precomputeRatings();
+    }
+
     public ComputerDraftPlayer(String name, RangeOfInfluence range) {
         super(name, range);
     }
@@ -107,6 +107,8 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
     protected Set<String> actionCache;
     private static final List<TreeOptimizer> optimizers = new ArrayList<>();
     protected int lastLoggedTurn = 0;
+    protected long totalNodes = 0;
+    protected long totalSimulationTime = 0;
     protected static final String BLANKS = "...............................................";
 
     static {
@@ -453,6 +455,18 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
      * @return
      */
     protected Integer addActionsTimed() {
+        SimulationNode2 searchRoot = root;
+        int startNodes = searchRoot.getTreeNodeCount();
+        long startTime = System.nanoTime();
+        try {
+            return simulateTimed();
+        } finally {
+            totalNodes += searchRoot.getTreeNodeCount() - startNodes;
+            totalSimulationTime += TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        }
+    }
+
+    private Integer simulateTimed() {
         FutureTask<Integer> task = new FutureTask<>(new Callable<Integer>() {
             @Override
             public Integer call() throws Exception {
@@ -486,6 +500,20 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
         return 0;
     }
 
+    /**
+     * @return number of simulation nodes created by all searches of the player
+     */
+    public long getTotalNodes() {
+        return totalNodes;
+    }
+
+    /**
+     * @return time in milliseconds spent on all searches of the player
+     */
+    public long getTotalSimulationTime() {
+        return totalSimulationTime;
+    }
+
     protected int simulatePriority(SimulationNode2 node, Game game, int depth, int alpha, int beta) {
         if (ALLOW_INTERRUPT
                 && Thread.interrupted()) {
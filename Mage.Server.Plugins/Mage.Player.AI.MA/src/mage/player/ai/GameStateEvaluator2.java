@@ -26,6 +26,21 @@ public final class GameStateEvaluator2 {
     public static final int LOSE_GAME_SCORE = -WIN_GAME_SCORE;
 
     public static int evaluate(UUID playerId, Game game) {
+        PermanentScoreCache scoreCache = null;
+        if (game.getCustomData() instanceof SimulationNode2) {
+            scoreCache = ((SimulationNode2) game.getCustomData()).getScoreCache();
+        }
+        return evaluate(playerId, game, scoreCache);
+    }
+
+    /**
+     * @param playerId
+     * @param game
+     * @param scoreCache permanent scores of the evaluated tree, null to score
+     * all permanents
+     * @return
+     */
+    public static int evaluate(UUID playerId, Game game, PermanentScoreCache scoreCache) {
         Player player = game.getPlayer(playerId);
         Player opponent = game.getPlayer(game.getOpponents(playerId).iterator().next());
         if (game.checkIfGameIsOver()) {
@@ -54,7 +69,7 @@ public final class GameStateEvaluator2 {
             StringBuilder sbOpponent = new StringBuilder();
             // add values of player
             for (Permanent permanent : game.getBattlefield().getAllActivePermanents(playerId)) {
-                int onePermScore = evaluatePermanent(permanent, game);
+                int onePermScore = scoreCache == null ? evaluatePermanent(permanent, game) : scoreCache.getScore(permanent, game);
                 playerScore += onePermScore;
                 if (logger.isDebugEnabled()) {
                     sbPlayer.append(permanent.getName()).append('[').append(onePermScore).append("] ");
@@ -68,7 +83,7 @@ public final class GameStateEvaluator2 {
 
             // add values of opponent
             for (Permanent permanent : game.getBattlefield().getAllActivePermanents(opponent.getId())) {
-                int onePermScore = evaluatePermanent(permanent, game);
+                int onePermScore = scoreCache == null ? evaluatePermanent(permanent, game) : scoreCache.getScore(permanent, game);
                 opponentScore += onePermScore;
                 if (logger.isDebugEnabled()) {
                     sbOpponent.append(permanent.getName()).append('[').append(onePermScore).append("] ");
@@ -0,0 +1,85 @@
+package mage.player.ai;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import mage.abilities.Ability;
+import mage.constants.SubType;
+import mage.counters.CounterType;
+import mage.game.Game;
+import mage.game.permanent.Permanent;
+import mage.player.ai.ma.ArtificialScoringSystem;
+
+/**
+ * Holds the permanent scores calculated for the nodes of one simulation tree.
+ *
+ * Only the part of a score that depends on the permanent alone is cached. It
+ * is stored under a key of the permanent's id and everything that part reads
+ * (power, toughness, damage, tapped state, counters, abilities, ...). The part
+ * that depends on the rest of the game (attachments, restriction effects,
+ * defenders, whose turn it is) is calculated for each evaluation. Each leaf
+ * still builds one key per permanent, the cache saves the scoring of the
+ * permanents that are in the same state as in another node of the tree. A
+ * tree is simulated by one thread.
+ */
+public class PermanentScoreCache implements Serializable {
+
+    private static final int MAX_SCORES = 50000;
+
+    private final Map<List<Object>, Integer> scores = new LinkedHashMap<List<Object>, Integer>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, Integer> eldest) {
+            return size() > MAX_SCORES;
+        }
+    };
+    private long hits;
+    private long misses;
+
+    public int getScore(Permanent permanent, Game game) {
+        List<Object> key = getKey(permanent, game);
+        Integer score = scores.get(key);
+        if (score == null) {
+            misses++;
+            score = ArtificialScoringSystem.getFixedPermanentScore(game, permanent)
+                    + ArtificialScoringSystem.getPermanentStateScore(game, permanent);
+            scores.put(key, score);
+        } else {
+            hits++;
+        }
+        return score + ArtificialScoringSystem.getGameDependentScore(game, permanent);
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    private static List<Object> getKey(Permanent permanent, Game game) {
+        List<Object> abilities = new ArrayList<>();
+        for (Ability ability : permanent.getAbilities()) {
+            abilities.add(ability.getId());
+        }
+        return Arrays.asList(
+                permanent.getId(),
+                permanent.getZoneChangeCounter(game),
+                new ArrayList<>(permanent.getCardType()),
+                permanent.getManaCost().convertedManaCost(),
+                permanent.getMana().size(),
+                permanent.getRarity(),
+                permanent.getPower().getValue(),
+                permanent.getToughness().getValue(),
+                permanent.getDamage(),
+                permanent.isTapped(),
+                permanent.hasSummoningSickness(),
+                permanent.getCounters(game).getCount(CounterType.CHARGE),
+                permanent.getCounters(game).getCount(CounterType.LEVEL),
+                abilities,
+                permanent.getSubtype(game).contains(SubType.EQUIPMENT));
+    }
+}
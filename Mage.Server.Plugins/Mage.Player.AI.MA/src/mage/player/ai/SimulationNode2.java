@@ -31,6 +31,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import mage.abilities.Ability;
 import mage.game.Game;
 import mage.game.combat.Combat;
@@ -54,14 +55,21 @@ public class SimulationNode2 implements Serializable {
     protected List<String> choices = new ArrayList<>();
     protected UUID playerId;
     protected Combat combat;
+    // scores of permanents, shared by all nodes of the tree
+    protected PermanentScoreCache scoreCache;
+    // nodes created in the tree, unlike nodeCount not shared with the searches of other players
+    protected AtomicInteger treeNodeCount;
 
     public SimulationNode2(SimulationNode2 parent, Game game, int depth, UUID playerId) {
         this.parent = parent;
         this.game = game;
         this.depth = depth;
         this.playerId = playerId;
+        this.scoreCache = parent == null ? new PermanentScoreCache() : parent.scoreCache;
+        this.treeNodeCount = parent == null ? new AtomicInteger() : parent.treeNodeCount;
         game.setCustomData(this);
         nodeCount++;
+        treeNodeCount.incrementAndGet();
     }
 
     public SimulationNode2(SimulationNode2 parent, Game game, List<Ability> abilities, int depth, UUID playerId) {
@@ -138,4 +146,15 @@ public class SimulationNode2 implements Serializable {
     public void setScore(int score) {
         this.score = score;
     }
+
+    public PermanentScoreCache getScoreCache() {
+        return scoreCache;
+    }
+
+    /**
+     * @return number of nodes created in the tree of this node
+     */
+    public int getTreeNodeCount() {
+        return treeNodeCount.get();
+    }
 }
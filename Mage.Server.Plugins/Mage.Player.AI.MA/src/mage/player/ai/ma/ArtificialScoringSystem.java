@@ -64,7 +64,18 @@ public final class ArtificialScoringSystem {
     }
 
     public static int getVariablePermanentScore(final Game game, final Permanent permanent) {
+        return getPermanentStateScore(game, permanent) + getGameDependentScore(game, permanent);
+    }
 
+    /**
+     * Part of the variable score that only depends on the permanent itself
+     * (counters, damage, tapped state, power, toughness and abilities)
+     *
+     * @param game
+     * @param permanent
+     * @return
+     */
+    public static int getPermanentStateScore(final Game game, final Permanent permanent) {
         int score = permanent.getCounters(game).getCount(CounterType.CHARGE) * 30;
         score += permanent.getCounters(game).getCount(CounterType.LEVEL) * 30;
         score -= permanent.getDamage() * 2;
@@ -79,6 +90,21 @@ public final class ArtificialScoringSystem {
                 abilityScore += MagicAbility.getAbilityScore(ability);
             }
             score += power * 300 + getPositive(toughness) * 200 + abilityScore * (getPositive(power) + 1) / 2;
+        }
+        return score;
+    }
+
+    /**
+     * Part of the variable score that depends on other objects of the game
+     * (attachments, restriction effects, defenders, ...)
+     *
+     * @param game
+     * @param permanent
+     * @return
+     */
+    public static int getGameDependentScore(final Game game, final Permanent permanent) {
+        int score = 0;
+        if (permanent.getCardType().contains(CardType.CREATURE)) {
             //TODO: it can be improved
             //score += permanent.getEquipmentPermanents().size() * 50 + permanent.getAuraPermanents().size() * 100;
             int enchantments = 0;
@@ -0,0 +1,243 @@
+package mage.player.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import mage.abilities.Ability;
+import mage.game.Game;
+import mage.game.permanent.Permanent;
+
+/**
+ * Enumerates the attack and block assignments AI players have to consider.
+ *
+ * Creatures with the same combat profile (e.g. tokens of the same kind) are
+ * interchangeable, so only one assignment of each combination of identical
+ * creatures is generated instead of every permutation. Blocks that can't
+ * change the outcome of the fight (neither creature deals damage) are
+ * skipped.
+ *
+ * Results are cached by a compact signature of the involved creatures in
+ * bounded LRU caches. The returned lists are shared and must not be modified.
+ */
+public final class CombatAssignments {
+
+    private static final int MAX_CACHE_SIZE = 1000;
+
+    private static final Map<String, List<List<UUID>>> attacksCache = Collections.synchronizedMap(new LruCache<List<List<UUID>>>());
+    private static final Map<String, List<List<List<UUID>>>> blocksCache = Collections.synchronizedMap(new LruCache<List<List<List<UUID>>>>());
+
+    private static long attacksHit = 0;
+    private static long attacksMiss = 0;
+    private static long blocksHit = 0;
+    private static long blocksMiss = 0;
+
+    private CombatAssignments() {
+    }
+
+    /**
+     * @param attackers creatures able to attack
+     * @param game
+     * @return all distinct sets of attackers, starting with all attackers and
+     * ending with no attack
+     */
+    public static List<List<UUID>> getAttacks(List<Permanent> attackers, Game game) {
+        List<Permanent> sorted = new ArrayList<>(attackers);
+        List<String> profiles = sortByProfile(sorted, game);
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < sorted.size(); i++) {
+            sb.append(sorted.get(i).getId()).append(profiles.get(i)).append(';');
+        }
+        String signature = sb.toString();
+        List<List<UUID>> attacks = attacksCache.get(signature);
+        if (attacks != null) {
+            attacksHit++;
+            return attacks;
+        }
+        attacksMiss++;
+
+        // identical attackers only differ in how many of them attack
+        List<List<UUID>> classes = new ArrayList<>();
+        String lastProfile = null;
+        for (int i = 0; i < sorted.size(); i++) {
+            if (!profiles.get(i).equals(lastProfile)) {
+                classes.add(new ArrayList<UUID>());
+                lastProfile = profiles.get(i);
+            }
+            classes.get(classes.size() - 1).add(sorted.get(i).getId());
+        }
+        attacks = new ArrayList<>();
+        addAttacks(classes, 0, new ArrayList<UUID>(), attacks);
+        attacksCache.put(signature, attacks);
+        return attacks;
+    }
+
+    private static void addAttacks(List<List<UUID>> classes, int index, List<UUID> attack, List<List<UUID>> attacks) {
+        if (index == classes.size()) {
+            attacks.add(new ArrayList<>(attack));
+            return;
+        }
+        List<UUID> identical = classes.get(index);
+        for (int count = identical.size(); count >= 0; count--) {
+            List<UUID> next = new ArrayList<>(attack);
+            next.addAll(identical.subList(0, count));
+            addAttacks(classes, index + 1, next, attacks);
+        }
+    }
+
+    /**
+     * @param attackerIds the (first) attacker of each combat group
+     * @param blockers creatures able to block
+     * @param game
+     * @return all distinct block assignments, each one holds the blockers for
+     * every combat group, the first assignment is no block at all
+     */
+    public static List<List<List<UUID>>> getBlocks(List<UUID> attackerIds, List<Permanent> blockers, Game game) {
+        int numGroups = attackerIds.size();
+        List<Permanent> sorted = new ArrayList<>(blockers);
+        List<String> profiles = sortByProfile(sorted, game);
+
+        boolean[][] canBlock = new boolean[sorted.size()][numGroups];
+        StringBuilder sb = new StringBuilder();
+        for (UUID attackerId : attackerIds) {
+            Permanent attacker = game.getPermanent(attackerId);
+            sb.append(attackerId).append(attacker == null ? "" : getCombatProfile(attacker, game)).append(';');
+        }
+        sb.append('|');
+        for (int b = 0; b < sorted.size(); b++) {
+            sb.append(sorted.get(b).getId()).append(profiles.get(b));
+            for (int g = 0; g < numGroups; g++) {
+                canBlock[b][g] = sorted.get(b).canBlock(attackerIds.get(g), game);
+                sb.append(canBlock[b][g] ? '1' : '0');
+            }
+            sb.append(';');
+        }
+        String signature = sb.toString();
+        List<List<List<UUID>>> blocks = blocksCache.get(signature);
+        if (blocks != null) {
+            blocksHit++;
+            return blocks;
+        }
+        blocksMiss++;
+
+        boolean[][] useless = new boolean[sorted.size()][numGroups];
+        for (int g = 0; g < numGroups; g++) {
+            Permanent attacker = game.getPermanent(attackerIds.get(g));
+            if (attacker != null && attacker.getPower().getValue() <= 0) {
+                for (int b = 0; b < sorted.size(); b++) {
+                    useless[b][g] = sorted.get(b).getPower().getValue() <= 0;
+                }
+            }
+        }
+
+        blocks = new ArrayList<>();
+        List<List<UUID>> engagement = new ArrayList<>();
+        for (int i = 0; i < numGroups; i++) {
+            engagement.add(new ArrayList<UUID>());
+        }
+        int[] choices = new int[sorted.size()];
+        addBlocks(sorted, profiles, canBlock, useless, 0, choices, engagement, blocks);
+        blocksCache.put(signature, blocks);
+        return blocks;
+    }
+
+    private static void addBlocks(List<Permanent> blockers, List<String> profiles, boolean[][] canBlock, boolean[][] useless,
+            int index, int[] choices, List<List<UUID>> engagement, List<List<List<UUID>>> blocks) {
+        if (index == blockers.size()) {
+            List<List<UUID>> newEngagement = new ArrayList<>();
+            for (List<UUID> group : engagement) {
+                newEngagement.add(new ArrayList<>(group));
+            }
+            blocks.add(newEngagement);
+            return;
+        }
+        // an identical blocker never picks a group before the one picked by its predecessor,
+        // blockers are only identical if they can also block the same attackers
+        int first = -1;
+        if (index > 0 && profiles.get(index).equals(profiles.get(index - 1))
+                && Arrays.equals(canBlock[index], canBlock[index - 1])
+                && Arrays.equals(useless[index], useless[index - 1])) {
+            first = choices[index - 1];
+        }
+        for (int group = first; group < engagement.size(); group++) {
+            if (group >= 0) {
+                if (!canBlock[index][group] || useless[index][group]) {
+                    continue;
+                }
+                engagement.get(group).add(blockers.get(index).getId());
+            }
+            choices[index] = group;
+            addBlocks(blockers, profiles, canBlock, useless, index + 1, choices, engagement, blocks);
+            if (group >= 0) {
+                List<UUID> groupBlockers = engagement.get(group);
+                groupBlockers.remove(groupBlockers.size() - 1);
+            }
+        }
+    }
+
+    /**
+     * Creatures with the same profile are interchangeable in combat
+     *
+     * @param creature
+     * @param game
+     * @return
+     */
+    public static String getCombatProfile(Permanent creature, Game game) {
+        // abilities of the same class differ by their rule text (e.g. protection from red or blue)
+        List<String> abilities = new ArrayList<>();
+        for (Ability ability : creature.getAbilities()) {
+            abilities.add(ability.getClass().getName() + '=' + ability.getRule());
+        }
+        Collections.sort(abilities);
+        return new StringBuilder(creature.getName())
+                .append(':').append(creature.getPower().getValue())
+                .append('/').append(creature.getToughness().getValue())
+                .append(':').append(creature.getDamage())
+                .append(':').append(abilities)
+                .append(':').append(creature.getAttachments())
+                .toString();
+    }
+
+    private static List<String> sortByProfile(List<Permanent> creatures, final Game game) {
+        final Map<UUID, String> profiles = new LinkedHashMap<>();
+        for (Permanent creature : creatures) {
+            profiles.put(creature.getId(), getCombatProfile(creature, game));
+        }
+        Collections.sort(creatures, new Comparator<Permanent>() {
+            @Override
+            public int compare(Permanent p1, Permanent p2) {
+                int result = profiles.get(p1.getId()).compareTo(profiles.get(p2.getId()));
+                return result != 0 ? result : p1.getId().compareTo(p2.getId());
+            }
+        });
+        List<String> sortedProfiles = new ArrayList<>();
+        for (Permanent creature : creatures) {
+            sortedProfiles.add(profiles.get(creature.getId()));
+        }
+        return sortedProfiles;
+    }
+
+    public static String getHitMiss() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Attacks Cache -- Hits: ").append(attacksHit).append(" Misses: ").append(attacksMiss).append('\n');
+        sb.append("Blocks Cache -- Hits: ").append(blocksHit).append(" Misses: ").append(blocksMiss).append('\n');
+        return sb.toString();
+    }
+
+    private static class LruCache<V> extends LinkedHashMap<String, V> {
+
+        LruCache() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    }
+}
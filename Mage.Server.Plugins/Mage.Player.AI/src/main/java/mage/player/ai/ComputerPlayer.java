@@ -77,7 +77,6 @@ import mage.players.net.UserData;
 import mage.players.net.UserGroup;
 import mage.target.*;
 import mage.target.common.*;
-import mage.util.Copier;
 import mage.util.RandomUtil;
 import mage.util.TournamentUtil;
 import mage.util.TreeNode;
@@ -2096,25 +2095,15 @@ public class ComputerPlayer extends PlayerImpl implements Player {
 
     protected CombatSimulator simulateAttack(Attackers attackers, List<Permanent> blockers, UUID opponentId, Game game) {
         log.debug("simulateAttack");
-        List<Permanent> attackersList = attackers.getAttackers();
         CombatSimulator best = new CombatSimulator();
         int bestResult = 0;
-        //use binary digits to calculate powerset of attackers
-        int powerElements = (int) Math.pow(2, attackersList.size());
-        for (int i = 1; i < powerElements; i++) {
-            String binary = Integer.toBinaryString(i);
-            while (binary.length() < attackersList.size()) {
-                binary = '0' + binary;
-            }
-            List<Permanent> trialAttackers = new ArrayList<>();
-            for (int j = 0; j < attackersList.size(); j++) {
-                if (binary.charAt(j) == '1') {
-                    trialAttackers.add(attackersList.get(j));
-                }
+        for (List<UUID> trialAttackers : CombatAssignments.getAttacks(attackers.getAttackers(), game)) {
+            if (trialAttackers.isEmpty()) {
+                continue;
             }
             CombatSimulator combat = new CombatSimulator();
-            for (Permanent permanent : trialAttackers) {
-                combat.groups.add(new CombatGroupSimulator(opponentId, Arrays.asList(permanent.getId()), new ArrayList<UUID>(), game));
+            for (UUID attackerId : trialAttackers) {
+                combat.groups.add(new CombatGroupSimulator(opponentId, Arrays.asList(attackerId), new ArrayList<UUID>(), game));
             }
             CombatSimulator test = simulateBlock(combat, blockers, game);
             if (test.evaluate() > bestResult) {
@@ -2126,35 +2115,56 @@ public class ComputerPlayer extends PlayerImpl implements Player {
         return best;
     }
 
+    /**
+     * Simulates all distinct block assignments and returns the one that is
+     * worst for the attacker
+     *
+     * @param combat
+     * @param blockers
+     * @param game
+     * @return
+     */
     protected CombatSimulator simulateBlock(CombatSimulator combat, List<Permanent> blockers, Game game) {
         log.debug("simulateBlock");
 
-        TreeNode<CombatSimulator> simulations;
-
-        simulations = new TreeNode<>(combat);
-        addBlockSimulations(blockers, simulations, game);
+        List<UUID> attackerIds = new ArrayList<>();
+        for (CombatGroupSimulator group : combat.groups) {
+            attackerIds.add(group.attackers.get(0).id);
+        }
         combat.simulate();
-
-        return getWorstSimulation(simulations);
-
+        CombatSimulator worst = combat;
+        int worstResult = combat.evaluate();
+        for (List<List<UUID>> block : CombatAssignments.getBlocks(attackerIds, blockers, game)) {
+            CombatSimulator test = createBlockSimulation(combat, block, game);
+            test.simulate();
+            if (test.evaluate() < worstResult) {
+                worst = test;
+                worstResult = test.evaluate();
+            }
+        }
+        return worst;
     }
 
-    protected void addBlockSimulations(List<Permanent> blockers, TreeNode<CombatSimulator> node, Game game) {
-        int numGroups = node.getData().groups.size();
-        Copier<CombatSimulator> copier = new Copier<>();
-        for (Permanent blocker : blockers) {
-            List<Permanent> subList = remove(blockers, blocker);
-            for (int i = 0; i < numGroups; i++) {
-                if (node.getData().groups.get(i).canBlock(blocker, game)) {
-                    CombatSimulator combat = copier.copy(node.getData());
-                    combat.groups.get(i).blockers.add(new CreatureSimulator(blocker));
-                    TreeNode<CombatSimulator> child = new TreeNode<>(combat);
-                    node.addChild(child);
-                    addBlockSimulations(subList, child, game);
-                    combat.simulate();
-                }
+    private CombatSimulator createBlockSimulation(CombatSimulator combat, List<List<UUID>> block, Game game) {
+        CombatSimulator simulation = new CombatSimulator();
+        simulation.defenders.addAll(combat.defenders);
+        simulation.playersLife.putAll(combat.playersLife);
+        simulation.planeswalkerLoyalty.putAll(combat.planeswalkerLoyalty);
+        simulation.attackerId = combat.attackerId;
+        for (int i = 0; i < combat.groups.size(); i++) {
+            CombatGroupSimulator group = combat.groups.get(i);
+            List<UUID> attackerIds = new ArrayList<>();
+            for (CreatureSimulator attacker : group.attackers) {
+                attackerIds.add(attacker.id);
+            }
+            List<UUID> blockerIds = new ArrayList<>();
+            for (CreatureSimulator blocker : group.blockers) {
+                blockerIds.add(blocker.id);
             }
+            blockerIds.addAll(block.get(i));
+            simulation.groups.add(new CombatGroupSimulator(group.defenderId, attackerIds, blockerIds, game));
         }
+        return simulation;
     }
 
     protected List<Permanent> remove(List<Permanent> source, Permanent element) {
@@ -4,6 +4,8 @@ import mage.abilities.Ability;
 import mage.abilities.effects.Effect;
 import mage.abilities.effects.common.DamageTargetEffect;
 import mage.cards.Card;
+import mage.cards.repository.CardInfo;
+import mage.cards.repository.CardRepository;
 import mage.constants.ColoredManaSymbol;
 import mage.constants.Outcome;
 import mage.target.Target;
@@ -13,19 +15,25 @@ import org.apache.log4j.Logger;
 
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import mage.constants.SubType;
 
 /**
  * Class responsible for reading ratings from resources and rating given cards.
  * Based on card relative ratings from resources and card parameters.
  *
+ * Everything that doesn't depend on the chosen colors is computed only once
+ * per card name and kept in an immutable {@link CardRating} entry, so rating
+ * cards is thread safe and cheap enough for many draft bots picking at once.
+ *
  * @author nantuko
  */
 public final class RateCard {
 
-    private static Map<String, Integer> ratings;
-    private static final Map<String, Integer> rated = new HashMap<>();
-    private static Integer min = Integer.MAX_VALUE, max = 0;
+    private static volatile Map<String, Integer> ratings;
+    private static final ConcurrentMap<String, CardRating> cardRatings = new ConcurrentHashMap<>();
+    private static int min = Integer.MAX_VALUE, max = 0;
 
     /**
      * Rating that is given for new cards.
@@ -44,37 +52,62 @@ public final class RateCard {
     /**
      * Get absolute score of the card.
      * Depends on type, manacost, rating.
-     * If allowedColors is null then the rating is retrieved from the cache
+     * Everything except the color dependent manacost score is precomputed.
      *
      * @param card
      * @param allowedColors
      * @return
      */
     public static int rateCard(Card card, List<ColoredManaSymbol> allowedColors) {
-        if (allowedColors == null && rated.containsKey(card.getName())) {
-            int rate = rated.get(card.getName());
-//            log.info(card.getName() + " rate: " + rate);
-            return rate;
+        CardRating cardRating = getRating(card);
+        return cardRating.baseScore + getManaCostScore(cardRating, allowedColors);
+    }
+
+    /**
+     * Precompute the rating entries of all cards that have a rating.
+     * Meant to be called once on server start, cards without a rating are
+     * added on their first use.
+     */
+    public static void precomputeRatings() {
+        readRatings();
+        long start = System.currentTimeMillis();
+        for (String name : ratings.keySet()) {
+            if (!cardRatings.containsKey(name)) {
+                CardInfo cardInfo = CardRepository.instance.findCard(name);
+                Card card = cardInfo == null ? null : cardInfo.getCard();
+                if (card != null) {
+                    getRating(card);
+                }
+            }
+        }
+        log.debug("Precomputed " + cardRatings.size() + " card ratings in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    private static CardRating getRating(Card card) {
+        CardRating cardRating = cardRatings.get(card.getName());
+        if (cardRating == null) {
+            cardRating = new CardRating(card);
+            CardRating existing = cardRatings.putIfAbsent(card.getName(), cardRating);
+            if (existing != null) {
+                cardRating = existing;
+            }
         }
-        int type;
+        return cardRating;
+    }
+
+    private static int getTypeScore(Card card) {
         if (card.isPlaneswalker()) {
-            type = 15;
+            return 15;
         } else if (card.isCreature()) {
-            type = 10;
+            return 10;
         } else if (card.getSubtype(null).contains(SubType.EQUIPMENT)) {
-            type = 8;
+            return 8;
         } else if (card.getSubtype(null).contains(SubType.AURA)) {
-            type = 5;
+            return 5;
         } else if (card.isInstant()) {
-            type = 7;
-        } else {
-            type = 6;
+            return 7;
         }
-        int score = 10 * getCardRating(card) + 2 * type + getManaCostScore(card, allowedColors)
-                + 40 * isRemoval(card);
-        if (allowedColors == null)
-            rated.put(card.getName(), score);
-        return score;
+        return 6;
     }
 
     private static int isRemoval(Card card) {
@@ -137,12 +170,13 @@ public final class RateCard {
      */
     private synchronized static void readRatings() {
         if (ratings == null) {
-            ratings = new HashMap<>();
-            readFromFile("/m13.csv");
+            Map<String, Integer> read = new HashMap<>();
+            readFromFile("/m13.csv", read);
+            ratings = read;
         }
     }
-    
-    private static void readFromFile(String path) {
+
+    private static void readFromFile(String path, Map<String, Integer> ratings) {
         try {
             InputStream is = RateCard.class.getResourceAsStream(path);
             Scanner scanner = new Scanner(is);
@@ -175,47 +209,27 @@ public final class RateCard {
      * If allowed colors are not chosen, then score based on converted cost is returned with penalty for heavy colored cards.
      *
      *
-     * @param card
+     * @param cardRating
      * @param allowedColors Can be null.
      * @return
      */
-    private static int getManaCostScore(Card card, List<ColoredManaSymbol> allowedColors) {
-        int converted = card.getManaCost().convertedManaCost();
+    private static int getManaCostScore(CardRating cardRating, List<ColoredManaSymbol> allowedColors) {
         if (allowedColors == null) {
-            int colorPenalty = 0;
-            for (String symbol : card.getManaCost().getSymbols()) {
-                if (isColoredMana(symbol)) {
-                     colorPenalty++;
-                }
-            }
-            return 2 * (converted - colorPenalty + 1);
+            return 2 * (cardRating.converted - cardRating.colorManaCount + 1);
         }
-        final Map<String, Integer> singleCount = new HashMap<>();
-        int maxSingleCount = 0;
-        for (String symbol : card.getManaCost().getSymbols()) {
-            int count = 0;
-            symbol = symbol.replace("{", "").replace("}", "");
-            if (isColoredMana(symbol)) {
-                for (ColoredManaSymbol allowed : allowedColors) {
-                    if (allowed.toString().equals(symbol)) {
-                        count++;
-                    }
-                }
-                if (count == 0) {
-                    return -100;
+        for (String symbol : cardRating.colorManaCounts.keySet()) {
+            boolean allowed = false;
+            for (ColoredManaSymbol allowedColor : allowedColors) {
+                if (allowedColor.toString().equals(symbol)) {
+                    allowed = true;
+                    break;
                 }
-                Integer typeCount = singleCount.get(symbol);
-                if (typeCount == null) {
-                    typeCount = new Integer(0);
-                }
-                typeCount += 1;
-                singleCount.put(symbol, typeCount);
-                maxSingleCount = Math.max(maxSingleCount, typeCount);
+            }
+            if (!allowed) {
+                return -100;
             }
         }
-        if (maxSingleCount > 5)
-            maxSingleCount = 5;
-        return 2 * converted + 3 * (10 - SINGLE_PENALTY[maxSingleCount]/*-DOUBLE_PENALTY[doubleCount]*/);
+        return 2 * cardRating.converted + 3 * (10 - SINGLE_PENALTY[cardRating.maxSingleCount]/*-DOUBLE_PENALTY[doubleCount]*/);
     }
 
     /**
@@ -264,4 +278,37 @@ public final class RateCard {
         }
         return symbols.size();
     }
+
+    /**
+     * Color independent rating values of a card.
+     */
+    private static final class CardRating {
+
+        private final int baseScore;
+        private final int converted;
+        private final int colorManaCount;
+        private final int maxSingleCount;
+        private final Map<String, Integer> colorManaCounts;
+
+        CardRating(Card card) {
+            this.baseScore = 10 * getCardRating(card) + 2 * getTypeScore(card) + 40 * isRemoval(card);
+            this.converted = card.getManaCost().convertedManaCost();
+            Map<String, Integer> counts = new HashMap<>();
+            int total = 0;
+            int maxCount = 0;
+            for (String symbol : card.getManaCost().getSymbols()) {
+                symbol = symbol.replace("{", "").replace("}", "");
+                if (isColoredMana(symbol)) {
+                    Integer count = counts.get(symbol);
+                    count = count == null ? 1 : count + 1;
+                    counts.put(symbol, count);
+                    maxCount = Math.max(maxCount, count);
+                    total++;
+                }
+            }
+            this.colorManaCount = total;
+            this.maxSingleCount = Math.min(maxCount, 5);
+            this.colorManaCounts = Collections.unmodifiableMap(counts);
+        }
+    }
 }
@@ -60,10 +60,21 @@ public class ComputerPlayerMCTS extends ComputerPlayer implements Player {
     private static final double THINK_TIME_MULTIPLIER = 2.0;
     private static final boolean USE_MULTIPLE_THREADS = true;
 
+    /**
+     * ROOT - every thread searches its own tree, trees are merged afterwards
+     * TREE - all threads search one shared tree using virtual loss
+     */
+    public enum ParallelMode {
+        ROOT, TREE
+    }
+
+    private static final ParallelMode DEFAULT_PARALLEL_MODE = ParallelMode.valueOf(System.getProperty("mcts.parallelMode", ParallelMode.ROOT.name()));
+
     protected transient MCTSNode root;
     protected int maxThinkTime;
     private static final Logger logger = Logger.getLogger(ComputerPlayerMCTS.class);
     private int poolSize;
+    private ParallelMode parallelMode = DEFAULT_PARALLEL_MODE;
 
     public ComputerPlayerMCTS(String name, RangeOfInfluence range, int skill) {
         super(name, range);
@@ -78,6 +89,8 @@ public class ComputerPlayerMCTS extends ComputerPlayer implements Player {
 
     public ComputerPlayerMCTS(final ComputerPlayerMCTS player) {
         super(player);
+        this.poolSize = player.poolSize;
+        this.parallelMode = player.parallelMode;
     }
 
     @Override
@@ -285,34 +298,15 @@ public class ComputerPlayerMCTS extends ComputerPlayer implements Player {
         
         if (thinkTime > 0) {
             if (USE_MULTIPLE_THREADS) {
-                ExecutorService pool = Executors.newFixedThreadPool(poolSize);
-                List<MCTSExecutor> tasks = new ArrayList<>();
-                for (int i = 0; i < poolSize; i++) {
-                    Game sim = createMCTSGame(game);
-                    MCTSPlayer player = (MCTSPlayer) sim.getPlayer(playerId);
-                    player.setNextAction(action);
-                    MCTSExecutor exec = new MCTSExecutor(sim, playerId, thinkTime);
-                    tasks.add(exec);
+                int simCount;
+                if (parallelMode == ParallelMode.TREE) {
+                    simCount = applyTreeParallelMCTS(thinkTime);
+                } else {
+                    simCount = applyRootParallelMCTS(game, action, thinkTime);
                 }
-
-                try {
-                    pool.invokeAll(tasks, thinkTime, TimeUnit.SECONDS);
-                    pool.awaitTermination(1, TimeUnit.SECONDS);
-                    pool.shutdownNow();
-                } catch (InterruptedException | RejectedExecutionException ex) {
-                    logger.warn("applyMCTS interrupted");
-                }
-                
-                int simCount = 0;
-                for (MCTSExecutor task: tasks) {
-                    simCount += task.getSimCount();
-                    root.merge(task.getRoot());
-                    task.clear();
-                }
-                tasks.clear();
                 totalThinkTime += thinkTime;
                 totalSimulations += simCount;
-                logger.info("Player: " + name + " Simulated " + simCount + " games in " + thinkTime + " seconds - nodes in tree: " + root.size());
+                logger.info("Player: " + name + " (" + parallelMode + ") Simulated " + simCount + " games in " + thinkTime + " seconds - nodes in tree: " + root.size());
                 logger.info("Total: Simulated " + totalSimulations + " games in " + totalThinkTime + " seconds - Average: " + totalSimulations/totalThinkTime);
                 MCTSNode.logHitMiss();
             }
@@ -355,6 +349,81 @@ public class ComputerPlayerMCTS extends ComputerPlayer implements Player {
 
     }
 
+    private int applyRootParallelMCTS(final Game game, final NextAction action, int thinkTime) {
+        ExecutorService pool = Executors.newFixedThreadPool(poolSize);
+        List<MCTSExecutor> tasks = new ArrayList<>();
+        for (int i = 0; i < poolSize; i++) {
+            Game sim = createMCTSGame(game);
+            MCTSPlayer player = (MCTSPlayer) sim.getPlayer(playerId);
+            player.setNextAction(action);
+            MCTSExecutor exec = new MCTSExecutor(sim, playerId, thinkTime);
+            tasks.add(exec);
+        }
+
+        try {
+            pool.invokeAll(tasks, thinkTime, TimeUnit.SECONDS);
+            pool.awaitTermination(1, TimeUnit.SECONDS);
+            pool.shutdownNow();
+        } catch (InterruptedException | RejectedExecutionException ex) {
+            logger.warn("applyMCTS interrupted");
+        }
+
+        int simCount = 0;
+        for (MCTSExecutor task: tasks) {
+            simCount += task.getSimCount();
+            root.merge(task.getRoot());
+            task.clear();
+        }
+        tasks.clear();
+        return simCount;
+    }
+
+    private int applyTreeParallelMCTS(int thinkTime) {
+        ExecutorService pool = Executors.newFixedThreadPool(poolSize);
+        List<MCTSTreeExecutor> tasks = new ArrayList<>();
+        for (int i = 0; i < poolSize; i++) {
+            tasks.add(new MCTSTreeExecutor(root, playerId, thinkTime));
+        }
+
+        try {
+            pool.invokeAll(tasks, thinkTime + 1, TimeUnit.SECONDS);
+        } catch (InterruptedException | RejectedExecutionException ex) {
+            logger.warn("applyMCTS interrupted");
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int simCount = 0;
+        for (MCTSTreeExecutor task: tasks) {
+            simCount += task.getSimCount();
+        }
+        return simCount;
+    }
+
+    public ParallelMode getParallelMode() {
+        return parallelMode;
+    }
+
+    public void setParallelMode(ParallelMode parallelMode) {
+        this.parallelMode = parallelMode;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public long getTotalSimulations() {
+        return totalSimulations;
+    }
+
+    public long getTotalThinkTime() {
+        return totalThinkTime;
+    }
+
     //try to ensure that there are at least THINK_MIN_RATIO simulations per node at all times
     private int calculateThinkTime(Game game, NextAction action) {
         int thinkTime;
@@ -34,6 +34,9 @@ import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import mage.constants.PhaseStep;
 import mage.constants.Zone;
 import mage.abilities.Ability;
@@ -57,19 +60,24 @@ public class MCTSNode {
     public static final boolean USE_ACTION_CACHE = false;
     private static final double selectionCoefficient = Math.sqrt(2.0);
     private static final double passRatioTolerance = 0.0;
+    private static final int VIRTUAL_LOSS = 1;
     private static final Logger logger = Logger.getLogger(MCTSNode.class);
 
-    private int visits = 0;
-    private int wins = 0;
+    // statistics are updated lock-free so that several threads can search one tree
+    private final AtomicInteger visits = new AtomicInteger();
+    private final AtomicInteger wins = new AtomicInteger();
+    private final AtomicInteger virtualLoss = new AtomicInteger();
+    // set by the thread that is currently expanding or simulating this node
+    private final AtomicBoolean claimed = new AtomicBoolean();
     private MCTSNode parent;
-    private final List<MCTSNode> children = new ArrayList<>();
+    private final List<MCTSNode> children = new CopyOnWriteArrayList<>();
     private Ability action;
-    private Game game;
+    private volatile Game game;
     private Combat combat;
     private final String stateValue;
     private final String fullStateValue;
     private UUID playerId;
-    private boolean terminal = false;
+    private volatile boolean terminal = false;
     private UUID targetPlayer;
 
     private static int nodeCount;
@@ -130,13 +138,18 @@ public class MCTSNode {
         if (children.size() == 1) {
             return children.get(0);
         }
+        int parentVisits = visits.get() + virtualLoss.get();
         for (MCTSNode node: children) {
             double uct;
-            if (node.visits > 0)
+            int nodeWins = node.wins.get();
+            int nodeVisits = node.visits.get();
+            // pending visits of other threads count as losses for the player choosing here
+            int nodeTotal = nodeVisits + node.virtualLoss.get();
+            if (nodeTotal > 0)
                 if (isTarget)
-                    uct = (node.wins / (node.visits)) + (selectionCoefficient * Math.sqrt(Math.log(visits) / (node.visits)));
+                    uct = (nodeWins / (nodeTotal * 1.0)) + (selectionCoefficient * Math.sqrt(Math.log(parentVisits) / (nodeTotal)));
                 else
-                    uct = ((node.visits - node.wins) / (node.visits)) + (selectionCoefficient * Math.sqrt(Math.log(visits) / (node.visits)));
+                    uct = ((nodeVisits - nodeWins) / (nodeTotal * 1.0)) + (selectionCoefficient * Math.sqrt(Math.log(parentVisits) / (nodeTotal)));
             else
                 // ensure that a random unvisited node is played first
                 uct = 10000 + 1000 * Math.random();
@@ -148,7 +161,44 @@ public class MCTSNode {
         return bestChild;
     }
 
+    /**
+     * Marks a pending visit of the current thread so that other threads
+     * searching the same tree are steered towards different nodes
+     */
+    public void addVirtualLoss() {
+        virtualLoss.addAndGet(VIRTUAL_LOSS);
+    }
+
+    /**
+     * Removes the pending visit added by {@link #addVirtualLoss()} from this
+     * node and all its ancestors
+     */
+    public void revertVirtualLoss() {
+        MCTSNode node = this;
+        while (node != null) {
+            node.virtualLoss.addAndGet(-VIRTUAL_LOSS);
+            node = node.parent;
+        }
+    }
+
+    /**
+     * Gives the calling thread exclusive use of the game of this node.
+     * A node with children stays claimed because its game is released, a
+     * node without children is released and marked terminal.
+     *
+     * @return false if another thread is already working on this node
+     */
+    public boolean claim() {
+        return claimed.compareAndSet(false, true);
+    }
+
+    public void release() {
+        claimed.set(false);
+    }
+
     public void expand() {
+        Game game = this.game;
+        List<MCTSNode> children = new ArrayList<>();
         MCTSPlayer player = (MCTSPlayer) game.getPlayer(playerId);
         if (player.getNextAction() == null) {
             logger.fatal("next action is null");
@@ -172,11 +222,7 @@ public class MCTSNode {
                 break;
             case SELECT_ATTACKERS:
 //                logger.info("Select attackers:" + player.getName());
-                List<List<UUID>> attacks;
-                if (!USE_ACTION_CACHE)
-                    attacks = player.getAttacks(game);
-                else
-                    attacks = getAttacks(player, fullStateValue, game);
+                List<List<UUID>> attacks = player.getAttacks(game);
                 UUID defenderId = game.getOpponents(player.getId()).iterator().next();
                 for (List<UUID> attack: attacks) {
                     Game sim = game.copy();
@@ -190,11 +236,7 @@ public class MCTSNode {
                 break;
             case SELECT_BLOCKERS:
 //                logger.info("Select blockers:" + player.getName());
-                List<List<List<UUID>>> blocks;
-                if (!USE_ACTION_CACHE)
-                    blocks = player.getBlocks(game);
-                else
-                    blocks = getBlocks(player, fullStateValue, game);
+                List<List<List<UUID>>> blocks = player.getBlocks(game);
                 for (List<List<UUID>> block: blocks) {
                     Game sim = game.copy();
                     MCTSPlayer simPlayer = (MCTSPlayer) sim.getPlayer(player.getId());
@@ -211,11 +253,23 @@ public class MCTSNode {
                 }
                 break;
         }
-        game = null;
+        if (children.isEmpty()) {
+            // nothing to expand, selection treats the node as terminal and it keeps its game to check the winner
+            terminal = true;
+            return;
+        }
+        // publish all children at once, threads sharing the tree never see a partial expansion
+        this.children.addAll(children);
+        this.game = null;
     }
 
     public int simulate(UUID playerId) {
 //        long startTime = System.nanoTime();
+        Game game = this.game;
+        if (game == null) {
+            // expanded by another thread in the meantime
+            return 0;
+        }
         Game sim = createSimulation(game, playerId);
         sim.resume();
 //        long duration = System.nanoTime() - startTime;
@@ -234,8 +288,8 @@ public class MCTSNode {
         if (result == 0)
             return;
         if (result == 1)
-            wins++;
-        visits++;
+            wins.incrementAndGet();
+        visits.incrementAndGet();
         if (parent != null)
             parent.backpropagate(result);
     }
@@ -253,24 +307,26 @@ public class MCTSNode {
         MCTSNode bestChild = null;
         for (MCTSNode node: children) {
             //favour passing vs any other action except for playing land if ratio is close
-            if (node.visits > bestCount) {
+            int nodeVisits = node.visits.get();
+            int nodeWins = node.wins.get();
+            if (nodeVisits > bestCount) {
                 if (bestIsPass) {
-                    double ratio = node.wins/(node.visits * 1.0);
+                    double ratio = nodeWins/(nodeVisits * 1.0);
                     if (ratio < bestRatio + passRatioTolerance)
                         continue;
                 }
                 bestChild = node;
-                bestCount = node.visits;
-                bestRatio = node.wins/(node.visits * 1.0);
+                bestCount = nodeVisits;
+                bestRatio = nodeWins/(nodeVisits * 1.0);
                 bestIsPass = false;
             }
-            else if (node.action instanceof PassAbility && node.visits > 10 && !(bestChild.action instanceof PlayLandAbility)) {
+            else if (node.action instanceof PassAbility && nodeVisits > 10 && !(bestChild.action instanceof PlayLandAbility)) {
                 //favour passing vs any other action if ratio is close
-                double ratio = node.wins/(node.visits * 1.0);
+                double ratio = nodeWins/(nodeVisits * 1.0);
                 if (ratio > bestRatio - passRatioTolerance) {
                     logger.info("choosing pass over " + bestChild.getAction());
                     bestChild = node;
-                    bestCount = node.visits;
+                    bestCount = nodeVisits;
                     bestRatio = ratio;
                     bestIsPass = true;
                 }
@@ -311,13 +367,14 @@ public class MCTSNode {
     }
 
     public double getWinRatio() {
-        if (visits > 0)
-            return wins/(visits * 1.0);
+        int nodeVisits = visits.get();
+        if (nodeVisits > 0)
+            return wins.get()/(nodeVisits * 1.0);
         return -1.0;
     }
 
     public int getVisits() {
-        return visits;
+        return visits.get();
     }
 
     /**
@@ -370,6 +427,7 @@ public class MCTSNode {
     }
 
     public boolean isWinner(UUID playerId) {
+        Game game = this.game;
         if (game != null) {
             Player player = game.getPlayer(playerId);
             if (player != null && player.hasWon())
@@ -406,8 +464,8 @@ public class MCTSNode {
             return;
         }
 
-        this.visits += merge.visits;
-        this.wins += merge.wins;
+        this.visits.addAndGet(merge.visits.get());
+        this.wins.addAndGet(merge.wins.get());
         int mismatchCount = 0;
         
         List<MCTSNode> mergeChildren = new ArrayList<>();
@@ -479,15 +537,9 @@ public class MCTSNode {
     }
 
     private static final ConcurrentHashMap<String, List<Ability>> playablesCache = new ConcurrentHashMap<>();
-    private static final ConcurrentHashMap<String, List<List<UUID>>> attacksCache = new ConcurrentHashMap<>();
-    private static final ConcurrentHashMap<String, List<List<List<UUID>>>> blocksCache = new ConcurrentHashMap<>();
 
     private static long playablesHit = 0;
     private static long playablesMiss = 0;
-    private static long attacksHit = 0;
-    private static long attacksMiss = 0;
-    private static long blocksHit = 0;
-    private static long blocksMiss = 0;
     
     private static List<Ability> getPlayables(MCTSPlayer player, String state, Game game) {
         if (playablesCache.containsKey(state)) {
@@ -502,32 +554,6 @@ public class MCTSNode {
         }
     }
     
-    private static List<List<UUID>> getAttacks(MCTSPlayer player, String state, Game game) {
-        if (attacksCache.containsKey(state)) {
-            attacksHit++;
-            return attacksCache.get(state);
-        }
-        else {
-            attacksMiss++;
-            List<List<UUID>> attacks = player.getAttacks(game);
-            attacksCache.put(state, attacks);
-            return attacks;
-        }
-    }
-    
-    private static List<List<List<UUID>>> getBlocks(MCTSPlayer player, String state, Game game) {
-        if (blocksCache.containsKey(state)) {
-            blocksHit++;
-            return blocksCache.get(state);
-        }
-        else {
-            blocksMiss++;
-            List<List<List<UUID>>> blocks = player.getBlocks(game);
-            blocksCache.put(state, blocks);
-            return blocks;
-        }
-    }
-    
     public static int cleanupCache(int turnNum) {
         Set<String> playablesKeys = playablesCache.keySet();
         Iterator<String> playablesIterator = playablesKeys.iterator();
@@ -541,26 +567,6 @@ public class MCTSNode {
             }
         }
 
-        Set<String> attacksKeys = attacksCache.keySet();
-        Iterator<String> attacksIterator = attacksKeys.iterator();
-        while(attacksIterator.hasNext()) {
-            int cacheTurn = Integer.valueOf(attacksIterator.next().split(":", 2)[0].substring(1));
-            if (cacheTurn < turnNum) {
-                attacksIterator.remove();
-                count++;
-            }
-        }
-        
-        Set<String> blocksKeys = blocksCache.keySet();
-        Iterator<String> blocksIterator = blocksKeys.iterator();
-        while(blocksIterator.hasNext()) {
-            int cacheTurn = Integer.valueOf(blocksIterator.next().split(":", 2)[0].substring(1));
-            if (cacheTurn < turnNum) {
-                blocksIterator.remove();
-                count++;
-            }
-        }
-
         return count;
     }
     
@@ -568,8 +574,7 @@ public class MCTSNode {
         if (USE_ACTION_CACHE) {
             StringBuilder sb = new StringBuilder();
             sb.append("Playables Cache -- Hits: ").append(playablesHit).append(" Misses: ").append(playablesMiss).append('\n');
-            sb.append("Attacks Cache -- Hits: ").append(attacksHit).append(" Misses: ").append(attacksMiss).append('\n');
-            sb.append("Blocks Cache -- Hits: ").append(blocksHit).append(" Misses: ").append(blocksMiss).append('\n');
+            sb.append(CombatAssignments.getHitMiss());
             logger.info(sb.toString());
         }
     }    
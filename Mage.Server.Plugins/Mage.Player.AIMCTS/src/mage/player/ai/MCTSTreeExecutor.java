@@ -0,0 +1,85 @@
+package mage.player.ai;
+
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Searches a tree that is shared with other executors (tree parallelization).
+ * Threads are kept apart by virtual loss during selection, a node is only
+ * expanded or simulated by the thread that claimed it.
+ */
+public class MCTSTreeExecutor implements Callable<Boolean> {
+
+    protected final MCTSNode root;
+    protected final UUID playerId;
+    protected final long endTime;
+    protected int simCount;
+
+    public MCTSTreeExecutor(MCTSNode root, UUID playerId, int thinkTime) {
+        this.root = root;
+        this.playerId = playerId;
+        this.endTime = System.nanoTime() + thinkTime * 1000000000L;
+    }
+
+    @Override
+    public Boolean call() {
+        simCount = 0;
+        MCTSNode current;
+
+        while (System.nanoTime() < endTime && !Thread.currentThread().isInterrupted()) {
+            current = root;
+            current.addVirtualLoss();
+
+            // Selection
+            while (!current.isLeaf()) {
+                current = current.select(this.playerId);
+                current.addVirtualLoss();
+            }
+
+            int result;
+            if (current.isTerminal()) {
+                result = current.isWinner(this.playerId) ? 1 : -1;
+            } else if (!current.claim()) {
+                // another thread is expanding or simulating this leaf
+                current.revertVirtualLoss();
+                Thread.yield();
+                continue;
+            } else {
+                // Expansion
+                current.expand();
+                if (current.isLeaf()) {
+                    // nothing to expand, the node is terminal now and other threads may select it again
+                    current.release();
+                    result = current.isWinner(this.playerId) ? 1 : -1;
+                    current.backpropagate(result);
+                    current.revertVirtualLoss();
+                    continue;
+                }
+                MCTSNode child = current.select(this.playerId);
+                if (!child.claim()) {
+                    current.revertVirtualLoss();
+                    continue;
+                }
+                child.addVirtualLoss();
+                current = child;
+                // only run simulations for nodes that have siblings
+                if (current.getParent().getNumChildren() > 1) {
+                    // Simulation
+                    result = current.simulate(this.playerId);
+                    simCount++;
+                } else {
+                    result = 0;
+                }
+                current.release();
+            }
+            // Backpropagation
+            current.backpropagate(result);
+            current.revertVirtualLoss();
+        }
+        return true;
+    }
+
+    public int getSimCount() {
+        return simCount;
+    }
+}
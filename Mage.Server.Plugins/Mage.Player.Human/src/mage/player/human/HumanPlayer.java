@@ -29,6 +29,8 @@ package mage.player.human;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import mage.MageObject;
 import mage.abilities.*;
 import mage.abilities.costs.VariableCost;
@@ -72,6 +74,7 @@ import mage.target.common.TargetAttackingCreature;
 import mage.target.common.TargetCreatureOrPlayer;
 import mage.target.common.TargetDefender;
 import mage.util.GameLog;
+import mage.util.GameThreadLimiter;
 import mage.util.ManaUtil;
 import mage.util.MessageToClient;
 import org.apache.log4j.Logger;
@@ -84,6 +87,11 @@ public class HumanPlayer extends PlayerImpl {
 
     private transient Boolean responseOpenedForAnswer = false; // can't get response until prepared target (e.g. until send all fire events to all players)
     private final transient PlayerResponse response = new PlayerResponse();
+    // guards response, a lock instead of the response monitor so a game waiting on a
+    // virtual thread doesn't pin its carrier thread
+    private final transient ReentrantLock responseLock = new ReentrantLock();
+    private final transient Condition responseReceived = responseLock.newCondition();
+    private final transient Condition macroFinished = responseLock.newCondition();
 
     protected static FilterCreatureForCombatBlock filterCreatureForCombatBlock = new FilterCreatureForCombatBlock();
     protected static FilterCreatureForCombat filterCreatureForCombat = new FilterCreatureForCombat();
@@ -187,11 +195,14 @@ public class HumanPlayer extends PlayerImpl {
                 sendPlayerAction(PlayerAction.PASS_PRIORITY_UNTIL_STACK_RESOLVED, game, null);
             }
             //waitResponseOpen(); // it's a macro action, no need it here?
-            synchronized (response) {
+            responseLock.lock();
+            try {
                 response.copy(action);
-                response.notifyAll();
+                responseReceived.signalAll();
                 macroTriggeredSelectionFlag = false;
                 return true;
+            } finally {
+                responseLock.unlock();
             }
         }
         return false;
@@ -223,15 +234,21 @@ public class HumanPlayer extends PlayerImpl {
 
             loop = false;
 
-            synchronized (response) {
+            // the game thread doesn't work while waiting, other games can use its permit
+            GameThreadLimiter.beginWaiting();
+            try {
+                responseLock.lock();
                 try {
-                    response.wait();
+                    responseReceived.await();
                 } catch (InterruptedException ex) {
                     logger.error("Response error for player " + getName() + " gameId: " + game.getId(), ex);
                 } finally {
                     responseOpenedForAnswer = false;
                     game.pauseTimer(getTurnControlledBy());
+                    responseLock.unlock();
                 }
+            } finally {
+                GameThreadLimiter.endWaiting();
             }
 
             // game recived immidiate response on OTHER player concede -- need to process end game and continue to wait
@@ -850,8 +867,11 @@ public class HumanPlayer extends PlayerImpl {
                         return false;
                     } else {
                         if (activatingMacro) {
-                            synchronized (actionQueue) {
-                                actionQueue.notifyAll();
+                            responseLock.lock();
+                            try {
+                                macroFinished.signalAll();
+                            } finally {
+                                responseLock.unlock();
                             }
                         }
                         continue;
@@ -1744,51 +1764,66 @@ public class HumanPlayer extends PlayerImpl {
     @Override
     public void setResponseString(String responseString) {
         waitResponseOpen();
-        synchronized (response) {
+        responseLock.lock();
+        try {
             response.setString(responseString);
-            response.notifyAll();
+            responseReceived.signalAll();
             logger.debug("Got response string from player: " + getId());
+        } finally {
+            responseLock.unlock();
         }
     }
 
     @Override
     public void setResponseManaType(UUID manaTypePlayerId, ManaType manaType) {
         waitResponseOpen();
-        synchronized (response) {
+        responseLock.lock();
+        try {
             response.setManaType(manaType);
             response.setResponseManaTypePlayerId(manaTypePlayerId);
-            response.notifyAll();
+            responseReceived.signalAll();
             logger.debug("Got response mana type from player: " + getId());
+        } finally {
+            responseLock.unlock();
         }
     }
 
     @Override
     public void setResponseUUID(UUID responseUUID) {
         waitResponseOpen();
-        synchronized (response) {
+        responseLock.lock();
+        try {
             response.setUUID(responseUUID);
-            response.notifyAll();
+            responseReceived.signalAll();
             logger.debug("Got response UUID from player: " + getId());
+        } finally {
+            responseLock.unlock();
         }
     }
 
     @Override
     public void setResponseBoolean(Boolean responseBoolean) {
         waitResponseOpen();
-        synchronized (response) {
+        responseLock.lock();
+        try {
             response.setBoolean(responseBoolean);
-            response.notifyAll();
+            responseReceived.signalAll();
             logger.debug("Got response boolean from player: " + getId());
+        } finally {
+            responseLock.unlock();
         }
     }
 
     @Override
     public void setResponseInteger(Integer responseInteger) {
         waitResponseOpen();
-        synchronized (response) {
+        responseLock.lock();
+        try {
             response.setInteger(responseInteger);
-            response.notifyAll();
+            responseReceived.signalAll();
             logger.debug("Got response integer from player: " + getId());
+        } finally {
+            responseLock.unlock();
         }
     }
 
@@ -1796,29 +1831,38 @@ public class HumanPlayer extends PlayerImpl {
     public void abort() {
         abort = true;
         waitResponseOpen();
-        synchronized (response) {
-            response.notifyAll();
+        responseLock.lock();
+        try {
+            responseReceived.signalAll();
             logger.debug("Got cancel action from player: " + getId());
+        } finally {
+            responseLock.unlock();
         }
     }
 
     @Override
     public void signalPlayerConcede() {
         //waitResponseOpen(); //concede is direct event, no need to wait it
-        synchronized (response) {
+        responseLock.lock();
+        try {
             response.setResponseConcedeCheck();
-            response.notifyAll();
+            responseReceived.signalAll();
             logger.debug("Set check concede for waiting player: " + getId());
+        } finally {
+            responseLock.unlock();
         }
     }
 
     @Override
     public void skip() {
         // waitResponseOpen(); //skip is direct event, no need to wait it
-        synchronized (response) {
+        responseLock.lock();
+        try {
             response.setInteger(0);
-            response.notifyAll();
+            responseReceived.signalAll();
             logger.debug("Got skip action from player: " + getId());
+        } finally {
+            responseLock.unlock();
         }
     }
 
@@ -1871,13 +1915,13 @@ public class HumanPlayer extends PlayerImpl {
                     activatingMacro = true;
                     recordingMacro = false;
                     actionIterations = announceRepetitions(game);
+                    responseLock.lock();
                     try {
-                        synchronized (actionQueue) {
-                            actionQueue.wait();
-                        }
+                        macroFinished.await();
                     } catch (InterruptedException ex) {
                     } finally {
                         activatingMacro = false;
+                        responseLock.unlock();
                     }
                 } else {
                     logger.debug("Starting Recording Macro");
@@ -0,0 +1,369 @@
+package mage.server;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import mage.interfaces.callback.ClientCallback;
+import mage.interfaces.callback.ClientCallbackMethod;
+import mage.view.GameViewDelta;
+import org.apache.log4j.Logger;
+
+/**
+ * Outbound callbacks of a session.
+ *
+ * The callbacks are queued and sent by the callback executor, so the thread
+ * firing a callback (usually a game thread) never waits for a slow client. A
+ * session is drained by only one thread at a time, so the callbacks keep their
+ * order.
+ *
+ * A queued game update is replaced by a newer update of the same game (the
+ * deltas are merged). Updates for watchers are shared and already compressed,
+ * they are sent like all other callbacks. If the queue is full, the overflow
+ * policy is applied.
+ *
+ * Only updates and messages can be dropped, a dropped update is replaced by
+ * the next one or the client requests the full state when the versions don't
+ * fit. Prompts (targets, questions, choices, ...) and all other callbacks are
+ * never dropped, the game waits for their answer. If such a callback doesn't
+ * fit into the queue and no update can make room for it, the session is
+ * disconnected and the client reconnects with the current state.
+ */
+public class CallbackQueue {
+
+    public enum OverflowPolicy {
+        /**
+         * the new callback is dropped (if it is an update or message,
+         * otherwise the oldest queued update or message)
+         */
+        DROP_NEWEST,
+        /**
+         * the oldest queued update or message is dropped
+         */
+        DROP_OLDEST,
+        /**
+         * the client is too slow, the session is disconnected
+         */
+        DISCONNECT
+    }
+
+    private static final Logger logger = Logger.getLogger(CallbackQueue.class);
+
+    private static final Set<ClientCallbackMethod> DROPPABLE = EnumSet.of(
+            ClientCallbackMethod.CHATMESSAGE,
+            ClientCallbackMethod.SERVER_MESSAGE,
+            ClientCallbackMethod.GAME_INFORM,
+            ClientCallbackMethod.GAME_UPDATE,
+            ClientCallbackMethod.DRAFT_UPDATE,
+            ClientCallbackMethod.TOURNAMENT_UPDATE,
+            ClientCallbackMethod.ROOM_UPDATE);
+
+    // statistics of all sessions
+    private static final AtomicInteger queuedCount = new AtomicInteger();
+    private static final AtomicLong sentCount = new AtomicLong();
+    private static final AtomicLong droppedCount = new AtomicLong();
+    private static final AtomicLong coalescedCount = new AtomicLong();
+    private static final AtomicLong sendLatencyTotal = new AtomicLong();
+    private static final AtomicLong sendLatencyMax = new AtomicLong();
+
+    private final Session session;
+    private final ExecutorService executor;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+
+    private final Deque<QueuedCallback> callbacks = new ArrayDeque<>();
+    private boolean draining = false;
+    private boolean overflow = false;
+
+    // statistics of this session
+    private int sessionMaxSize;
+    private long sessionSent;
+    private long sessionDropped;
+    private long sessionCoalesced;
+    private long sessionLatencyTotal;
+    private long sessionLatencyMax;
+
+    public CallbackQueue(Session session, ExecutorService executor, int capacity, OverflowPolicy overflowPolicy) {
+        this.session = session;
+        this.executor = executor;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public void add(ClientCallback call) {
+        boolean disconnect = false;
+        boolean startDraining = false;
+        synchronized (this) {
+            if (overflow) {
+                dropped();
+                return;
+            }
+            if (!coalesce(call)) {
+                if (callbacks.size() >= capacity) {
+                    if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                        disconnect = true;
+                    } else if (overflowPolicy == OverflowPolicy.DROP_NEWEST && isDroppable(call)) {
+                        dropped();
+                        logger.debug("CALLBACK QUEUE FULL - dropped " + call.getMethod() + " sessionId: " + session.getId());
+                        return;
+                    } else if (!dropOldest()) {
+                        if (isDroppable(call)) {
+                            dropped();
+                            logger.debug("CALLBACK QUEUE FULL - dropped " + call.getMethod() + " sessionId: " + session.getId());
+                            return;
+                        }
+                        // the client would miss a prompt and the game would wait for the answer
+                        disconnect = true;
+                    }
+                    if (disconnect) {
+                        dropped();
+                        logger.debug("CALLBACK QUEUE FULL - can't queue " + call.getMethod() + " sessionId: " + session.getId());
+                        queuedCount.addAndGet(-callbacks.size());
+                        callbacks.clear();
+                        overflow = true;
+                    }
+                }
+                if (!disconnect) {
+                    callbacks.addLast(new QueuedCallback(call, System.nanoTime()));
+                    queuedCount.incrementAndGet();
+                    sessionMaxSize = Math.max(sessionMaxSize, callbacks.size());
+                }
+            }
+            if (!draining && !callbacks.isEmpty()) {
+                draining = true;
+                startDraining = true;
+            }
+        }
+        if (disconnect) {
+            session.callbackQueueOverflow();
+        }
+        if (startDraining) {
+            executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * @param call
+     * @return true if the callback can be dropped if the queue is full
+     */
+    public static boolean isDroppable(ClientCallback call) {
+        return DROPPABLE.contains(call.getMethod());
+    }
+
+    /**
+     * Drops the oldest queued update or message
+     *
+     * @return false if only callbacks that can't be dropped are queued
+     */
+    private boolean dropOldest() {
+        Iterator<QueuedCallback> it = callbacks.iterator();
+        while (it.hasNext()) {
+            QueuedCallback queued = it.next();
+            if (isDroppable(queued.call)) {
+                it.remove();
+                queuedCount.decrementAndGet();
+                dropped();
+                logger.debug("CALLBACK QUEUE FULL - dropped " + queued.call.getMethod() + " sessionId: " + session.getId());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void dropped() {
+        droppedCount.incrementAndGet();
+        sessionDropped++;
+    }
+
+    private synchronized void sent(long latency) {
+        sentCount.incrementAndGet();
+        sendLatencyTotal.addAndGet(latency);
+        long max = sendLatencyMax.get();
+        while (latency > max && !sendLatencyMax.compareAndSet(max, latency)) {
+            max = sendLatencyMax.get();
+        }
+        sessionSent++;
+        sessionLatencyTotal += latency;
+        sessionLatencyMax = Math.max(sessionLatencyMax, latency);
+    }
+
+    /**
+     * @return number of callbacks waiting to be sent
+     */
+    public synchronized int size() {
+        return callbacks.size();
+    }
+
+    public synchronized void clear() {
+        queuedCount.addAndGet(-callbacks.size());
+        callbacks.clear();
+    }
+
+    /**
+     * Merges a game update with the last queued update of the same game.
+     *
+     * @param call
+     * @return true if the callback was merged into the queue
+     */
+    private boolean coalesce(ClientCallback call) {
+        if (call.getMethod() != ClientCallbackMethod.GAME_UPDATE || !(call.getData() instanceof GameViewDelta)) {
+            return false;
+        }
+        Iterator<QueuedCallback> it = callbacks.descendingIterator();
+        while (it.hasNext()) {
+            QueuedCallback queued = it.next();
+            if (queued.call.getMethod() == ClientCallbackMethod.GAME_UPDATE
+                    && Objects.equals(queued.call.getObjectId(), call.getObjectId())) {
+                if (!(queued.call.getData() instanceof GameViewDelta)) {
+                    return false;
+                }
+                GameViewDelta merged = ((GameViewDelta) call.getData()).coalesce((GameViewDelta) queued.call.getData());
+                if (merged == null) {
+                    return false;
+                }
+                // the merged update goes to the end, so it can't overtake callbacks queued after the old update
+                it.remove();
+                call.setData(merged);
+                callbacks.addLast(new QueuedCallback(call, queued.queuedTime));
+                coalescedCount.incrementAndGet();
+                sessionCoalesced++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drain() {
+        while (true) {
+            QueuedCallback next;
+            synchronized (this) {
+                next = callbacks.pollFirst();
+                if (next == null) {
+                    draining = false;
+                    return;
+                }
+            }
+            queuedCount.decrementAndGet();
+            boolean sent = false;
+            try {
+                sent = session.sendCallback(next.call);
+            } catch (Exception ex) {
+                logger.error("CALLBACK QUEUE - can't send " + next.call.getMethod() + " sessionId: " + session.getId(), ex);
+            }
+            if (sent) {
+                sent(System.nanoTime() - next.queuedTime);
+            } else {
+                dropped();
+            }
+        }
+    }
+
+    /**
+     * @return most callbacks of this session that were waiting at the same
+     * time
+     */
+    public synchronized int getMaxSize() {
+        return sessionMaxSize;
+    }
+
+    public synchronized long getSessionSentCount() {
+        return sessionSent;
+    }
+
+    /**
+     * @return callbacks of this session dropped because of a full queue or a
+     * lost connection
+     */
+    public synchronized long getSessionDroppedCount() {
+        return sessionDropped;
+    }
+
+    public synchronized long getSessionCoalescedCount() {
+        return sessionCoalesced;
+    }
+
+    /**
+     * @return average send latency of this session in milliseconds
+     */
+    public synchronized double getSessionAverageSendLatency() {
+        return sessionSent == 0 ? 0 : sessionLatencyTotal / 1000000.0 / sessionSent;
+    }
+
+    /**
+     * @return maximal send latency of this session in milliseconds
+     */
+    public synchronized double getSessionMaxSendLatency() {
+        return sessionLatencyMax / 1000000.0;
+    }
+
+    /**
+     * @return statistics of this session
+     */
+    public synchronized String getSessionStatistics() {
+        return String.format("queued: %d (max %d) sent: %d dropped: %d coalesced: %d latency avg: %.1f ms max: %.1f ms",
+                callbacks.size(), sessionMaxSize, sessionSent, sessionDropped, sessionCoalesced,
+                getSessionAverageSendLatency(), getSessionMaxSendLatency());
+    }
+
+    /**
+     * @return callbacks of all sessions waiting to be sent
+     */
+    public static int getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    public static long getSentCount() {
+        return sentCount.get();
+    }
+
+    /**
+     * @return callbacks dropped because of full queues or lost connections
+     */
+    public static long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * @return game updates merged into an already queued update
+     */
+    public static long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * @return average time in milliseconds from firing a callback until it was
+     * handed over to the connection
+     */
+    public static double getAverageSendLatency() {
+        long sent = sentCount.get();
+        return sent == 0 ? 0 : sendLatencyTotal.get() / 1000000.0 / sent;
+    }
+
+    /**
+     * @return maximal send latency in milliseconds
+     */
+    public static double getMaxSendLatency() {
+        return sendLatencyMax.get() / 1000000.0;
+    }
+
+    public static String getStatistics() {
+        return String.format("queued: %d sent: %d dropped: %d coalesced: %d latency avg: %.1f ms max: %.1f ms",
+                getQueuedCount(), getSentCount(), getDroppedCount(), getCoalescedCount(), getAverageSendLatency(), getMaxSendLatency());
+    }
+
+    private static final class QueuedCallback {
+
+        private final ClientCallback call;
+        private final long queuedTime;
+
+        QueuedCallback(ClientCallback call, long queuedTime) {
+            this.call = call;
+            this.queuedTime = queuedTime;
+        }
+    }
+}
@@ -35,6 +35,8 @@ import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import mage.interfaces.callback.ClientCallback;
 import mage.interfaces.callback.ClientCallbackMethod;
+import mage.remote.traffic.ZippedObjectImpl;
+import mage.server.metrics.ServerMetrics;
 import mage.view.ChatMessage;
 import mage.view.ChatMessage.MessageColor;
 import mage.view.ChatMessage.MessageType;
@@ -133,7 +135,9 @@ public class ChatSession {
     public void broadcast(String userName, String message, MessageColor color, boolean withTime, MessageType messageType, SoundToPlay soundToPlay) {
         if (!message.isEmpty()) {
             Set<UUID> clientsToRemove = new HashSet<>();
-            ClientCallback clientCallback = new ClientCallback(ClientCallbackMethod.CHATMESSAGE, chatId, new ChatMessage(userName, message, (withTime ? new Date() : null), color, messageType, soundToPlay));
+            // the message is serialized once here, the sessions only send the bytes
+            ClientCallback clientCallback = new ClientCallback(ClientCallbackMethod.CHATMESSAGE, chatId,
+                    new ZippedObjectImpl<>(new ChatMessage(userName, message, (withTime ? new Date() : null), color, messageType, soundToPlay)));
             List<UUID> chatUserIds = new ArrayList<>();
             final Lock r = lock.readLock();
             r.lock();
@@ -150,6 +154,7 @@ public class ChatSession {
                     clientsToRemove.add(userId);
                 }
             }
+            ServerMetrics.instance.chatBroadcast(chatUserIds.size() - clientsToRemove.size());
             if (!clientsToRemove.isEmpty()) {
                 final Lock w = lock.readLock();
                 w.lock();
@@ -56,6 +56,7 @@ import mage.remote.MageVersionException;
 import mage.server.draft.CubeFactory;
 import mage.server.draft.DraftManager;
 import mage.server.game.*;
+import mage.server.metrics.ServerMetrics;
 import mage.server.services.impl.FeedbackServiceImpl;
 import mage.server.tournament.TournamentFactory;
 import mage.server.tournament.TournamentManager;
@@ -419,6 +420,35 @@ public class MageServerImpl implements MageServer {
         return new ArrayList<>();
     }
 
+    @Override
+    public RoomChangesView getRoomChanges(final String sessionId, final UUID roomId, final long sinceVersion, final boolean withMatches) throws MageException {
+        return executeWithResult("getRoomChanges", sessionId, new ActionWithNullNegativeResult<RoomChangesView>() {
+            @Override
+            public RoomChangesView execute() throws MageException {
+                Optional<Session> session = SessionManager.instance.getSession(sessionId);
+                if (!session.isPresent()) {
+                    logger.error("Session not found : " + sessionId);
+                    return null;
+                }
+                Optional<GamesRoom> room = GamesRoomManager.instance.getRoom(roomId);
+                if (!room.isPresent()) {
+                    return null;
+                }
+                return room.get().getChanges(session.get().getUserId(), sinceVersion, withMatches);
+            }
+        });
+    }
+
+    @Override
+    public void stopRoomChanges(final String sessionId, final UUID roomId) throws MageException {
+        execute("stopRoomChanges", sessionId, () -> {
+            Optional<Session> session = SessionManager.instance.getSession(sessionId);
+            if (session.isPresent()) {
+                GamesRoomManager.instance.getRoom(roomId).ifPresent(room -> room.stopChanges(session.get().getUserId()));
+            }
+        });
+    }
+
     @Override
     //FIXME: why no sessionId here???
     public Optional<TableView> getTable(UUID roomId, UUID tableId) throws MageException {
@@ -1232,10 +1262,13 @@ public class MageServerImpl implements MageServer {
                 callExecutor.execute(
                         () -> {
                             if (SessionManager.instance.isValidSession(sessionId)) {
+                                long start = System.nanoTime();
                                 try {
                                     action.execute();
                                 } catch (MageException me) {
                                     throw new RuntimeException(me);
+                                } finally {
+                                    ServerMetrics.instance.serverCallDone(actionName, start);
                                 }
                             }
                         }
@@ -1258,10 +1291,13 @@ public class MageServerImpl implements MageServer {
     //TODO: also run in threads with future task
     protected <T> T executeWithResult(String actionName, final String sessionId, final ActionWithResult<T> action) throws MageException {
         if (SessionManager.instance.isValidSession(sessionId)) {
+            long start = System.nanoTime();
             try {
                 return action.execute();
             } catch (Exception ex) {
                 handleException(ex);
+            } finally {
+                ServerMetrics.instance.serverCallDone(actionName, start);
             }
         }
         return action.negativeResult();
@@ -32,10 +32,16 @@ import java.io.IOException;
 import java.net.InetAddress;
 import java.net.MalformedURLException;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import javax.management.MBeanServer;
 import mage.cards.ExpansionSet;
 import mage.cards.Sets;
 import mage.cards.repository.CardScanner;
+import mage.cards.repository.CardRepository;
 import mage.cards.repository.PluginClassloaderRegistery;
 import mage.game.match.MatchType;
 import mage.game.tournament.TournamentType;
@@ -45,6 +51,8 @@ import mage.server.draft.CubeFactory;
 import mage.server.game.DeckValidatorFactory;
 import mage.server.game.GameFactory;
 import mage.server.game.PlayerFactory;
+import mage.server.metrics.ServerMetrics;
+import mage.server.rating.GlickoRatingSystem;
 import mage.server.record.UserStatsRepository;
 import mage.server.tournament.TournamentFactory;
 import mage.server.util.ConfigSettings;
@@ -76,6 +84,7 @@ public final class Main {
     private static final String testModeArg = "-testMode=";
     private static final String fastDBModeArg = "-fastDbMode=";
     private static final String adminPasswordArg = "-adminPassword=";
+    private static final String recalculateRatingsArg = "-recalculateRatings=";
 
     private static final File pluginFolder = new File("plugins");
     private static final File extensionFolder = new File("extensions");
@@ -84,12 +93,14 @@ public final class Main {
     public static TransporterServer server;
     protected static boolean testMode;
     protected static boolean fastDbMode;
+    protected static boolean recalculateRatings;
 
     /**
      * @param args the command line arguments
      */
     public static void main(String[] args) {
         System.setProperty("java.util.Arrays.useLegacyMergeSort", "true");
+        long startupTime = System.nanoTime();
         logger.info("Starting MAGE server version " + version);
         logger.info("Logging level: " + logger.getEffectiveLevel());
 
@@ -102,81 +113,81 @@ public final class Main {
                 adminPassword = SystemUtil.sanitize(adminPassword);
             } else if (arg.startsWith(fastDBModeArg)) {
                 fastDbMode = Boolean.valueOf(arg.replace(fastDBModeArg, ""));
+            } else if (arg.startsWith(recalculateRatingsArg)) {
+                recalculateRatings = Boolean.valueOf(arg.replace(recalculateRatingsArg, ""));
             }
         }
 
+        long phaseTime;
         if (ConfigSettings.instance.isAuthenticationActivated()) {
             logger.info("Check authorized user DB version ...");
+            phaseTime = System.nanoTime();
             if (!AuthorizedUserRepository.instance.checkAlterAndMigrateAuthorizedUser()) {
                 logger.fatal("Failed to start server.");
                 return;
             }
-            logger.info("Done.");
+            logDone(phaseTime);
         }
 
-        logger.info("Loading extension packages...");
-        if (!extensionFolder.exists()) {
-            if (!extensionFolder.mkdirs()) {
-                logger.error("Could not create extensions directory.");
-            }
-        }
-        File[] extensionDirectories = extensionFolder.listFiles();
-        List<ExtensionPackage> extensions = new ArrayList<>();
-        if (extensionDirectories != null) {
-            for (File f : extensionDirectories) {
-                if (f.isDirectory()) {
-                    try {
-                        logger.info(" - Loading extension from " + f);
-                        extensions.add(ExtensionPackageLoader.loadExtension(f));
-                    } catch (IOException e) {
-                        logger.error("Could not load extension in " + f + '!', e);
+        // the extension packages and the plugins are each loaded in parallel
+        ExecutorService loader = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        List<ExtensionPackage> extensions;
+        try {
+            logger.info("Loading extension packages...");
+            phaseTime = System.nanoTime();
+            extensions = loadExtensions(loader);
+            logDone(phaseTime);
+
+            if (!extensions.isEmpty()) {
+                logger.info("Registering custom sets...");
+                phaseTime = System.nanoTime();
+                for (ExtensionPackage pkg : extensions) {
+                    for (ExpansionSet set : pkg.getSets()) {
+                        logger.info("- Loading " + set.getName() + " (" + set.getCode() + ')');
+                        Sets.getInstance().addSet(set);
                     }
+                    PluginClassloaderRegistery.registerPluginClassloader(pkg.getClassLoader());
                 }
+                logDone(phaseTime);
             }
-        }
-        logger.info("Done.");
 
-        if (!extensions.isEmpty()) {
-            logger.info("Registering custom sets...");
-            for (ExtensionPackage pkg : extensions) {
-                for (ExpansionSet set : pkg.getSets()) {
-                    logger.info("- Loading " + set.getName() + " (" + set.getCode() + ')');
-                    Sets.getInstance().addSet(set);
-                }
-                PluginClassloaderRegistery.registerPluginClassloader(pkg.getClassLoader());
+            logger.info("Loading cards...");
+            phaseTime = System.nanoTime();
+            if (fastDbMode) {
+                CardScanner.scanned = true;
+            } else {
+                CardScanner.scan();
             }
-            logger.info("Done.");
-        }
+            logDone(phaseTime);
 
-        logger.info("Loading cards...");
-        if (fastDbMode) {
-            CardScanner.scanned = true;
-        } else {
-            CardScanner.scan();
+            logger.info("Preparing booster pools...");
+            phaseTime = System.nanoTime();
+            for (ExpansionSet set : Sets.getInstance().values()) {
+                set.prepareBoosterPools();
+            }
+            logDone(phaseTime);
+
+            logger.info("Updating user stats DB...");
+            phaseTime = System.nanoTime();
+            UserStatsRepository.instance.updateUserStats();
+            logDone(phaseTime);
+            if (recalculateRatings) {
+                logger.info("Recalculating ratings from all table records...");
+                phaseTime = System.nanoTime();
+                UserStatsRepository.instance.recalculateRatings(GlickoRatingSystem.RatingPeriodMs);
+                logDone(phaseTime);
+            }
+            deleteSavedGames();
+
+            // plugin classes may use the cards (e.g. the draft bot ratings), so they are loaded after the cards
+            logger.info("Loading plugins...");
+            phaseTime = System.nanoTime();
+            loadPlugins(loader);
+            logDone(phaseTime);
+        } finally {
+            loader.shutdown();
         }
-        logger.info("Done.");
-
-        logger.info("Updating user stats DB...");
-        UserStatsRepository.instance.updateUserStats();
-        logger.info("Done.");
-        deleteSavedGames();
         ConfigSettings config = ConfigSettings.instance;
-        for (GamePlugin plugin : config.getGameTypes()) {
-            GameFactory.instance.addGameType(plugin.getName(), loadGameType(plugin), loadPlugin(plugin));
-        }
-        for (GamePlugin plugin : config.getTournamentTypes()) {
-            TournamentFactory.instance.addTournamentType(plugin.getName(), loadTournamentType(plugin), loadPlugin(plugin));
-        }
-        for (Plugin plugin : config.getPlayerTypes()) {
-            PlayerFactory.instance.addPlayerType(plugin.getName(), loadPlugin(plugin));
-        }
-        for (Plugin plugin : config.getDraftCubes()) {
-            CubeFactory.instance.addDraftCube(plugin.getName(), loadPlugin(plugin));
-        }
-        for (Plugin plugin : config.getDeckTypes()) {
-            DeckValidatorFactory.instance.addDeckType(plugin.getName(), loadPlugin(plugin));
-        }
-
         for (ExtensionPackage pkg : extensions) {
             Map<String, Class> draftCubes = pkg.getDraftCubes();
             for (String name : draftCubes.keySet()) {
@@ -192,6 +203,7 @@ public final class Main {
 
         logger.info("Config - max seconds idle: " + config.getMaxSecondsIdle());
         logger.info("Config - max game threads: " + config.getMaxGameThreads());
+        logger.info("Config - game execution  : " + config.getGameExecutionMode());
         logger.info("Config - max AI opponents: " + config.getMaxAiOpponents());
         logger.info("Config - min usr name le.: " + config.getMinUserNameLength());
         logger.info("Config - max usr name le.: " + config.getMaxUserNameLength());
@@ -214,6 +226,8 @@ public final class Main {
         logger.info("Config - mail passw. len.: " + config.getMailPassword().length());
         logger.info("Config - mail from addre.: " + config.getMailFromAddress());
         logger.info("Config - google account  : " + config.getGoogleAccount());
+        logger.info("Config - callback queue  : " + config.getCallbackQueueSize() + " " + config.getCallbackQueueOverflow());
+        logger.info("Config - metrics file    : " + config.getMetricsFile() + " every " + config.getMetricsInterval() + "s");
 
         Connection connection = new Connection("&maxPoolSize=" + config.getMaxPoolSize());
         connection.setHost(config.getServerAddress());
@@ -224,7 +238,8 @@ public final class Main {
             if (!isAlreadyRunning(serverLocator)) {
                 server = new MageTransporterServer(serverLocator, new MageServerImpl(adminPassword, testMode), MageServer.class.getName(), new MageServerInvocationHandler());
                 server.start();
-                logger.info("Started MAGE server - listening on " + connection.toString());
+                logger.info("Started MAGE server - listening on " + connection.toString()
+                        + " (startup " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startupTime) + " ms)");
 
                 if (testMode) {
                     logger.info("MAGE server running in test mode");
@@ -240,6 +255,8 @@ public final class Main {
 
     static void initStatistics() {
         ServerMessagesUtil.instance.setStartDate(System.currentTimeMillis());
+        CardRepository.instance.setQueryListener(ServerMetrics.instance::queryDone);
+        ServerMetrics.instance.start(ConfigSettings.instance.getMetricsFile(), ConfigSettings.instance.getMetricsInterval());
     }
 
     static boolean isAlreadyRunning(InvokerLocator serverLocator) {
@@ -392,22 +409,121 @@ public final class Main {
 
     }
 
-    private static Class<?> loadPlugin(Plugin plugin) {
+    private static void logDone(long phaseTime) {
+        logger.info("Done. (" + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - phaseTime) + " ms)");
+    }
+
+    private static List<ExtensionPackage> loadExtensions(ExecutorService loader) {
+        if (!extensionFolder.exists()) {
+            if (!extensionFolder.mkdirs()) {
+                logger.error("Could not create extensions directory.");
+            }
+        }
+        File[] extensionDirectories = extensionFolder.listFiles();
+        List<Future<ExtensionPackage>> loading = new ArrayList<>();
+        if (extensionDirectories != null) {
+            for (File f : extensionDirectories) {
+                if (f.isDirectory()) {
+                    loading.add(loader.submit(() -> {
+                        try {
+                            logger.info(" - Loading extension from " + f);
+                            return ExtensionPackageLoader.loadExtension(f);
+                        } catch (IOException e) {
+                            logger.error("Could not load extension in " + f + '!', e);
+                            return null;
+                        }
+                    }));
+                }
+            }
+        }
+        List<ExtensionPackage> extensions = new ArrayList<>();
+        for (Future<ExtensionPackage> extension : loading) {
+            ExtensionPackage pkg = getLoaded(extension);
+            if (pkg != null) {
+                extensions.add(pkg);
+            }
+        }
+        return extensions;
+    }
+
+    /**
+     * Loads the plugin classes in parallel and registers them in the order of
+     * the config. All plugin jars are added to the class loader first, so a
+     * plugin finds the classes of the plugins it depends on.
+     */
+    private static void loadPlugins(ExecutorService loader) {
+        ConfigSettings config = ConfigSettings.instance;
+        List<Plugin> plugins = new ArrayList<>();
+        plugins.addAll(config.getGameTypes());
+        plugins.addAll(config.getTournamentTypes());
+        plugins.addAll(config.getPlayerTypes());
+        plugins.addAll(config.getDraftCubes());
+        plugins.addAll(config.getDeckTypes());
+        for (Plugin plugin : plugins) {
+            addPluginJar(plugin);
+        }
+
+        Map<Plugin, Future<Class<?>>> classes = new IdentityHashMap<>();
+        for (Plugin plugin : plugins) {
+            classes.put(plugin, loader.submit(() -> loadPlugin(plugin)));
+        }
+        Map<GamePlugin, Future<MatchType>> gameTypes = new IdentityHashMap<>();
+        for (GamePlugin plugin : config.getGameTypes()) {
+            gameTypes.put(plugin, loader.submit(() -> loadGameType(plugin)));
+        }
+        Map<GamePlugin, Future<TournamentType>> tournamentTypes = new IdentityHashMap<>();
+        for (GamePlugin plugin : config.getTournamentTypes()) {
+            tournamentTypes.put(plugin, loader.submit(() -> loadTournamentType(plugin)));
+        }
+
+        for (GamePlugin plugin : config.getGameTypes()) {
+            GameFactory.instance.addGameType(plugin.getName(), getLoaded(gameTypes.get(plugin)), getLoaded(classes.get(plugin)));
+        }
+        for (GamePlugin plugin : config.getTournamentTypes()) {
+            TournamentFactory.instance.addTournamentType(plugin.getName(), getLoaded(tournamentTypes.get(plugin)), getLoaded(classes.get(plugin)));
+        }
+        for (Plugin plugin : config.getPlayerTypes()) {
+            PlayerFactory.instance.addPlayerType(plugin.getName(), getLoaded(classes.get(plugin)));
+        }
+        for (Plugin plugin : config.getDraftCubes()) {
+            CubeFactory.instance.addDraftCube(plugin.getName(), getLoaded(classes.get(plugin)));
+        }
+        for (Plugin plugin : config.getDeckTypes()) {
+            DeckValidatorFactory.instance.addDeckType(plugin.getName(), getLoaded(classes.get(plugin)));
+        }
+    }
+
+    private static <T> T getLoaded(Future<T> loading) {
+        try {
+            return loading.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            logger.fatal("Error loading plugin", ex.getCause());
+        }
+        return null;
+    }
+
+    private static void addPluginJar(Plugin plugin) {
         try {
             classLoader.addURL(new File(pluginFolder, plugin.getJar()).toURI().toURL());
+        } catch (MalformedURLException ex) {
+            logger.fatal("Error loading plugin " + plugin.getJar(), ex);
+        }
+    }
+
+    private static Class<?> loadPlugin(Plugin plugin) {
+        try {
             logger.debug("Loading plugin: " + plugin.getClassName());
             return Class.forName(plugin.getClassName(), true, classLoader);
         } catch (ClassNotFoundException ex) {
             logger.warn(new StringBuilder("Plugin not Found: ").append(plugin.getClassName()).append(" - ").append(plugin.getJar()).append(" - check plugin folder"), ex);
-        } catch (MalformedURLException ex) {
-            logger.fatal("Error loading plugin " + plugin.getJar(), ex);
         }
         return null;
     }
 
     private static MatchType loadGameType(GamePlugin plugin) {
         try {
-            classLoader.addURL(new File(pluginFolder, plugin.getJar()).toURI().toURL());
             logger.debug("Loading game type: " + plugin.getClassName());
             return (MatchType) Class.forName(plugin.getTypeName(), true, classLoader).getConstructor().newInstance();
         } catch (ClassNotFoundException ex) {
@@ -420,7 +536,6 @@ public final class Main {
 
     private static TournamentType loadTournamentType(GamePlugin plugin) {
         try {
-            classLoader.addURL(new File(pluginFolder, plugin.getJar()).toURI().toURL());
             logger.debug("Loading tournament type: " + plugin.getClassName());
             return (TournamentType) Class.forName(plugin.getTypeName(), true, classLoader).getConstructor().newInstance();
         } catch (ClassNotFoundException ex) {
@@ -43,7 +43,9 @@ import mage.server.game.GamesRoom;
 import mage.server.game.GamesRoomManager;
 import mage.server.util.ConfigSettings;
 import mage.server.util.SystemUtil;
+import mage.server.util.ThreadExecutor;
 import mage.util.RandomUtil;
+import mage.server.metrics.ServerMetrics;
 import org.apache.log4j.Logger;
 import org.jboss.remoting.callback.AsynchInvokerCallbackHandler;
 import org.jboss.remoting.callback.Callback;
@@ -66,10 +68,10 @@ public class Session {
     private final Date timeConnected;
     private boolean isAdmin = false;
     private final AsynchInvokerCallbackHandler callbackHandler;
-    private boolean valid = true;
+    private volatile boolean valid = true;
 
     private final ReentrantLock lock;
-    private final ReentrantLock callBackLock;
+    private final CallbackQueue callbacks;
 
     public Session(String sessionId, InvokerCallbackHandler callbackHandler) {
         this.sessionId = sessionId;
@@ -77,7 +79,8 @@ public class Session {
         this.isAdmin = false;
         this.timeConnected = new Date();
         this.lock = new ReentrantLock();
-        this.callBackLock = new ReentrantLock();
+        this.callbacks = new CallbackQueue(this, ThreadExecutor.instance.getCallbackExecutor(),
+                ConfigSettings.instance.getCallbackQueueSize(), ConfigSettings.instance.getCallbackQueueOverflow());
     }
 
     public String registerUser(String userName, String password, String email) throws MageException {
@@ -373,28 +376,76 @@ public class Session {
     }
 
     public void fireCallback(final ClientCallback call) {
-        boolean lockSet = false;
+        if (valid) {
+            callbacks.add(call);
+        }
+    }
+
+    /**
+     * Sends a callback to the client, called by the sender thread of the
+     * callback queue.
+     *
+     * @param call
+     * @return false if the callback couldn't be sent
+     */
+    boolean sendCallback(final ClientCallback call) {
+        if (!valid) {
+            return false;
+        }
+        // the queued callback can be shared by many sessions (e.g. chat broadcasts),
+        // so each session sends its own copy with its own message id
+        final ClientCallback sent = new ClientCallback(call.getMethod(), call.getObjectId(), call.getData());
         try {
-            if (valid && callBackLock.tryLock(50, TimeUnit.MILLISECONDS)) {
-                call.setMessageId(messageId++);
-                lockSet = true;
-                callbackHandler.handleCallbackOneway(new Callback(call));
-            }
-        } catch (InterruptedException ex) {
-            logger.warn("SESSION LOCK - fireCallback - userId: " + userId + " messageId: " + call.getMessageId(), ex);
+            UserManager.instance.getUser(userId).ifPresent(user -> user.prepareCallback(sent));
+            sent.setMessageId(messageId++);
+            callbackHandler.handleCallbackOneway(new Callback(sent));
+            ServerMetrics.instance.callbackSent(sent);
+            return true;
         } catch (HandleCallbackException ex) {
             this.valid = false;
+            callbacks.clear();
             UserManager.instance.getUser(userId).ifPresent(user -> {
                 user.setUserState(User.UserState.Disconnected);
-                logger.warn("SESSION CALLBACK EXCEPTION - " + user.getName() + " userId " + userId + " messageId: " + call.getMessageId() + " - cause: " + getBasicCause(ex).toString());
+                logger.warn("SESSION CALLBACK EXCEPTION - " + user.getName() + " userId " + userId + " messageId: " + sent.getMessageId() + " - cause: " + getBasicCause(ex).toString());
                 logger.trace("Stack trace:", ex);
                 SessionManager.instance.disconnect(sessionId, LostConnection);
             });
-        } finally {
-            if (lockSet) {
-                callBackLock.unlock();
-            }
         }
+        return false;
+    }
+
+    /**
+     * The client doesn't receive the callbacks fast enough
+     */
+    void callbackQueueOverflow() {
+        this.valid = false;
+        UserManager.instance.getUser(userId).ifPresent(user -> {
+            user.setUserState(User.UserState.Disconnected);
+            logger.warn("SESSION CALLBACK QUEUE OVERFLOW - " + user.getName() + " userId " + userId);
+            SessionManager.instance.disconnect(sessionId, LostConnection);
+        });
+    }
+
+    /**
+     * @return number of callbacks waiting to be sent to the client
+     */
+    public int getCallbackQueueSize() {
+        return callbacks.size();
+    }
+
+    /**
+     * @return queue depth, dropped callbacks and send latency of this session
+     */
+    public String getCallbackStatistics() {
+        return callbacks.getSessionStatistics();
+    }
+
+    /**
+     * @return most callbacks of this session that were waiting at the same
+     * time
+     */
+    public int getMaxCallbackQueueSize() {
+        return callbacks.getMaxSize();
     }
 
     public UUID getUserId() {
@@ -61,6 +61,17 @@ public enum SessionManager {
         return Optional.of(session);
     }
 
+    /**
+     * @return most callbacks waiting for one session
+     */
+    public int getMaxCallbackQueueSize() {
+        int max = 0;
+        for (Session session : sessions.values()) {
+            max = Math.max(max, session.getCallbackQueueSize());
+        }
+        return max;
+    }
+
     public void createSession(String sessionId, InvokerCallbackHandler callbackHandler) {
         Session session = new Session(sessionId, callbackHandler);
         sessions.put(sessionId, session);
@@ -33,8 +33,6 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import mage.MageException;
 import mage.cards.decks.Deck;
@@ -66,6 +64,7 @@ import mage.server.tournament.TournamentManager;
 import mage.server.util.ConfigSettings;
 import mage.server.util.ServerMessagesUtil;
 import mage.server.util.ThreadExecutor;
+import mage.utils.timer.HashedWheelTimer;
 import mage.view.ChatMessage;
 import org.apache.log4j.Logger;
 
@@ -86,8 +85,8 @@ public class TableController {
     private MatchOptions options;
     private Tournament tournament;
 
-    private ScheduledFuture<?> futureTimeout;
-    protected static final ScheduledExecutorService timeoutExecutor = ThreadExecutor.instance.getTimeoutExecutor();
+    private HashedWheelTimer.Timeout futureTimeout;
+    protected static final HashedWheelTimer timer = ThreadExecutor.instance.getTimer();
 
     public TableController(UUID roomId, UUID userId, MatchOptions options) {
         this.userId = userId;
@@ -855,13 +854,13 @@ public class TableController {
     private synchronized void setupTimeout(int seconds) {
         cancelTimeout();
         if (seconds > 0) {
-            futureTimeout = timeoutExecutor.schedule(this::autoSideboard, seconds, TimeUnit.SECONDS);
+            futureTimeout = timer.schedule(this::autoSideboard, seconds, TimeUnit.SECONDS);
         }
     }
 
     private synchronized void cancelTimeout() {
         if (futureTimeout != null) {
-            futureTimeout.cancel(false);
+            futureTimeout.cancel();
         }
     }
 
@@ -412,11 +412,18 @@ public enum TableManager {
                 } else {
                     sessionState = "+";
                 }
+                int queued = session.get().getCallbackQueueSize();
+                if (queued > 0) {
+                    sessionState += " " + queued;
+                }
             }
             logger.debug(user.getId()
                     + " | " + formatter.format(user.getConnectionTime())
                     + " | " + sessionState
                     + " | " + user.getName() + " (" + user.getUserState().toString() + " - " + user.getPingInfo() + ')');
+            if (session.isPresent()) {
+                logger.debug("    Callbacks: " + session.get().getCallbackStatistics());
+            }
         }
         List<ChatSession> chatSessions = ChatManager.instance.getChatSessions();
         logger.debug("------- ChatSessions: " + chatSessions.size() + " ----------------------------------");
@@ -424,7 +431,8 @@ public enum TableManager {
             logger.debug(chatSession.getChatId() + " " + formatter.format(chatSession.getCreateTime()) + ' ' + chatSession.getInfo() + ' ' + chatSession.getClients().values().toString());
         }
         logger.debug("------- Games: " + GameManager.instance.getNumberActiveGames() + " --------------------------------------------");
-        logger.debug(" Active Game Worker: " + ThreadExecutor.instance.getActiveThreads(ThreadExecutor.instance.getGameExecutor()));
+        logger.debug(" Active Game Worker: " + ThreadExecutor.instance.getActiveGameThreads());
+        logger.debug(" Callbacks: " + CallbackQueue.getStatistics());
         for (Entry<UUID, GameController> entry : GameManager.instance.getGameController().entrySet()) {
             logger.debug(entry.getKey() + entry.getValue().getPlayerNameList());
         }
@@ -40,9 +40,12 @@ import mage.game.tournament.TournamentPlayer;
 import mage.interfaces.callback.ClientCallback;
 import mage.interfaces.callback.ClientCallbackMethod;
 import mage.players.net.UserData;
+import mage.remote.traffic.CompactObjectCodec;
+import mage.remote.traffic.CompactZippedObject;
 import mage.server.draft.DraftSession;
 import mage.server.game.GameManager;
 import mage.server.game.GameSessionPlayer;
+import mage.server.metrics.ServerMetrics;
 import mage.server.rating.GlickoRating;
 import mage.server.rating.GlickoRatingSystem;
 import mage.server.record.UserStats;
@@ -52,6 +55,9 @@ import mage.server.tournament.TournamentManager;
 import mage.server.tournament.TournamentSession;
 import mage.server.util.ServerMessagesUtil;
 import mage.server.util.SystemUtil;
+import mage.view.GameClientMessage;
+import mage.view.GameView;
+import mage.view.GameViewDelta;
 import mage.view.TableClientMessage;
 import org.apache.log4j.Logger;
 
@@ -255,6 +261,42 @@ public class User {
         }
     }
 
+    /**
+     * Compresses the game views of a callback if the client supports the
+     * compact format. Called by the sender thread right before the callback
+     * is sent, so queued game updates can still be merged.
+     *
+     * @param call
+     */
+    public void prepareCallback(final ClientCallback call) {
+        if (isCompactViews() && isGameViewData(call.getData())) {
+            long start = System.nanoTime();
+            call.setData(new CompactZippedObject<>(call.getData(), isViewDictionary()));
+            ServerMetrics.instance.compressionDone(start);
+        }
+    }
+
+    private static boolean isGameViewData(Object data) {
+        return data instanceof GameView || data instanceof GameViewDelta || data instanceof GameClientMessage;
+    }
+
+    /**
+     * @return true if the client of the user can decode game views sent in
+     * the compact format
+     */
+    public boolean isCompactViews() {
+        return userData != null && userData.isCompactViews();
+    }
+
+    /**
+     * @return true if the client of the user has the same view dictionary as
+     * the server, so compact game views can be compressed with it
+     */
+    public boolean isViewDictionary() {
+        return isCompactViews() && CompactObjectCodec.getDictionaryId() != 0
+                && userData.getViewDictionaryId() == CompactObjectCodec.getDictionaryId();
+    }
+
     public void ccJoinedTable(final UUID roomId, final UUID tableId, boolean isTournament) {
         fireCallback(new ClientCallback(ClientCallbackMethod.JOINED_TABLE, tableId, new TableClientMessage(roomId, tableId, isTournament)));
     }
@@ -336,6 +378,7 @@ public class User {
     public void updateLastActivity(String pingInfo) {
         if (pingInfo != null) {
             this.pingInfo = pingInfo;
+            infoChanged();
         }
         lastActivity = new Date();
         if (userState == UserState.Disconnected) { // this can happen if user reconnects very fast after disconnect
@@ -399,42 +442,52 @@ public class User {
 
     public void addGame(UUID playerId, GameSessionPlayer gameSession) {
         gameSessions.put(playerId, gameSession);
+        infoChanged();
     }
 
     public void removeGame(UUID playerId) {
         gameSessions.remove(playerId);
+        infoChanged();
     }
 
     public void addDraft(UUID playerId, DraftSession draftSession) {
         draftSessions.put(playerId, draftSession);
+        infoChanged();
     }
 
     public void removeDraft(UUID playerId) {
         draftSessions.remove(playerId);
+        infoChanged();
     }
 
     public void addTournament(UUID playerId, UUID tournamentId) {
         userTournaments.put(playerId, tournamentId);
+        infoChanged();
     }
 
     public void removeTournament(UUID playerId) {
         userTournaments.remove(playerId);
+        infoChanged();
     }
 
     public void addTable(UUID playerId, Table table) {
         tables.put(playerId, table);
+        infoChanged();
     }
 
     public void removeTable(UUID playerId) {
         tables.remove(playerId);
+        infoChanged();
     }
 
     public void addConstructing(UUID playerId, TournamentSession tournamentSession) {
         constructing.put(playerId, tournamentSession);
+        infoChanged();
     }
 
     public void removeConstructing(UUID playerId) {
         constructing.remove(playerId);
+        infoChanged();
     }
 
     public void removeSideboarding(UUID tableId) {
@@ -475,6 +528,7 @@ public class User {
         watchedGames.clear();
         logger.trace("REMOVE " + userName + " Chats ");
         ChatManager.instance.removeUser(userId, reason);
+        infoChanged();
     }
 
     public void setUserData(UserData userData) {
@@ -484,6 +538,7 @@ public class User {
             this.userData = userData;
             resetUserStats();
         }
+        infoChanged();
     }
 
     public UserData getUserData() {
@@ -592,10 +647,12 @@ public class User {
 
     public void addGameWatchInfo(UUID gameId) {
         watchedGames.add(gameId);
+        infoChanged();
     }
 
     public void removeGameWatchInfo(UUID gameId) {
         watchedGames.remove(gameId);
+        infoChanged();
     }
 
     public UserState getUserState() {
@@ -604,6 +661,19 @@ public class User {
 
     public void setUserState(UserState userState) {
         this.userState = userState;
+        infoChanged();
+    }
+
+    /**
+     * @return true if the info shown about the user can change without an
+     * event of the user (table states, disconnect duration)
+     */
+    public boolean isInfoChanging() {
+        return userState == UserState.Disconnected || !tables.isEmpty();
+    }
+
+    private void infoChanged() {
+        UserManager.instance.userInfoChanged(this);
     }
 
     public String getPingInfo() {
@@ -641,6 +711,7 @@ public class User {
             userData.setConstructedRating(GlickoRatingSystem.getDefaultDisplayedRating());
             userData.setLimitedRating(GlickoRatingSystem.getDefaultDisplayedRating());
         }
+        infoChanged();
     }
 
     public String getMatchHistory() {
@@ -37,6 +37,7 @@ import mage.server.record.UserStats;
 import mage.server.record.UserStatsRepository;
 import mage.server.util.ThreadExecutor;
 import mage.view.UserView;
+import mage.view.UsersView;
 import org.apache.log4j.Logger;
 
 /**
@@ -51,9 +52,13 @@ public enum UserManager {
     private static final Logger logger = Logger.getLogger(UserManager.class);
 
     protected final ScheduledExecutorService expireExecutor = Executors.newSingleThreadScheduledExecutor();
-    protected final ScheduledExecutorService userListExecutor = Executors.newSingleThreadScheduledExecutor();
 
-    private List<UserView> userInfoList = new ArrayList<>();
+    // views of the online users for the games room, sorted by name
+    private final TreeMap<String, UsersView> roomUsers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder()));
+    private final Map<String, UUID> roomUserIds = new HashMap<>();
+    // users whose room info can change without an event, refreshed on each room update
+    private final Set<UUID> changingUsers = new HashSet<>();
+    private final ConcurrentHashMap<UUID, User> changedUsers = new ConcurrentHashMap<>();
 
     private static final Logger LOGGER = Logger.getLogger(UserManager.class);
 
@@ -64,8 +69,6 @@ public enum UserManager {
 
     UserManager() {
         expireExecutor.scheduleAtFixedRate(this::checkExpired, 60, 60, TimeUnit.SECONDS);
-
-        userListExecutor.scheduleAtFixedRate(this::updateUserInfoList, 4, 4, TimeUnit.SECONDS);
     }
 
     public Optional<User> createUser(String userName, String host, AuthorizedUser authorizedUser) {
@@ -80,11 +83,13 @@ public enum UserManager {
         } finally {
             w.unlock();
         }
+        userInfoChanged(user);
         return Optional.of(user);
     }
 
     public Optional<User> getUser(UUID userId) {
-        if (!users.containsKey(userId)) {
+        // sessions that are not logged in yet have no user id
+        if (userId == null || !users.containsKey(userId)) {
             LOGGER.trace(String.format("User with id %s could not be found", userId));
             return Optional.empty();
         } else {
@@ -235,6 +240,7 @@ public enum UserManager {
             try {
                 for (User user : toRemove) {
                     users.remove(user.getId());
+                    userInfoChanged(user);
                 }
             } finally {
                 w.unlock();
@@ -246,35 +252,107 @@ public enum UserManager {
     }
 
     /**
-     * This method recreated the user list that will be send to all clients
+     * The admin console list, only requested by admins so it's created on
+     * request
      *
+     * @return
      */
-    private void updateUserInfoList() {
-        try {
-            List<UserView> newUserInfoList = new ArrayList<>();
-            for (User user : UserManager.instance.getUsers()) {
-                newUserInfoList.add(new UserView(
-                        user.getName(),
-                        user.getHost(),
-                        user.getSessionId(),
-                        user.getConnectionTime(),
-                        user.getLastActivity(),
-                        user.getGameInfo(),
-                        user.getUserState().toString(),
-                        user.getChatLockedUntil(),
-                        user.getClientVersion(),
-                        user.getEmail(),
-                        user.getUserIdStr()
-                ));
+    public List<UserView> getUserInfoList() {
+        List<UserView> userInfoList = new ArrayList<>();
+        for (User user : getUsers()) {
+            userInfoList.add(new UserView(
+                    user.getName(),
+                    user.getHost(),
+                    user.getSessionId(),
+                    user.getConnectionTime(),
+                    user.getLastActivity(),
+                    user.getGameInfo(),
+                    user.getUserState().toString(),
+                    user.getChatLockedUntil(),
+                    user.getClientVersion(),
+                    user.getEmail(),
+                    user.getUserIdStr()
+            ));
+        }
+        return userInfoList;
+    }
+
+    /**
+     * The info shown about the user in the games room changed (login / logout,
+     * state, tables, ratings, ...), its view is recreated with the next room
+     * update
+     *
+     * @param user
+     */
+    public void userInfoChanged(User user) {
+        changedUsers.put(user.getId(), user);
+    }
+
+    /**
+     * Recreates the views of the changed users, the views of the other users
+     * are kept
+     *
+     * @return views of the online users sorted by name
+     */
+    public List<UsersView> getRoomUsersView() {
+        synchronized (roomUsers) {
+            Map<UUID, User> toUpdate = new HashMap<>();
+            for (UUID userId : changingUsers) {
+                User user = users.get(userId);
+                if (user != null) { // removed users are in the changed users
+                    toUpdate.put(userId, user);
+                }
             }
-            userInfoList = newUserInfoList;
-        } catch (Exception ex) {
-            handleException(ex);
+            for (Iterator<User> it = changedUsers.values().iterator(); it.hasNext();) {
+                User user = it.next();
+                it.remove();
+                toUpdate.put(user.getId(), user);
+            }
+            for (User user : toUpdate.values()) {
+                String name = user.getName();
+                if (users.get(user.getId()) == user && user.getUserState() != UserState.Offline && !name.equals("Admin")) {
+                    roomUsers.put(name, createUsersView(user));
+                    roomUserIds.put(name, user.getId());
+                    if (user.isInfoChanging()) {
+                        changingUsers.add(user.getId());
+                    } else {
+                        changingUsers.remove(user.getId());
+                    }
+                } else {
+                    // a new user with the same name can be online already
+                    if (user.getId().equals(roomUserIds.get(name))) {
+                        roomUsers.remove(name);
+                        roomUserIds.remove(name);
+                    }
+                    changingUsers.remove(user.getId());
+                }
+            }
+            return new ArrayList<>(roomUsers.values());
         }
     }
 
-    public List<UserView> getUserInfoList() {
-        return userInfoList;
+    private UsersView createUsersView(User user) {
+        try {
+            return new UsersView(user.getUserData().getFlagName(), user.getName(),
+                    user.getMatchHistory(), user.getMatchQuitRatio(), user.getTourneyHistory(),
+                    user.getTourneyQuitRatio(), user.getGameInfo(), user.getPingInfo(),
+                    user.getUserData().getGeneralRating(), user.getUserData().getConstructedRating(),
+                    user.getUserData().getLimitedRating());
+        } catch (Exception ex) {
+            LOGGER.fatal("User update exception: " + user.getName() + " - " + ex.toString(), ex);
+            return new UsersView(
+                    (user.getUserData() != null && user.getUserData().getFlagName() != null) ? user.getUserData().getFlagName() : "world",
+                    user.getName() != null ? user.getName() : "<no name>",
+                    user.getMatchHistory() != null ? user.getMatchHistory() : "<no match history>",
+                    user.getMatchQuitRatio(),
+                    user.getTourneyHistory() != null ? user.getTourneyHistory() : "<no tourney history>",
+                    user.getTourneyQuitRatio(),
+                    "[exception]",
+                    user.getPingInfo() != null ? user.getPingInfo() : "<no ping>",
+                    user.getUserData() != null ? user.getUserData().getGeneralRating() : 0,
+                    user.getUserData() != null ? user.getUserData().getConstructedRating() : 0,
+                    user.getUserData() != null ? user.getUserData().getLimitedRating() : 0);
+        }
     }
 
     public void handleException(Exception ex) {
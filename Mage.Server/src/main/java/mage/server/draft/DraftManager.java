@@ -58,6 +58,10 @@ public enum DraftManager {
         draftControllers.remove(gameId);
     }
 
+    public int getNumberActiveDrafts() {
+        return draftControllers.size();
+    }
+
     public DraftPickView sendCardPick(UUID draftId, UUID userId, UUID cardId, Set<UUID> hiddenCards) {
         return draftControllers.get(draftId).sendCardPick(userId, cardId, hiddenCards);
     }
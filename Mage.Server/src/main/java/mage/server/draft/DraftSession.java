@@ -31,8 +31,6 @@ import java.rmi.RemoteException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import mage.game.draft.Draft;
 import mage.interfaces.callback.ClientCallback;
@@ -40,6 +38,7 @@ import mage.interfaces.callback.ClientCallbackMethod;
 import mage.server.User;
 import mage.server.UserManager;
 import mage.server.util.ThreadExecutor;
+import mage.utils.timer.HashedWheelTimer;
 import mage.view.DraftClientMessage;
 import mage.view.DraftPickView;
 import mage.view.DraftView;
@@ -58,8 +57,8 @@ public class DraftSession {
     protected boolean killed = false;
     protected UUID markedCard;
 
-    private ScheduledFuture<?> futureTimeout;
-    protected static final ScheduledExecutorService timeoutExecutor = ThreadExecutor.instance.getTimeoutExecutor();
+    private HashedWheelTimer.Timeout futureTimeout;
+    protected static final HashedWheelTimer timer = ThreadExecutor.instance.getTimer();
 
     public DraftSession(Draft draft, UUID userId, UUID playerId) {
         this.userId = userId;
@@ -113,7 +112,7 @@ public class DraftSession {
     private synchronized void setupTimeout(int seconds) {
         cancelTimeout();
         if (seconds > 0) {
-            futureTimeout = timeoutExecutor.schedule(
+            futureTimeout = timer.schedule(
                     () -> DraftManager.instance.timeout(draft.getId(), userId),
                     seconds, TimeUnit.SECONDS
             );
@@ -122,7 +121,7 @@ public class DraftSession {
 
     private synchronized void cancelTimeout() {
         if (futureTimeout != null) {
-            futureTimeout.cancel(false);
+            futureTimeout.cancel();
         }
     }
 
@@ -68,6 +68,7 @@ import mage.server.util.Splitter;
 import mage.server.util.SystemUtil;
 import mage.server.util.ThreadExecutor;
 import mage.utils.StreamUtils;
+import mage.utils.timer.HashedWheelTimer;
 import mage.utils.timer.PriorityTimer;
 import mage.view.*;
 import mage.view.ChatMessage.MessageColor;
@@ -82,10 +83,10 @@ public class GameController implements GameCallback {
     private static final ExecutorService gameExecutor = ThreadExecutor.instance.getGameExecutor();
     private static final Logger logger = Logger.getLogger(GameController.class);
 
-    protected final ScheduledExecutorService joinWaitingExecutor = Executors.newSingleThreadScheduledExecutor();
+    private HashedWheelTimer.Timeout joinWaitingTimeout;
 
-    private ScheduledFuture<?> futureTimeout;
-    protected static final ScheduledExecutorService timeoutIdleExecutor = ThreadExecutor.instance.getTimeoutIdleExecutor();
+    private HashedWheelTimer.Timeout futureTimeout;
+    protected static final HashedWheelTimer wheelTimer = ThreadExecutor.instance.getTimer();
 
     private final ConcurrentHashMap<UUID, GameSessionPlayer> gameSessions = new ConcurrentHashMap<>();
     private final ReadWriteLock gameSessionsLock = new ReentrantReadWriteLock();
@@ -104,6 +105,7 @@ public class GameController implements GameCallback {
     private Future<?> gameFuture;
     private boolean useTimeout = true;
     private final GameOptions gameOptions;
+    private final SpectatorViewCache spectatorViews;
 
     private UUID userReqestingRollback;
     private int turnsToRollback;
@@ -119,6 +121,7 @@ public class GameController implements GameCallback {
         this.tableId = tableId;
         this.choosingPlayerId = choosingPlayerId;
         this.gameOptions = gameOptions;
+        this.spectatorViews = new SpectatorViewCache(game);
         useTimeout = game.getPlayers().values().stream().allMatch(Player::isHuman);
         init();
 
@@ -126,6 +129,9 @@ public class GameController implements GameCallback {
 
     public void cleanUp() {
         cancelTimeout();
+        if (joinWaitingTimeout != null) {
+            joinWaitingTimeout.cancel();
+        }
         for (GameSessionPlayer gameSessionPlayer : getGameSessions()) {
             gameSessionPlayer.cleanUp();
         }
@@ -250,7 +256,7 @@ public class GameController implements GameCallback {
                     }
                 }
         );
-        joinWaitingExecutor.scheduleAtFixedRate(() -> {
+        joinWaitingTimeout = wheelTimer.scheduleAtFixedRate(() -> {
             try {
                 sendInfoAboutPlayersNotJoinedYet();
             } catch (Exception ex) {
@@ -282,7 +288,7 @@ public class GameController implements GameCallback {
         };
 
         PriorityTimer timer = new PriorityTimer(count, delayMs, executeOnNoTimeLeft);
-        timer.init(game.getId());
+        timer.init(wheelTimer);
         timers.put(playerId, timer);
         return timer;
     }
@@ -390,7 +396,7 @@ public class GameController implements GameCallback {
 
     private void checkStart() {
         if (allJoined()) {
-            joinWaitingExecutor.shutdownNow();
+            joinWaitingTimeout.cancel();
             ThreadExecutor.instance.getCallExecutor().execute(this::startGame);
         }
     }
@@ -430,7 +436,7 @@ public class GameController implements GameCallback {
             return false;
         }
         UserManager.instance.getUser(userId).ifPresent(user -> {
-            GameSessionWatcher gameWatcher = new GameSessionWatcher(userId, game, false);
+            GameSessionWatcher gameWatcher = new GameSessionWatcher(userId, game, false, spectatorViews);
             final Lock w = gameWatchersLock.writeLock();
             w.lock();
             try {
@@ -591,11 +597,22 @@ public class GameController implements GameCallback {
             case VIEW_LIMITED_DECK:
                 viewLimitedDeck(getPlayerId(userId), userId);
                 break;
+            case RESYNC_GAME_VIEW:
+                resyncGameView(userId);
+                break;
             default:
                 game.sendPlayerAction(playerAction, getPlayerId(userId), data);
         }
     }
 
+    private void resyncGameView(UUID userId) {
+        UUID playerId = getPlayerId(userId);
+        GameSessionWatcher gameSession = playerId != null ? gameSessions.get(playerId) : watchers.get(userId);
+        if (gameSession != null) {
+            gameSession.resync();
+        }
+    }
+
     private int requestPermissionToRollback(UUID userIdRequester, int numberTurns) {
         int requests = 0;
         for (Player player : game.getState().getPlayers().values()) {
@@ -755,6 +772,7 @@ public class GameController implements GameCallback {
         for (final GameSessionPlayer gameSession : getGameSessions()) {
             gameSession.update();
         }
+        spectatorViews.invalidate();
         for (final GameSessionWatcher gameWatcher : getGameSessionWatchers()) {
             gameWatcher.update();
         }
@@ -849,6 +867,7 @@ public class GameController implements GameCallback {
                 entry.getValue().inform(message.toString());
             }
         }
+        spectatorViews.invalidate();
         for (final GameSessionWatcher watcher : getGameSessionWatchers()) {
             watcher.inform(message.toString());
         }
@@ -870,6 +889,7 @@ public class GameController implements GameCallback {
                 entry.getValue().inform(message);
             }
         }
+        spectatorViews.invalidate();
         for (final GameSessionWatcher watcher : getGameSessionWatchers()) {
             watcher.inform(message);
         }
@@ -1008,7 +1028,7 @@ public class GameController implements GameCallback {
             return;
         }
         cancelTimeout();
-        futureTimeout = timeoutIdleExecutor.schedule(
+        futureTimeout = wheelTimer.schedule(
                 () -> idleTimeout(playerId),
                 Main.isTestMode() ? 3600 : ConfigSettings.instance.getMaxSecondsIdle(),
                 TimeUnit.SECONDS
@@ -1019,7 +1039,7 @@ public class GameController implements GameCallback {
         logger.debug("cancelTimeout");
         if (futureTimeout != null) {
             synchronized (futureTimeout) {
-                futureTimeout.cancel(false);
+                futureTimeout.cancel();
             }
         }
     }
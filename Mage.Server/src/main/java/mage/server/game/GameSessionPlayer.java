@@ -218,7 +218,7 @@ public class GameSessionPlayer extends GameSessionWatcher {
         }
 
         processControlledPlayers(player, gameView);
-        processWatchedHands(userId, gameView);
+        gameView.setWatchedHands(getWatchedHands());
         //TODO: should player who controls another player's turn be able to look at all these cards?
 
         List<LookedAtView> list = new ArrayList<>();
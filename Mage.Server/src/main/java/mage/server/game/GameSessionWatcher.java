@@ -38,6 +38,8 @@ import mage.server.UserManager;
 import mage.view.GameClientMessage;
 import mage.view.GameEndView;
 import mage.view.GameView;
+import mage.view.GameViewDelta;
+import mage.view.GameViewOverlay;
 import mage.view.SimpleCardsView;
 import org.apache.log4j.Logger;
 
@@ -57,18 +59,43 @@ public class GameSessionWatcher {
     protected final Game game;
     protected boolean killed = false;
     protected final boolean isPlayer;
+    protected final GameViewDeltaEncoder deltaEncoder = new GameViewDeltaEncoder();
+    protected final SpectatorViewCache spectatorViews;
+    protected volatile long spectatorVersion = GameViewDelta.FULL;
 
     public GameSessionWatcher(UUID userId, Game game, boolean isPlayer) {
+        this(userId, game, isPlayer, null);
+    }
+
+    /**
+     * @param userId
+     * @param game
+     * @param isPlayer
+     * @param spectatorViews views shared by all watchers of the game, null
+     * for own views
+     */
+    public GameSessionWatcher(UUID userId, Game game, boolean isPlayer, SpectatorViewCache spectatorViews) {
         this.userId = userId;
         this.game = game;
         this.isPlayer = isPlayer;
+        this.spectatorViews = spectatorViews;
     }
 
     public boolean init() {
         if (!killed) {
             Optional<User> user = UserManager.instance.getUser(userId);
             if (user.isPresent()) {
-                user.get().fireCallback(new ClientCallback(ClientCallbackMethod.GAME_INIT, game.getId(), getGameView()));
+                GameView gameView;
+                if (spectatorViews == null) {
+                    gameView = getGameView();
+                    deltaEncoder.reset(gameView);
+                } else {
+                    // the shared view can be older than the watcher
+                    gameView = new GameView(game.getState(), game, null, userId);
+                    gameView.setWatchedHands(getWatchedHands());
+                    spectatorVersion = GameViewDelta.FULL;
+                }
+                user.get().fireCallback(new ClientCallback(ClientCallbackMethod.GAME_INIT, game.getId(), gameView));
                 return true;
             }
         }
@@ -77,11 +104,33 @@ public class GameSessionWatcher {
 
     public void update() {
         if (!killed) {
-            UserManager.instance.getUser(userId).ifPresent(user -> user.fireCallback(new ClientCallback(ClientCallbackMethod.GAME_UPDATE, game.getId(), getGameView())));
+            UserManager.instance.getUser(userId).ifPresent(user -> user.fireCallback(new ClientCallback(ClientCallbackMethod.GAME_UPDATE, game.getId(), getGameViewUpdate(user))));
         }
 
     }
 
+    protected Object getGameViewUpdate(User user) {
+        if (spectatorViews == null) {
+            return deltaEncoder.encode(getGameView());
+        }
+        Object update;
+        synchronized (spectatorViews) {
+            update = spectatorViews.getUpdate(spectatorVersion, user.isCompactViews(), user.isViewDictionary());
+            spectatorVersion = spectatorViews.getVersion();
+        }
+        return new GameViewOverlay(update, getWatchedHands());
+    }
+
+    /**
+     * The client lost track of the game view, the next update contains the
+     * full view
+     */
+    public void resync() {
+        deltaEncoder.resync();
+        spectatorVersion = GameViewDelta.FULL;
+        update();
+    }
+
     public void inform(final String message) {
         if (!killed) {
             UserManager.instance.getUser(userId).ifPresent(user -> user.fireCallback(new ClientCallback(ClientCallbackMethod.GAME_INFORM, game.getId(), new GameClientMessage(getGameView(), message))));
@@ -124,20 +173,30 @@ public class GameSessionWatcher {
     }
 
     public GameView getGameView() {
+        Map<String, SimpleCardsView> watchedHands = getWatchedHands();
+        if (spectatorViews != null && watchedHands == null) {
+            return spectatorViews.getGameView();
+        }
         GameView gameView = new GameView(game.getState(), game, null, userId);
-        processWatchedHands(userId, gameView);
+        gameView.setWatchedHands(watchedHands);
         return gameView;
 
     }
 
-    protected void processWatchedHands(UUID userId, GameView gameView) {
-        Map<String, SimpleCardsView> handCards = new HashMap<>();
+    /**
+     * @return hands the user is allowed to see, null if none
+     */
+    protected Map<String, SimpleCardsView> getWatchedHands() {
+        Map<String, SimpleCardsView> handCards = null;
         for (Player player : game.getPlayers().values()) {
             if (player.hasUserPermissionToSeeHand(userId)) {
+                if (handCards == null) {
+                    handCards = new HashMap<>();
+                }
                 handCards.put(player.getName(), new SimpleCardsView(player.getHand().getCards(game), true));
-                gameView.setWatchedHands(handCards);
             }
         }
+        return handCards;
     }
 
     public GameEndView getGameEndView(UUID playerId, Table table) {
@@ -0,0 +1,120 @@
+package mage.server.game;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import mage.view.GameView;
+import mage.view.GameViewDelta;
+import mage.view.PlayerView;
+
+/**
+ * Remembers what was sent to one game session and reduces the following game
+ * views to the changed parts.
+ *
+ * Parts are compared field by field with the views sent last, so every change
+ * the client could see is detected.
+ */
+public class GameViewDeltaEncoder {
+
+    private long version = 0;
+    private boolean full = true;
+    // views of the last update, before the unchanged parts were stripped
+    private Map<UUID, Object> battlefield = new HashMap<>();
+    private Map<UUID, Object> graveyards = new HashMap<>();
+    private Map<UUID, Object> exiles = new HashMap<>();
+    private Map<UUID, Object> stack = new HashMap<>();
+    private List<PlayerView> players = new ArrayList<>();
+
+    /**
+     * The given full view was sent (e.g. on game init), following updates are
+     * based on it as version 0.
+     *
+     * @param gameView
+     */
+    public synchronized void reset(GameView gameView) {
+        full = true;
+        encode(gameView);
+        version = 0;
+    }
+
+    /**
+     * @return version of the last encoded view
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * The next update will contain the full view.
+     */
+    public synchronized void resync() {
+        full = true;
+    }
+
+    /**
+     * Strips the parts of the view that are unchanged since the last update.
+     * The given view is not modified, so it can still be sent as full view.
+     *
+     * @param gameView
+     * @return
+     */
+    public synchronized GameViewDelta encode(GameView gameView) {
+        long baseVersion = full ? GameViewDelta.FULL : version;
+        Map<UUID, Object> newBattlefield = new HashMap<>();
+        Map<UUID, Object> newGraveyards = new HashMap<>();
+        Map<UUID, Object> newExiles = new HashMap<>();
+        Map<UUID, Object> newStack = new HashMap<>();
+        List<PlayerView> newPlayers = new ArrayList<>();
+        // only the containers are copied, the views themselves are shared
+        GameView delta = new GameView(gameView);
+        List<PlayerView> playerViews = delta.getPlayers();
+        for (int i = 0; i < playerViews.size(); i++) {
+            PlayerView player = playerViews.get(i);
+            // the cards are compared one by one, the player only by the keys of its cards
+            boolean same = !full && i < players.size()
+                    && ViewComparison.isSameExcept(player, players.get(i), "battlefield", "graveyard", "exile")
+                    && sameKeys(player.getBattlefield(), players.get(i).getBattlefield())
+                    && sameKeys(player.getGraveyard(), players.get(i).getGraveyard())
+                    && sameKeys(player.getExile(), players.get(i).getExile());
+            PlayerView stripped = new PlayerView(player);
+            same &= strip(stripped.getBattlefield(), battlefield, newBattlefield);
+            same &= strip(stripped.getGraveyard(), graveyards, newGraveyards);
+            same &= strip(stripped.getExile(), exiles, newExiles);
+            newPlayers.add(player);
+            playerViews.set(i, same ? null : stripped);
+        }
+        strip(delta.getStack(), stack, newStack);
+        battlefield = newBattlefield;
+        graveyards = newGraveyards;
+        exiles = newExiles;
+        stack = newStack;
+        players = newPlayers;
+        full = false;
+        version++;
+        return new GameViewDelta(baseVersion, version, delta);
+    }
+
+    /**
+     * Replaces the views that didn't change since the last update with null
+     *
+     * @return true if all views are unchanged
+     */
+    private <T> boolean strip(Map<UUID, T> part, Map<UUID, Object> sent, Map<UUID, Object> newSent) {
+        boolean same = true;
+        for (Map.Entry<UUID, T> entry : part.entrySet()) {
+            newSent.put(entry.getKey(), entry.getValue());
+            if (!full && ViewComparison.isSame(entry.getValue(), sent.get(entry.getKey()))) {
+                entry.setValue(null);
+            } else {
+                same = false;
+            }
+        }
+        return same;
+    }
+
+    private static boolean sameKeys(Map<UUID, ?> part, Map<UUID, ?> sent) {
+        return new ArrayList<>(part.keySet()).equals(new ArrayList<>(sent.keySet()));
+    }
+}
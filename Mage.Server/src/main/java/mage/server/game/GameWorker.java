@@ -29,8 +29,11 @@ package mage.server.game;
 
 import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
 import mage.MageException;
 import mage.game.Game;
+import mage.server.util.ThreadExecutor;
+import mage.util.GameThreadLimiter;
 import org.apache.log4j.Logger;
 
 /**
@@ -57,6 +60,10 @@ public class GameWorker<T> implements Callable {
         try {
             LOGGER.debug("GAME WORKER started gameId " + game.getId());
             Thread.currentThread().setName("GAME " + game.getId());
+            Semaphore permits = ThreadExecutor.instance.getGamePermits();
+            if (permits != null) {
+                GameThreadLimiter.enter(permits);
+            }
             game.start(choosingPlayerId);
             game.fireUpdatePlayersEvent();
             gameController.gameResult(game.getWinner());
@@ -75,6 +82,8 @@ public class GameWorker<T> implements Callable {
             }
         } catch (Error err) {
             LOGGER.fatal("GameWorker general error [" + game.getId() + "] " + err, err);
+        } finally {
+            GameThreadLimiter.exit();
         }
         return null;
     }
@@ -36,6 +36,7 @@ import mage.game.tournament.TournamentOptions;
 import mage.players.PlayerType;
 import mage.server.Room;
 import mage.view.MatchView;
+import mage.view.RoomChangesView;
 import mage.view.RoomUsersView;
 import mage.view.TableView;
 
@@ -52,6 +53,26 @@ public interface GamesRoom extends Room {
     List<TableView> getTables();
     List<MatchView> getFinished();
     List<RoomUsersView> getRoomUsersInfo();
+
+    /**
+     * Returns the changes of the room since the given version and sends the
+     * following changes to the user
+     *
+     * @param userId
+     * @param sinceVersion version the user has, negative if it has none
+     * @param withMatches false if the user doesn't show the finished matches,
+     * they are left out of these and the following changes
+     * @return
+     */
+    RoomChangesView getChanges(UUID userId, long sinceVersion, boolean withMatches);
+
+    /**
+     * The changes of the room are not sent to the user anymore
+     *
+     * @param userId
+     */
+    void stopChanges(UUID userId);
+
     boolean joinTable(UUID userId, UUID tableId, String name, PlayerType playerType, int skill, DeckCardLists deckList, String password) throws MageException;
     boolean joinTournamentTable(UUID userId, UUID tableId, String name, PlayerType playerType, int skill, DeckCardLists deckList, String password) throws GameException;
     TableView createTable(UUID userId, MatchOptions options);
@@ -40,6 +40,8 @@ import mage.game.GameException;
 import mage.game.Table;
 import mage.game.match.MatchOptions;
 import mage.game.tournament.TournamentOptions;
+import mage.interfaces.callback.ClientCallback;
+import mage.interfaces.callback.ClientCallbackMethod;
 import mage.players.PlayerType;
 import mage.server.RoomImpl;
 import mage.server.TableManager;
@@ -49,6 +51,7 @@ import mage.server.tournament.TournamentManager;
 import mage.server.util.ConfigSettings;
 import mage.server.util.ThreadExecutor;
 import mage.view.MatchView;
+import mage.view.RoomChangesView;
 import mage.view.RoomUsersView;
 import mage.view.TableView;
 import mage.view.UsersView;
@@ -67,6 +70,9 @@ public class GamesRoomImpl extends RoomImpl implements GamesRoom, Serializable {
     private static List<RoomUsersView> roomUsersView = new ArrayList<>();
 
     private final ConcurrentHashMap<UUID, Table> tables = new ConcurrentHashMap<>();
+    private final RoomChangeLog changeLog = new RoomChangeLog();
+    // subscribed users and whether they get the finished matches
+    private final ConcurrentHashMap<UUID, Boolean> subscribedUsers = new ConcurrentHashMap<>();
 
     public GamesRoomImpl() {
         UPDATE_EXECUTOR.scheduleAtFixedRate(() -> {
@@ -104,41 +110,50 @@ public class GamesRoomImpl extends RoomImpl implements GamesRoom, Serializable {
         }
         tableView = tableList;
         matchView = matchList;
-        List<UsersView> users = new ArrayList<>();
-        for (User user : UserManager.instance.getUsers()) {
-            if (user.getUserState() != User.UserState.Offline && !user.getName().equals("Admin")) {
-                try {
-                    users.add(new UsersView(user.getUserData().getFlagName(), user.getName(),
-                            user.getMatchHistory(), user.getMatchQuitRatio(), user.getTourneyHistory(),
-                            user.getTourneyQuitRatio(), user.getGameInfo(), user.getPingInfo(),
-                            user.getUserData().getGeneralRating(), user.getUserData().getConstructedRating(),
-                            user.getUserData().getLimitedRating()));
-                } catch (Exception ex) {
-                    LOGGER.fatal("User update exception: " + user.getName() + " - " + ex.toString(), ex);
-                    users.add(new UsersView(
-                            (user.getUserData() != null && user.getUserData().getFlagName() != null) ? user.getUserData().getFlagName() : "world",
-                            user.getName() != null ? user.getName() : "<no name>",
-                            user.getMatchHistory() != null ? user.getMatchHistory() : "<no match history>",
-                            user.getMatchQuitRatio(),
-                            user.getTourneyHistory() != null ? user.getTourneyHistory() : "<no tourney history>",
-                            user.getTourneyQuitRatio(),
-                            "[exception]",
-                            user.getPingInfo() != null ? user.getPingInfo() : "<no ping>",
-                            user.getUserData() != null ? user.getUserData().getGeneralRating() : 0,
-                            user.getUserData() != null ? user.getUserData().getConstructedRating() : 0,
-                            user.getUserData() != null ? user.getUserData().getLimitedRating() : 0));
+        List<UsersView> users = UserManager.instance.getRoomUsersView();
+        int numberActiveGames = GameManager.instance.getNumberActiveGames();
+        int numberGameThreads = ThreadExecutor.instance.getActiveGameThreads();
+        int numberMaxGames = ConfigSettings.instance.getMaxGameThreads();
+        List<RoomUsersView> roomUserInfo = new ArrayList<>();
+        roomUserInfo.add(new RoomUsersView(users, numberActiveGames, numberGameThreads, numberMaxGames));
+        roomUsersView = roomUserInfo;
+
+        RoomChangesView changes = changeLog.update(tableList, matchList, users, numberActiveGames, numberGameThreads, numberMaxGames);
+        if (changes != null) {
+            sendChanges(changes);
+        }
+    }
+
+    private void sendChanges(RoomChangesView changes) {
+        RoomChangesView changesWithoutMatches = null;
+        for (Iterator<Map.Entry<UUID, Boolean>> it = subscribedUsers.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<UUID, Boolean> subscription = it.next();
+            Optional<User> user = UserManager.instance.getUser(subscription.getKey());
+            if (user.isPresent() && user.get().getUserState() != User.UserState.Offline) {
+                RoomChangesView sent = changes;
+                if (!subscription.getValue()) {
+                    if (changesWithoutMatches == null) {
+                        changesWithoutMatches = changes.withoutMatches();
+                    }
+                    sent = changesWithoutMatches;
                 }
+                user.get().fireCallback(new ClientCallback(ClientCallbackMethod.ROOM_UPDATE, getRoomId(), sent));
+            } else {
+                it.remove();
             }
         }
+    }
 
-        users.sort((one, two) -> one.getUserName().compareToIgnoreCase(two.getUserName()));
-        List<RoomUsersView> roomUserInfo = new ArrayList<>();
-        roomUserInfo.add(new RoomUsersView(users,
-                GameManager.instance.getNumberActiveGames(),
-                ThreadExecutor.instance.getActiveThreads(ThreadExecutor.instance.getGameExecutor()),
-                ConfigSettings.instance.getMaxGameThreads()
-        ));
-        roomUsersView = roomUserInfo;
+    @Override
+    public RoomChangesView getChanges(UUID userId, long sinceVersion, boolean withMatches) {
+        subscribedUsers.put(userId, withMatches);
+        RoomChangesView changes = changeLog.getChanges(sinceVersion);
+        return withMatches ? changes : changes.withoutMatches();
+    }
+
+    @Override
+    public void stopChanges(UUID userId) {
+        subscribedUsers.remove(userId);
     }
 
     @Override
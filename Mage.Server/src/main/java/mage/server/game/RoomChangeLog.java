@@ -0,0 +1,159 @@
+package mage.server.game;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import mage.view.MatchView;
+import mage.view.RoomChangesView;
+import mage.view.RoomChangesView.Changes;
+import mage.view.TableView;
+import mage.view.UsersView;
+
+/**
+ * Versions of the views of a games room.
+ *
+ * Each update of the room that changes something creates a new version with
+ * the changes since the previous version. The last changes are kept, so a
+ * client that missed some versions gets only the changes since the version it
+ * has, otherwise it gets the full views.
+ */
+public class RoomChangeLog {
+
+    private static final int HISTORY_SIZE = 30;
+
+    private final Part<UUID, TableView> tables = new Part<>(TableView::getTableId);
+    private final Part<UUID, MatchView> matches = new Part<>(MatchView::getTableId);
+    private final Part<String, UsersView> users = new Part<>(UsersView::getUserName);
+    private final Deque<RoomChangesView> history = new ArrayDeque<>();
+
+    private long version = 0;
+    private int numberActiveGames;
+    private int numberGameThreads;
+    private int numberMaxGames;
+
+    /**
+     * Creates a new version if the views changed
+     *
+     * @param tableViews
+     * @param matchViews
+     * @param usersViews
+     * @param numberActiveGames
+     * @param numberGameThreads
+     * @param numberMaxGames
+     * @return changes since the previous version, null if nothing changed
+     */
+    public synchronized RoomChangesView update(List<TableView> tableViews, List<MatchView> matchViews, List<UsersView> usersViews,
+            int numberActiveGames, int numberGameThreads, int numberMaxGames) {
+        Changes<UUID, TableView> tableChanges = tables.update(tableViews);
+        Changes<UUID, MatchView> matchChanges = matches.update(matchViews);
+        Changes<String, UsersView> userChanges = users.update(usersViews);
+        if (tableChanges.isEmpty() && matchChanges.isEmpty() && userChanges.isEmpty()
+                && this.numberActiveGames == numberActiveGames
+                && this.numberGameThreads == numberGameThreads
+                && this.numberMaxGames == numberMaxGames) {
+            return null;
+        }
+        this.numberActiveGames = numberActiveGames;
+        this.numberGameThreads = numberGameThreads;
+        this.numberMaxGames = numberMaxGames;
+        version++;
+        RoomChangesView changes = new RoomChangesView(version - 1, version, tableChanges, matchChanges, userChanges,
+                numberActiveGames, numberGameThreads, numberMaxGames);
+        history.addLast(changes);
+        if (history.size() > HISTORY_SIZE) {
+            history.removeFirst();
+        }
+        return changes;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * @param sinceVersion version the client has, negative if it has none
+     * @return changes since the given version or the full views if the
+     * changes are not known anymore
+     */
+    public synchronized RoomChangesView getChanges(long sinceVersion) {
+        if (sinceVersion == version) {
+            return new RoomChangesView(version, version, Changes.empty(), Changes.empty(), Changes.empty(),
+                    numberActiveGames, numberGameThreads, numberMaxGames);
+        }
+        if (sinceVersion >= 0 && sinceVersion < version
+                && !history.isEmpty() && history.peekFirst().getBaseVersion() <= sinceVersion) {
+            Changes<UUID, TableView> tableChanges = null;
+            Changes<UUID, MatchView> matchChanges = null;
+            Changes<String, UsersView> userChanges = null;
+            Iterator<RoomChangesView> it = history.iterator();
+            while (it.hasNext()) {
+                RoomChangesView changes = it.next();
+                if (changes.getBaseVersion() < sinceVersion) {
+                    continue;
+                }
+                if (tableChanges == null) {
+                    tableChanges = changes.getTables();
+                    matchChanges = changes.getMatches();
+                    userChanges = changes.getUsers();
+                } else {
+                    tableChanges = changes.getTables().merge(tableChanges);
+                    matchChanges = changes.getMatches().merge(matchChanges);
+                    userChanges = changes.getUsers().merge(userChanges);
+                }
+            }
+            return new RoomChangesView(sinceVersion, version, tableChanges, matchChanges, userChanges,
+                    numberActiveGames, numberGameThreads, numberMaxGames);
+        }
+        return new RoomChangesView(RoomChangesView.FULL, version, tables.getAll(), matches.getAll(), users.getAll(),
+                numberActiveGames, numberGameThreads, numberMaxGames);
+    }
+
+    /**
+     * Current views of one part of the room
+     */
+    private static final class Part<K, V extends Serializable> {
+
+        private final Function<V, K> key;
+        private Map<K, V> views = new LinkedHashMap<>();
+
+        Part(Function<V, K> key) {
+            this.key = key;
+        }
+
+        Changes<K, V> update(List<V> newViews) {
+            Map<K, V> changed = new LinkedHashMap<>();
+            Map<K, V> currentViews = new LinkedHashMap<>();
+            for (V view : newViews) {
+                K viewKey = key.apply(view);
+                currentViews.put(viewKey, view);
+                // kept views (e.g. of unchanged users) are the same object and not compared
+                if (!ViewComparison.isSame(view, views.get(viewKey))) {
+                    changed.put(viewKey, view);
+                }
+            }
+            List<K> removed = new ArrayList<>();
+            for (K oldKey : views.keySet()) {
+                if (!currentViews.containsKey(oldKey)) {
+                    removed.add(oldKey);
+                }
+            }
+            List<K> order = null;
+            if (!new ArrayList<>(currentViews.keySet()).equals(new ArrayList<>(views.keySet()))) {
+                order = new ArrayList<>(currentViews.keySet());
+            }
+            views = currentViews;
+            return new Changes<>(changed, removed, order);
+        }
+
+        Changes<K, V> getAll() {
+            return new Changes<>(new LinkedHashMap<>(views), new ArrayList<>(), new ArrayList<>(views.keySet()));
+        }
+    }
+}
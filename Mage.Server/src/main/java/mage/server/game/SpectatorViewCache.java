@@ -0,0 +1,100 @@
+package mage.server.game;
+
+import mage.game.Game;
+import mage.remote.traffic.CompactZippedObject;
+import mage.remote.traffic.ZippedObject;
+import mage.remote.traffic.ZippedObjectImpl;
+import mage.server.metrics.ServerMetrics;
+import mage.view.GameView;
+import mage.view.GameViewDelta;
+
+/**
+ * Game views for the watchers of a game.
+ *
+ * Watchers (non players) all see the same game, so the view is built once per
+ * update and shared by all watcher sessions. The delta and the full update are
+ * compressed on first use only. The cache has to be invalidated each time
+ * before the watchers are updated.
+ */
+public class SpectatorViewCache {
+
+    private final Game game;
+    private final GameViewDeltaEncoder encoder = new GameViewDeltaEncoder();
+
+    private boolean valid = false;
+    private long version = GameViewDelta.FULL;
+    private GameViewDelta fullUpdate;
+    private GameViewDelta deltaUpdate;
+    // compressed updates, index 0 = default format, 1 = compact format, 2 = compact format with dictionary
+    private final ZippedObject[] fullZipped = new ZippedObject[3];
+    private final ZippedObject[] deltaZipped = new ZippedObject[3];
+    private GameView gameView;
+
+    public SpectatorViewCache(Game game) {
+        this.game = game;
+    }
+
+    public synchronized void invalidate() {
+        valid = false;
+        gameView = null;
+    }
+
+    /**
+     * @param clientVersion version of the last update the watcher received
+     * @param compact client supports the compact format
+     * @param dictionary client has the view dictionary of the server
+     * @return the compressed delta to the given version or the full update
+     */
+    public synchronized ZippedObject getUpdate(long clientVersion, boolean compact, boolean dictionary) {
+        if (!valid) {
+            // the encoder doesn't modify the view, it's the full update too
+            GameViewDelta delta = encoder.encode(getGameView());
+            deltaUpdate = delta.isFull() ? null : delta;
+            fullUpdate = null;
+            version = delta.getVersion();
+            for (int i = 0; i < fullZipped.length; i++) {
+                fullZipped[i] = null;
+                deltaZipped[i] = null;
+            }
+            valid = true;
+        }
+        int format = compact ? (dictionary ? 2 : 1) : 0;
+        if (deltaUpdate != null && clientVersion == deltaUpdate.getBaseVersion()) {
+            if (deltaZipped[format] == null) {
+                deltaZipped[format] = zip(deltaUpdate, format);
+            }
+            return deltaZipped[format];
+        }
+        if (fullZipped[format] == null) {
+            if (fullUpdate == null) {
+                fullUpdate = new GameViewDelta(GameViewDelta.FULL, version, getGameView());
+            }
+            fullZipped[format] = zip(fullUpdate, format);
+        }
+        return fullZipped[format];
+    }
+
+    /**
+     * @return version of the last update returned by getUpdate
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return view of the current game state, must not be modified
+     */
+    public synchronized GameView getGameView() {
+        if (gameView == null) {
+            gameView = new GameView(game.getState(), game, null, null);
+        }
+        return gameView;
+    }
+
+    private static ZippedObject<GameViewDelta> zip(GameViewDelta update, int format) {
+        long start = System.nanoTime();
+        ZippedObject<GameViewDelta> zipped = format == 0 ? new ZippedObjectImpl<>(update) : new CompactZippedObject<>(update, format == 2);
+        ServerMetrics.instance.compressionDone(start);
+        return zipped;
+    }
+}
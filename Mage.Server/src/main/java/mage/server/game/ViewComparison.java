@@ -0,0 +1,175 @@
+package mage.server.game;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compares views field by field, so every change the client could see is
+ * detected without serializing the views. Transient fields are not sent to
+ * the client and are not compared.
+ *
+ * Only the classes of the mage.view package are compared by their fields, all
+ * other values (e.g. String, Date, UUID, enums, ObjectColor) by equals().
+ * Collections, maps and arrays are compared element by element.
+ *
+ * Views that can't be compared (e.g. too deeply nested) count as changed.
+ */
+public final class ViewComparison {
+
+    private static final int MAX_DEPTH = 32;
+    private static final String VIEW_PACKAGE = "mage.view.";
+    private static final Map<Class<?>, Field[]> fields = new ConcurrentHashMap<>();
+
+    private ViewComparison() {
+    }
+
+    /**
+     * @param view
+     * @param other
+     * @return true if both views have the same content
+     */
+    public static boolean isSame(Object view, Object other) {
+        return isSame(view, other, 0);
+    }
+
+    /**
+     * Compares the views without the fields of the given names (e.g. parts
+     * that are compared separately)
+     *
+     * @param view
+     * @param other
+     * @param skippedFields
+     * @return true if both views have the same content apart from the skipped
+     * fields
+     */
+    public static boolean isSameExcept(Object view, Object other, String... skippedFields) {
+        if (view == other) {
+            return true;
+        }
+        if (view == null || other == null || view.getClass() != other.getClass()) {
+            return false;
+        }
+        List<String> skipped = Arrays.asList(skippedFields);
+        for (Field field : getFields(view.getClass())) {
+            if (!skipped.contains(field.getName()) && !isSameField(field, view, other, 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSame(Object view, Object other, int depth) {
+        if (view == other) {
+            return true;
+        }
+        if (view == null || other == null || view.getClass() != other.getClass() || depth > MAX_DEPTH) {
+            return false;
+        }
+        if (view instanceof Set) {
+            return view.equals(other);
+        }
+        if (view instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) view;
+            Map<?, ?> otherMap = (Map<?, ?>) other;
+            if (map.size() != otherMap.size()) {
+                return false;
+            }
+            // same order, the client shows the entries in this order
+            Iterator<? extends Map.Entry<?, ?>> it = map.entrySet().iterator();
+            Iterator<? extends Map.Entry<?, ?>> otherIt = otherMap.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<?, ?> entry = it.next();
+                Map.Entry<?, ?> otherEntry = otherIt.next();
+                if (!isSame(entry.getKey(), otherEntry.getKey(), depth + 1)
+                        || !isSame(entry.getValue(), otherEntry.getValue(), depth + 1)) {
+                    return false;
+                }
+            }
+        } else if (view instanceof Collection) {
+            Collection<?> collection = (Collection<?>) view;
+            Collection<?> otherCollection = (Collection<?>) other;
+            if (collection.size() != otherCollection.size()) {
+                return false;
+            }
+            Iterator<?> it = collection.iterator();
+            Iterator<?> otherIt = otherCollection.iterator();
+            while (it.hasNext()) {
+                if (!isSame(it.next(), otherIt.next(), depth + 1)) {
+                    return false;
+                }
+            }
+        } else if (view instanceof Object[]) {
+            Object[] array = (Object[]) view;
+            Object[] otherArray = (Object[]) other;
+            if (array.length != otherArray.length) {
+                return false;
+            }
+            for (int i = 0; i < array.length; i++) {
+                if (!isSame(array[i], otherArray[i], depth + 1)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (view.getClass().isArray()) {
+            return Arrays.deepEquals(new Object[]{view}, new Object[]{other});
+        } else if (view instanceof Enum || !isView(view.getClass())) {
+            return view.equals(other);
+        }
+        // views can be maps with own fields too (e.g. ExileView)
+        for (Field field : getFields(view.getClass())) {
+            if (!isSameField(field, view, other, depth)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSameField(Field field, Object view, Object other, int depth) {
+        try {
+            Class<?> type = field.getType();
+            if (type == int.class) {
+                return field.getInt(view) == field.getInt(other);
+            }
+            if (type == boolean.class) {
+                return field.getBoolean(view) == field.getBoolean(other);
+            }
+            if (type == long.class) {
+                return field.getLong(view) == field.getLong(other);
+            }
+            if (type.isPrimitive()) {
+                return field.get(view).equals(field.get(other));
+            }
+            return isSame(field.get(view), field.get(other), depth + 1);
+        } catch (IllegalAccessException ex) {
+            return false;
+        }
+    }
+
+    private static Field[] getFields(Class<?> viewClass) {
+        return fields.computeIfAbsent(viewClass, c -> {
+            List<Field> compared = new ArrayList<>();
+            for (Class<?> type = c; type != null && isView(type); type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+                        field.setAccessible(true);
+                        compared.add(field);
+                    }
+                }
+            }
+            return compared.toArray(new Field[compared.size()]);
+        });
+    }
+
+    private static boolean isView(Class<?> type) {
+        return type.getName().startsWith(VIEW_PACKAGE);
+    }
+}
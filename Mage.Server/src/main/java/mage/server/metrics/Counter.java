@@ -0,0 +1,23 @@
+package mage.server.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Value that only goes up (calls, messages, bytes, ...)
+ */
+public class Counter {
+
+    private final LongAdder value = new LongAdder();
+
+    public void inc() {
+        value.increment();
+    }
+
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
@@ -0,0 +1,80 @@
+package mage.server.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of observed values in fixed buckets (cumulative like the
+ * Prometheus histograms)
+ */
+public class Histogram {
+
+    /**
+     * Bucket bounds for durations in seconds
+     */
+    public static final double[] TIME_BUCKETS = {0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    private final double[] bounds;
+    private final LongAdder[] buckets;
+    private final LongAdder count = new LongAdder();
+    private final DoubleAdder sum = new DoubleAdder();
+
+    /**
+     * @param bounds upper bounds of the buckets in ascending order, a last
+     * bucket for all greater values is added
+     */
+    public Histogram(double[] bounds) {
+        this.bounds = bounds.clone();
+        this.buckets = new LongAdder[bounds.length];
+        for (int i = 0; i < bounds.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void observe(double value) {
+        for (int i = 0; i < bounds.length; i++) {
+            if (value <= bounds[i]) {
+                buckets[i].increment();
+                break;
+            }
+        }
+        count.increment();
+        sum.add(value);
+    }
+
+    /**
+     * Observes the time since the start in seconds
+     *
+     * @param startNanos start time from System.nanoTime()
+     */
+    public void observeSince(long startNanos) {
+        observe((System.nanoTime() - startNanos) / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public double[] getBounds() {
+        return bounds.clone();
+    }
+
+    /**
+     * @return number of observed values less than or equal to the bound of
+     * each bucket
+     */
+    public long[] getCumulativeCounts() {
+        long[] counts = new long[bounds.length];
+        long total = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            total += buckets[i].sum();
+            counts[i] = total;
+        }
+        return counts;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getSum() {
+        return sum.sum();
+    }
+}
@@ -0,0 +1,295 @@
+package mage.server.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import mage.interfaces.callback.ClientCallback;
+import mage.remote.traffic.ZippedObject;
+import mage.server.CallbackQueue;
+import mage.server.SessionManager;
+import mage.server.TableManager;
+import mage.server.draft.DraftManager;
+import mage.server.record.TableRecorderImpl;
+import mage.server.game.GameManager;
+import mage.server.tournament.TournamentManager;
+import mage.server.util.ThreadExecutor;
+import org.apache.log4j.Logger;
+
+/**
+ * Runtime metrics of the server.
+ *
+ * The metrics are published as the MBean mage.server:type=Metrics and, if a
+ * metrics file is configured, written periodically to that file in the
+ * Prometheus text format.
+ */
+public enum ServerMetrics {
+    instance;
+
+    private static final Logger logger = Logger.getLogger(ServerMetrics.class);
+
+    private static final double[] FAN_OUT_BUCKETS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500};
+
+    private enum Type {
+        COUNTER, GAUGE, HISTOGRAM
+    }
+
+    private final ConcurrentMap<String, Family> families = new ConcurrentSkipListMap<>();
+    private ScheduledExecutorService fileExecutor;
+
+    /**
+     * Registers the MBean and the gauges of the server state and starts
+     * writing the metrics file
+     *
+     * @param metricsFile file for the Prometheus text format, null or empty
+     * if no file should be written
+     * @param intervalSeconds
+     */
+    public synchronized void start(String metricsFile, int intervalSeconds) {
+        gauge("mage_games_active", "Games running", () -> GameManager.instance.getNumberActiveGames());
+        gauge("mage_tables_active", "Tables of all rooms (incl. finished tables still shown)", () -> TableManager.instance.getTables().size());
+        gauge("mage_drafts_active", "Drafts running", () -> DraftManager.instance.getNumberActiveDrafts());
+        gauge("mage_tournaments_active", "Tournaments running", () -> TournamentManager.instance.getNumberActiveTournaments());
+        gauge("mage_game_threads_active", "Game threads working", () -> ThreadExecutor.instance.getActiveGameThreads());
+        gauge("mage_game_queue_size", "Games waiting for a game thread", () -> ThreadExecutor.instance.getWaitingGames());
+        gauge("mage_callback_queue_size", "Callbacks of all sessions waiting to be sent", CallbackQueue::getQueuedCount);
+        gauge("mage_callback_queue_size_max", "Callbacks waiting to be sent to the slowest session", () -> SessionManager.instance.getMaxCallbackQueueSize());
+        counter("mage_callbacks_dropped_total", "Callbacks dropped because of full queues or lost connections", () -> CallbackQueue.getDroppedCount());
+        counter("mage_callbacks_coalesced_total", "Game updates merged into an already queued update", () -> CallbackQueue.getCoalescedCount());
+        gauge("mage_callback_latency_avg_seconds", "Average time from firing a callback until it was sent", () -> CallbackQueue.getAverageSendLatency() / 1000);
+        gauge("mage_callback_latency_max_seconds", "Maximal time from firing a callback until it was sent", () -> CallbackQueue.getMaxSendLatency() / 1000);
+        gauge("mage_table_record_queue_size", "Finished tables waiting to be recorded", () -> TableRecorderImpl.instance.getQueueSize());
+        gauge("mage_table_record_lag_seconds", "Time the oldest finished table is waiting to be recorded", () -> TableRecorderImpl.instance.getLag());
+        counter("mage_table_records_written_total", "Table records written to the DB", () -> TableRecorderImpl.instance.getWrittenCount());
+        counter("mage_table_record_failures_total", "Table records that could not be written to the DB", () -> TableRecorderImpl.instance.getFailedCount());
+        counter("mage_table_record_overflow_total", "Finished tables that waited because the record queue was full", () -> TableRecorderImpl.instance.getOverflowCount());
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsMBean(this), new ObjectName("mage.server:type=Metrics"));
+        } catch (JMException ex) {
+            logger.error("Can't register the metrics MBean", ex);
+        }
+        if (metricsFile != null && !metricsFile.isEmpty() && fileExecutor == null) {
+            Path path = Paths.get(metricsFile);
+            fileExecutor = Executors.newSingleThreadScheduledExecutor();
+            fileExecutor.scheduleAtFixedRate(() -> writeFile(path), intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    public Counter counter(String name, String help) {
+        return (Counter) series(name, help, Type.COUNTER, "", Counter::new);
+    }
+
+    public Counter counter(String name, String help, String label, String labelValue) {
+        return (Counter) series(name, help, Type.COUNTER, labels(label, labelValue), Counter::new);
+    }
+
+    /**
+     * Counter whose value is kept somewhere else
+     *
+     * @param name
+     * @param help
+     * @param value
+     */
+    public void counter(String name, String help, DoubleSupplier value) {
+        series(name, help, Type.COUNTER, "", () -> value);
+    }
+
+    public void gauge(String name, String help, DoubleSupplier value) {
+        series(name, help, Type.GAUGE, "", () -> value);
+    }
+
+    public Histogram histogram(String name, String help, double[] bounds) {
+        return (Histogram) series(name, help, Type.HISTOGRAM, "", () -> new Histogram(bounds));
+    }
+
+    public Histogram histogram(String name, String help, double[] bounds, String label, String labelValue) {
+        return (Histogram) series(name, help, Type.HISTOGRAM, labels(label, labelValue), () -> new Histogram(bounds));
+    }
+
+    /**
+     * A callback is handed over to the connection
+     *
+     * @param call
+     */
+    public void callbackSent(ClientCallback call) {
+        String method = String.valueOf(call.getMethod());
+        counter("mage_callbacks_total", "Callbacks sent to the clients", "method", method).inc();
+        if (call.getData() instanceof ZippedObject) {
+            counter("mage_callback_compressed_bytes_total", "Compressed data of the callbacks sent to the clients", "method", method)
+                    .add(((ZippedObject) call.getData()).getSize());
+        }
+    }
+
+    /**
+     * @param startNanos start of the compression of an object sent to the
+     * clients
+     */
+    public void compressionDone(long startNanos) {
+        histogram("mage_compression_seconds", "Time to compress the data of a callback", Histogram.TIME_BUCKETS).observeSince(startNanos);
+    }
+
+    /**
+     * @param method name of the server call
+     * @param startNanos start of the call
+     */
+    public void serverCallDone(String method, long startNanos) {
+        histogram("mage_server_call_seconds", "Time to execute the calls of the clients", Histogram.TIME_BUCKETS, "method", method)
+                .observeSince(startNanos);
+    }
+
+    /**
+     * @param recipients number of users a chat message was sent to
+     */
+    public void chatBroadcast(int recipients) {
+        histogram("mage_chat_fan_out", "Users a chat message is sent to", FAN_OUT_BUCKETS).observe(recipients);
+    }
+
+    /**
+     * @param repository
+     * @param query
+     * @param nanos duration of the query
+     */
+    public void queryDone(String repository, String query, long nanos) {
+        histogram("mage_db_query_seconds", "Time of the database queries", Histogram.TIME_BUCKETS, "query", repository + '.' + query)
+                .observe(nanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Writes all metrics in the Prometheus text format
+     *
+     * @param writer
+     * @throws IOException
+     */
+    public void write(Writer writer) throws IOException {
+        for (Family family : families.values()) {
+            writer.write("# HELP " + family.name + ' ' + family.help + '\n');
+            writer.write("# TYPE " + family.name + ' ' + family.type.name().toLowerCase(Locale.ENGLISH) + '\n');
+            for (Map.Entry<String, Object> series : family.series.entrySet()) {
+                String labels = series.getKey();
+                Object metric = series.getValue();
+                if (metric instanceof Histogram) {
+                    Histogram histogram = (Histogram) metric;
+                    double[] bounds = histogram.getBounds();
+                    long[] counts = histogram.getCumulativeCounts();
+                    String prefix = labels.isEmpty() ? "" : labels + ',';
+                    for (int i = 0; i < bounds.length; i++) {
+                        writer.write(family.name + "_bucket{" + prefix + "le=\"" + format(bounds[i]) + "\"} " + counts[i] + '\n');
+                    }
+                    long count = histogram.getCount();
+                    writer.write(family.name + "_bucket{" + prefix + "le=\"+Inf\"} " + count + '\n');
+                    writer.write(family.name + "_sum" + braces(labels) + ' ' + format(histogram.getSum()) + '\n');
+                    writer.write(family.name + "_count" + braces(labels) + ' ' + count + '\n');
+                } else {
+                    writer.write(family.name + braces(labels) + ' ' + format(value(metric)) + '\n');
+                }
+            }
+        }
+    }
+
+    /**
+     * @return current values by series name (histograms as count and sum)
+     */
+    public Map<String, Double> getValues() {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (Family family : families.values()) {
+            for (Map.Entry<String, Object> series : family.series.entrySet()) {
+                String labels = braces(series.getKey());
+                Object metric = series.getValue();
+                if (metric instanceof Histogram) {
+                    values.put(family.name + "_count" + labels, (double) ((Histogram) metric).getCount());
+                    values.put(family.name + "_sum" + labels, ((Histogram) metric).getSum());
+                } else {
+                    values.put(family.name + labels, value(metric));
+                }
+            }
+        }
+        return values;
+    }
+
+    private Object series(String name, String help, Type type, String labels, Supplier<Object> creator) {
+        Family family = families.computeIfAbsent(name, n -> new Family(n, help, type));
+        if (family.type != type) {
+            throw new IllegalArgumentException("Metric " + name + " is a " + family.type);
+        }
+        return family.series.computeIfAbsent(labels, l -> creator.get());
+    }
+
+    private void writeFile(Path path) {
+        try {
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                write(writer);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (Exception ex) {
+            logger.error("Can't write the metrics file " + path, ex);
+        }
+    }
+
+    private static double value(Object metric) {
+        if (metric instanceof Counter) {
+            return ((Counter) metric).get();
+        }
+        try {
+            return ((DoubleSupplier) metric).getAsDouble();
+        } catch (Exception ex) {
+            logger.debug("Can't get metric value", ex);
+            return Double.NaN;
+        }
+    }
+
+    private static String labels(String label, String value) {
+        return label + "=\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + '"';
+    }
+
+    private static String braces(String labels) {
+        return labels.isEmpty() ? "" : '{' + labels + '}';
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private static final class Family {
+
+        private final String name;
+        private final String help;
+        private final Type type;
+        private final ConcurrentMap<String, Object> series = new ConcurrentHashMap<>();
+
+        Family(String name, String help, Type type) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package mage.server.rating;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Glicko rating period: all matches of the period are rated at once against
+ * the ratings the players had at the start of the period.
+ *
+ * The players and matches are kept in primitive arrays indexed by player, the
+ * new ratings of the players can be computed in parallel. A period with one
+ * match gives the same result as {@link GlickoRatingSystem#updateRating}.
+ */
+public class GlickoRatingPeriod {
+
+    private int players;
+    private double[] rating = new double[16];
+    private double[] ratingDeviation = new double[16];
+    private long[] lastGameTimeMs = new long[16];
+
+    private int matches;
+    private int[] player1 = new int[16];
+    private int[] player2 = new int[16];
+    private double[] outcome = new double[16];
+
+    // slot of a player during compute, -1 for the others
+    private int[] slot = new int[0];
+
+    /**
+     * @param playerRating rating at the start of the period
+     * @return index of the player
+     */
+    public int addPlayer(GlickoRating playerRating) {
+        if (players == rating.length) {
+            int length = players * 2;
+            rating = Arrays.copyOf(rating, length);
+            ratingDeviation = Arrays.copyOf(ratingDeviation, length);
+            lastGameTimeMs = Arrays.copyOf(lastGameTimeMs, length);
+        }
+        rating[players] = playerRating.getRating();
+        ratingDeviation[players] = playerRating.getRatingDeviation();
+        lastGameTimeMs[players] = playerRating.getLastGameTimeMs();
+        return players++;
+    }
+
+    /**
+     * @param player index of the player
+     * @param opponent index of the opponent
+     * @param playerOutcome 1 if the player won, 0 if the opponent won, 0.5 for
+     * a draw
+     */
+    public void addMatch(int player, int opponent, double playerOutcome) {
+        if (matches == player1.length) {
+            int length = matches * 2;
+            player1 = Arrays.copyOf(player1, length);
+            player2 = Arrays.copyOf(player2, length);
+            outcome = Arrays.copyOf(outcome, length);
+        }
+        player1[matches] = player;
+        player2[matches] = opponent;
+        outcome[matches] = playerOutcome;
+        matches++;
+    }
+
+    public int getPlayerCount() {
+        return players;
+    }
+
+    public int getMatchCount() {
+        return matches;
+    }
+
+    /**
+     * Rates the matches of the period. Players without matches keep their
+     * rating. The matches are cleared afterwards, so the next period can be
+     * added to the same players.
+     *
+     * @param periodTimeMs time of the period, the rating deviations grow
+     * until this time and it is the new last game time of the players
+     * @param parallel compute the players in parallel
+     */
+    public void compute(long periodTimeMs, boolean parallel) {
+        // players with matches in the period get a slot, the matches of each slot are
+        // playerMatches[first[slot]] to playerMatches[first[slot + 1] - 1]
+        if (slot.length < players) {
+            int length = slot.length;
+            slot = Arrays.copyOf(slot, rating.length);
+            Arrays.fill(slot, length, slot.length, -1);
+        }
+        int[] active = new int[Math.min(players, matches * 2)];
+        int activeCount = 0;
+        int[] first = new int[active.length + 1];
+        // both sides of all matches
+        for (int i = 0; i < matches * 2; i++) {
+            int p = i < matches ? player1[i] : player2[i - matches];
+            if (slot[p] < 0) {
+                slot[p] = activeCount;
+                active[activeCount++] = p;
+            }
+            first[slot[p] + 1]++;
+        }
+        for (int a = 0; a < activeCount; a++) {
+            first[a + 1] += first[a];
+        }
+        int[] playerMatches = new int[matches * 2];
+        int[] next = Arrays.copyOf(first, activeCount);
+        for (int i = 0; i < matches; i++) {
+            playerMatches[next[slot[player1[i]]]++] = i;
+            playerMatches[next[slot[player2[i]]]++] = i;
+        }
+
+        // rating deviations at the start of the period
+        double[] startRD = new double[activeCount];
+        for (int a = 0; a < activeCount; a++) {
+            int p = active[a];
+            startRD[a] = GlickoRatingSystem.getUpdatedRD(ratingDeviation[p], lastGameTimeMs[p], periodTimeMs);
+        }
+
+        double[] newRating = new double[activeCount];
+        double[] newRD = new double[activeCount];
+        IntStream range = IntStream.range(0, activeCount);
+        if (parallel) {
+            range = range.parallel();
+        }
+        range.forEach(a -> {
+            int p = active[a];
+            double sumG = 0;
+            double sumD = 0;
+            for (int k = first[a]; k < first[a + 1]; k++) {
+                int i = playerMatches[k];
+                int opponent;
+                double s;
+                if (player1[i] == p) {
+                    opponent = player2[i];
+                    s = outcome[i];
+                } else {
+                    opponent = player1[i];
+                    s = 1 - outcome[i];
+                }
+                double g = GlickoRatingSystem.gFunc(startRD[slot[opponent]]);
+                double e = 1 / (1 + Math.pow(10, -g * (rating[p] - rating[opponent]) / 400));
+                sumG += g * (s - e);
+                sumD += g * g * e * (1 - e);
+            }
+            double q = GlickoRatingSystem.Q;
+            double rd = startRD[a];
+            double d2 = 1 / (q * q * sumD);
+            double divisor = 1 / rd / rd + 1 / d2;
+            newRating[a] = rating[p] + q / divisor * sumG;
+            newRD[a] = Math.sqrt(1 / divisor);
+        });
+
+        for (int a = 0; a < activeCount; a++) {
+            int p = active[a];
+            rating[p] = newRating[a];
+            ratingDeviation[p] = newRD[a];
+            lastGameTimeMs[p] = periodTimeMs;
+            slot[p] = -1;
+        }
+        matches = 0;
+    }
+
+    /**
+     * @param player index of the player
+     * @return current rating of the player, the rating after the period once
+     * it is computed
+     */
+    public GlickoRating getRating(int player) {
+        return new GlickoRating(rating[player], ratingDeviation[player], lastGameTimeMs[player]);
+    }
+}
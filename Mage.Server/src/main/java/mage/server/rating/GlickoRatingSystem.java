@@ -42,7 +42,10 @@ public class GlickoRatingSystem {
     public static final double BaseRD = 350;
     public static final double MinRD = 30;
 
-    private static final double Q = Math.log(10) / 400;
+    // length of a rating period when the ratings are recalculated from the table records
+    public static final long RatingPeriodMs = 24 * 60 * 60 * 1000L;
+
+    static final double Q = Math.log(10) / 400;
 
     public static GlickoRating getInitialRating() {
         return new GlickoRating(GlickoRatingSystem.BaseRating, GlickoRatingSystem.BaseRD, 0);
@@ -75,12 +78,16 @@ public class GlickoRatingSystem {
     }
 
     private static double getUpdatedRD(GlickoRating rating, long gameTimeMs) {
+        return getUpdatedRD(rating.getRatingDeviation(), rating.getLastGameTimeMs(), gameTimeMs);
+    }
+
+    static double getUpdatedRD(double ratingDeviation, long lastGameTimeMs, long gameTimeMs) {
         double newRatingDeviation;
-        if (rating.getLastGameTimeMs() != 0)
+        if (lastGameTimeMs != 0)
         {
             double newRD = Math.sqrt(
-                    rating.getRatingDeviation() * rating.getRatingDeviation()
-                            + C * C * Math.max(gameTimeMs - rating.getLastGameTimeMs(), 0));
+                    ratingDeviation * ratingDeviation
+                            + C * C * Math.max(gameTimeMs - lastGameTimeMs, 0));
             newRatingDeviation = Math.max(Math.min(BaseRD, newRD), MinRD);
         }
         else
@@ -105,7 +112,7 @@ public class GlickoRatingSystem {
         return new GlickoRating(newRating, newRD);
     }
 
-    private double gFunc(double rd) {
+    static double gFunc(double rd) {
         return 1 / Math.sqrt(1 + 3 * Q * Q * rd * rd / Math.PI / Math.PI);
     }
 
@@ -3,6 +3,7 @@ package mage.server.record;
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.DaoManager;
 import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import com.j256.ormlite.misc.TransactionManager;
 import com.j256.ormlite.stmt.QueryBuilder;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
@@ -11,6 +12,7 @@ import java.io.File;
 import java.sql.SQLException;
 import java.util.List;
 import mage.cards.repository.RepositoryUtil;
+import mage.server.metrics.ServerMetrics;
 import org.apache.log4j.Logger;
 
 public enum TableRecordRepository {
@@ -45,14 +47,44 @@ public enum TableRecordRepository {
     }
 
     public void add(TableRecord tableHistory) {
+        long start = System.nanoTime();
         try {
             dao.create(tableHistory);
         } catch (SQLException ex) {
             Logger.getLogger(TableRecordRepository.class).error("Error adding a table_record to DB - ", ex);
+        } finally {
+            ServerMetrics.instance.queryDone("TableRecordRepository", "add", System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Adds the records in one transaction
+     *
+     * @param tableRecords
+     * @return false if the records could not be added, none of them is added
+     * then
+     */
+    public boolean addAll(List<TableRecord> tableRecords) {
+        long start = System.nanoTime();
+        try {
+            // callBatchTasks commits the inserted records if one fails on SQLite, a transaction rolls back all
+            TransactionManager.callInTransaction(dao.getConnectionSource(), () -> {
+                for (TableRecord tableRecord : tableRecords) {
+                    dao.create(tableRecord);
+                }
+                return null;
+            });
+            return true;
+        } catch (Exception ex) {
+            Logger.getLogger(TableRecordRepository.class).error("Error adding table_records to DB - ", ex);
+            return false;
+        } finally {
+            ServerMetrics.instance.queryDone("TableRecordRepository", "addAll", System.nanoTime() - start);
         }
     }
 
     public List<TableRecord> getAfter(long endTimeMs) {
+        long start = System.nanoTime();
         try {
             QueryBuilder<TableRecord, Object> qb = dao.queryBuilder();
             qb.where().gt("endTimeMs", endTimeMs);
@@ -60,6 +92,8 @@ public enum TableRecordRepository {
             return dao.query(qb.prepare());
         } catch (SQLException ex) {
             Logger.getLogger(TableRecordRepository.class).error("Error getting table_records from DB - ", ex);
+        } finally {
+            ServerMetrics.instance.queryDone("TableRecordRepository", "getAfter", System.nanoTime() - start);
         }
         return null;
     }
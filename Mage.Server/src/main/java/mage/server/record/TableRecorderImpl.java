@@ -1,18 +1,214 @@
 package mage.server.record;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import mage.game.Table;
 import mage.game.Table.TableRecorder;
 import mage.game.result.ResultProtos.TableProto;
 import mage.server.UserManager;
+import org.apache.log4j.Logger;
 
+/**
+ * Records the finished tables.
+ *
+ * The record is created on the thread that finished the table and queued,
+ * the recorder thread writes the queued records in batches with one
+ * transaction and updates the user stats afterwards. If the queue is full the
+ * thread that finished the table waits for space, so the records are written
+ * in the order of their end time (the user stats only read records newer than
+ * the last one they counted). Records that could not be written are retried
+ * before the next batch. The queue is flushed when the JVM shuts down.
+ */
 public enum TableRecorderImpl implements TableRecorder {
 
-   instance;
+    instance;
+
+    private static final Logger logger = Logger.getLogger(TableRecorderImpl.class);
+
+    private static final int QUEUE_CAPACITY = 10000;
+    private static final int BATCH_SIZE = 500;
+    private static final long SHUTDOWN_FLUSH_TIMEOUT_MS = 30000;
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MS = 1000;
+
+    private final BlockingQueue<QueuedRecord> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writer;
+    private final Object flushLock = new Object();
+    // queued records that are not written yet, guarded by flushLock
+    private int pending;
+
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong overflowCount = new AtomicLong();
+
+    TableRecorderImpl() {
+        writer = new Thread(this::writeRecords, "TABLE RECORDER");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(SHUTDOWN_FLUSH_TIMEOUT_MS), "TABLE RECORDER SHUTDOWN"));
+    }
 
     @Override
     public void record(Table table) {
         TableProto proto = table.toProto();
-        TableRecordRepository.instance.add(new TableRecord(proto, proto.getEndTimeMs()));
-        UserManager.instance.updateUserHistory();
+        TableRecord record = new TableRecord(proto, proto.getEndTimeMs());
+        QueuedRecord queued = new QueuedRecord(record);
+        synchronized (flushLock) {
+            // counted before it's queued, so a flush waits for it too
+            pending++;
+        }
+        if (queue.offer(queued)) {
+            return;
+        }
+        overflowCount.incrementAndGet();
+        logger.warn("Table record queue is full, waiting for the recorder");
+        try {
+            queue.put(queued);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            logger.error("Table record not queued, interrupted while waiting for the recorder");
+            failedCount.incrementAndGet();
+            synchronized (flushLock) {
+                pending--;
+                flushLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until all queued records are written
+     *
+     * @param timeoutMs
+     * @return false if the records could not be written in time
+     */
+    public boolean flush(long timeoutMs) {
+        long end = System.currentTimeMillis() + timeoutMs;
+        synchronized (flushLock) {
+            while (pending > 0) {
+                long wait = end - System.currentTimeMillis();
+                if (wait <= 0) {
+                    logger.warn("Table records not written: " + pending);
+                    return false;
+                }
+                try {
+                    flushLock.wait(wait);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * @return seconds the oldest queued record is waiting, 0 if the queue is
+     * empty
+     */
+    public double getLag() {
+        QueuedRecord oldest = queue.peek();
+        return oldest == null ? 0 : (System.nanoTime() - oldest.queuedNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getOverflowCount() {
+        return overflowCount.get();
+    }
+
+    private void writeRecords() {
+        List<QueuedRecord> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                List<TableRecord> records = new ArrayList<>(batch.size());
+                for (QueuedRecord queued : batch) {
+                    records.add(queued.record);
+                }
+                List<TableRecord> failed = tryWrite(records);
+                for (int attempt = 2; !failed.isEmpty() && attempt <= MAX_WRITE_ATTEMPTS; attempt++) {
+                    logger.warn("Table records not written: " + failed.size() + ", retry " + (attempt - 1));
+                    TimeUnit.MILLISECONDS.sleep(RETRY_DELAY_MS * (attempt - 1));
+                    failed = tryWrite(failed);
+                }
+                if (!failed.isEmpty()) {
+                    logger.error("Table records dropped after " + MAX_WRITE_ATTEMPTS + " attempts: " + failed.size());
+                    failedCount.addAndGet(failed.size());
+                }
+                UserManager.instance.updateUserHistory();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception ex) {
+                logger.error("Error writing table records", ex);
+                failedCount.addAndGet(batch.size());
+            } finally {
+                synchronized (flushLock) {
+                    pending -= batch.size();
+                    flushLock.notifyAll();
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes the records in one transaction. If that fails nothing is written
+     * and the records are written one by one, so a bad record doesn't lose the
+     * others.
+     *
+     * @param records
+     * @return number of records written
+     */
+    public int write(List<TableRecord> records) {
+        List<TableRecord> failed = tryWrite(records);
+        failedCount.addAndGet(failed.size());
+        return records.size() - failed.size();
+    }
+
+    /**
+     * @param records
+     * @return the records that could not be written
+     */
+    private List<TableRecord> tryWrite(List<TableRecord> records) {
+        if (TableRecordRepository.instance.addAll(records)) {
+            writtenCount.addAndGet(records.size());
+            return Collections.emptyList();
+        }
+        List<TableRecord> failed = new ArrayList<>();
+        for (TableRecord record : records) {
+            if (TableRecordRepository.instance.addAll(Collections.singletonList(record))) {
+                writtenCount.incrementAndGet();
+            } else {
+                failed.add(record);
+            }
+        }
+        return failed;
+    }
+
+    private static final class QueuedRecord {
+
+        private final TableRecord record;
+        private final long queuedNanos = System.nanoTime();
+
+        QueuedRecord(TableRecord record) {
+            this.record = record;
+        }
     }
 }
@@ -39,6 +39,10 @@ public class UserStats {
         return null;
     }
 
+    public String getUserName() {
+        return this.userName;
+    }
+
     public long getEndTimeMs() {
         return this.endTimeMs;
     }
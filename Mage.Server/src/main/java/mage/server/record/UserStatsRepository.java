@@ -3,22 +3,31 @@ package mage.server.record;
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.DaoManager;
 import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import com.j256.ormlite.misc.TransactionManager;
 import com.j256.ormlite.stmt.QueryBuilder;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.table.TableUtils;
 import mage.cards.repository.RepositoryUtil;
 import mage.game.result.ResultProtos;
+import mage.server.metrics.ServerMetrics;
 import mage.server.rating.GlickoRating;
+import mage.server.rating.GlickoRatingPeriod;
 import mage.server.rating.GlickoRatingSystem;
 import org.apache.log4j.Logger;
 
 import java.io.File;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 public enum UserStatsRepository {
 
@@ -28,9 +37,20 @@ public enum UserStatsRepository {
     private static final String VERSION_ENTITY_NAME = "user_stats";
     // raise this if db structure was changed
     private static final long DB_VERSION = 0;
+    private static final int CACHE_SIZE = 2000;
+    // sqlite allows 999 parameters in a statement
+    private static final int QUERY_BATCH_SIZE = 500;
 
     private Dao<UserStats, Object> dao;
 
+    // write-through cache of the recently used stats, all writes go through this repository
+    private final Map<String, UserStats> cache = new LinkedHashMap<String, UserStats>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, UserStats> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
     UserStatsRepository() {
         File file = new File("db");
         if (!file.exists()) {
@@ -52,46 +72,68 @@ public enum UserStatsRepository {
     }
 
     public void add(UserStats userStats) {
+        long start = System.nanoTime();
         try {
             dao.create(userStats);
+            cache(userStats);
         } catch (SQLException ex) {
             Logger.getLogger(UserStatsRepository.class).error("Error adding a user_stats to DB - ", ex);
+        } finally {
+            ServerMetrics.instance.queryDone("UserStatsRepository", "add", System.nanoTime() - start);
         }
     }
 
     public void update(UserStats userStats) {
+        long start = System.nanoTime();
         try {
             dao.update(userStats);
+            cache(userStats);
         } catch (SQLException ex) {
             Logger.getLogger(UserStatsRepository.class).error("Error updating a user_stats in DB - ", ex);
+        } finally {
+            ServerMetrics.instance.queryDone("UserStatsRepository", "update", System.nanoTime() - start);
         }
     }
 
     public UserStats getUser(String userName) {
+        synchronized (cache) {
+            UserStats userStats = cache.get(userName);
+            if (userStats != null) {
+                return userStats;
+            }
+        }
+        long start = System.nanoTime();
         try {
             QueryBuilder<UserStats, Object> qb = dao.queryBuilder();
             qb.limit(1L).where().eq("userName", userName);
             List<UserStats> users = dao.query(qb.prepare());
             if (!users.isEmpty()) {
+                cache(users.get(0));
                 return users.get(0);
             }
         } catch (SQLException ex) {
             Logger.getLogger(UserStatsRepository.class).error("Error getting a user from DB - ", ex);
+        } finally {
+            ServerMetrics.instance.queryDone("UserStatsRepository", "getUser", System.nanoTime() - start);
         }
         return null;
     }
 
     public List<UserStats> getAllUsers() {
+        long start = System.nanoTime();
         try {
             QueryBuilder<UserStats, Object> qb = dao.queryBuilder();
             return dao.query(qb.prepare());
         } catch (SQLException ex) {
             Logger.getLogger(UserStatsRepository.class).error("Error getting all users from DB - ", ex);
+        } finally {
+            ServerMetrics.instance.queryDone("UserStatsRepository", "getAllUsers", System.nanoTime() - start);
         }
         return null;
     }
 
     public long getLatestEndTimeMs() {
+        long start = System.nanoTime();
         try {
           QueryBuilder<UserStats, Object> qb = dao.queryBuilder();
             qb.orderBy("endTimeMs", false).limit(1L);
@@ -101,18 +143,25 @@ public enum UserStatsRepository {
           }
         } catch (SQLException ex) {
             Logger.getLogger(UserStatsRepository.class).error("Error getting the latest end time from DB - ", ex);
+        } finally {
+            ServerMetrics.instance.queryDone("UserStatsRepository", "getLatestEndTimeMs", System.nanoTime() - start);
         }
         return 0;
     }
 
     // updateUserStats reads tables finished after the last DB update and reflects it to the DB.
     // It returns the list of user names that are upated.
+    // The stats of all players of the tables are loaded at once, updated in memory and written
+    // back in one transaction.
     public List<String> updateUserStats() {
-        Set<String> updatedUsers = new HashSet<>();
         // Lock the DB so that no other updateUserStats runs at the same time.
         synchronized(this) {
             long latestEndTimeMs = this.getLatestEndTimeMs();
             List<TableRecord> records = TableRecordRepository.instance.getAfter(latestEndTimeMs);
+            if (records.isEmpty()) {
+                return new ArrayList<>();
+            }
+            UserStatsBatch batch = new UserStatsBatch(getUsers(getPlayerNames(records)));
             for (TableRecord record : records) {
                 ResultProtos.TableProto table = record.getProto();
                 if (table.getControllerName().equals("System")) {
@@ -123,7 +172,7 @@ public enum UserStatsRepository {
                 if (table.hasMatch()) {
                     ResultProtos.MatchProto match = table.getMatch();
                     for (ResultProtos.MatchPlayerProto player : match.getPlayersList()) {
-                        UserStats userStats = this.getUser(player.getName());
+                        UserStats userStats = batch.get(player.getName());
                         ResultProtos.UserStatsProto proto =
                             userStats != null
                                 ? userStats.getProto()
@@ -141,18 +190,13 @@ public enum UserStatsRepository {
                                 builder.setMatchesQuit(proto.getMatchesQuit() + 1);
                                 break;
                         }
-                        if (userStats == null) {
-                            this.add(new UserStats(builder.build(), table.getEndTimeMs()));
-                        } else {
-                            this.update(new UserStats(builder.build(), table.getEndTimeMs()));
-                        }
-                        updatedUsers.add(player.getName());
+                        batch.put(new UserStats(builder.build(), table.getEndTimeMs()));
                     }
-                    updateRating(match, table.getEndTimeMs());
+                    updateRating(batch, match, table.getEndTimeMs());
                 } else if (table.hasTourney()) {
                     ResultProtos.TourneyProto tourney = table.getTourney();
                     for (ResultProtos.TourneyPlayerProto player : tourney.getPlayersList()) {
-                        UserStats userStats = this.getUser(player.getName());
+                        UserStats userStats = batch.get(player.getName());
                         ResultProtos.UserStatsProto proto = userStats != null ? userStats.getProto()
                                 : ResultProtos.UserStatsProto.newBuilder().setName(player.getName()).build();
                         ResultProtos.UserStatsProto.Builder builder = ResultProtos.UserStatsProto.newBuilder(proto)
@@ -168,75 +212,244 @@ public enum UserStatsRepository {
                                 builder.setTourneysQuitDuringConstruction(proto.getTourneysQuitDuringConstruction() + 1);
                                 break;
                         }
-                        if (userStats == null) {
-                            this.add(new UserStats(builder.build(), table.getEndTimeMs()));
-                        } else {
-                            this.update(new UserStats(builder.build(), table.getEndTimeMs()));
-                        }
-                        updatedUsers.add(player.getName());
+                        batch.put(new UserStats(builder.build(), table.getEndTimeMs()));
                     }
 
                     for (ResultProtos.TourneyRoundProto round : tourney.getRoundsList()) {
                         for (ResultProtos.MatchProto match : round.getMatchesList()) {
-                            updateRating(match, table.getEndTimeMs());
+                            updateRating(batch, match, table.getEndTimeMs());
                         }
                     }
                 }
             }
+            if (!save(batch)) {
+                return new ArrayList<>();
+            }
+            return new ArrayList<>(batch.getUserNames());
         }
-        return new ArrayList<>(updatedUsers);
     }
 
-    private void updateRating(ResultProtos.MatchProto match, long tableEndTimeMs) {
-        long matchEndTimeMs;
-        if (match.hasEndTimeMs()) {
-            matchEndTimeMs = match.getEndTimeMs();
-        } else {
-            matchEndTimeMs = tableEndTimeMs;
+    /**
+     * Recalculates the ratings of all users from all table records. The rated
+     * matches are rated in Glicko rating periods of the given length instead
+     * of one match after the other.
+     *
+     * @param ratingPeriodMs
+     */
+    public void recalculateRatings(long ratingPeriodMs) {
+        synchronized (this) {
+            long start = System.nanoTime();
+            List<RatedMatch> matches = new ArrayList<>();
+            for (TableRecord record : TableRecordRepository.instance.getAfter(0)) {
+                ResultProtos.TableProto table = record.getProto();
+                if (table.getControllerName().equals("System")) {
+                    continue;
+                }
+                if (table.hasMatch()) {
+                    addRatedMatch(matches, table.getMatch(), table.getEndTimeMs());
+                } else if (table.hasTourney()) {
+                    for (ResultProtos.TourneyRoundProto round : table.getTourney().getRoundsList()) {
+                        for (ResultProtos.MatchProto match : round.getMatchesList()) {
+                            addRatedMatch(matches, match, table.getEndTimeMs());
+                        }
+                    }
+                }
+            }
+            matches.sort(Comparator.comparingLong(match -> match.endTimeMs));
+
+            Map<String, Integer> players = new HashMap<>();
+            GlickoRatingPeriod general = new GlickoRatingPeriod();
+            GlickoRatingPeriod limited = new GlickoRatingPeriod();
+            GlickoRatingPeriod constructed = new GlickoRatingPeriod();
+            for (int from = 0; from < matches.size(); ) {
+                long periodEndMs = (matches.get(from).endTimeMs / ratingPeriodMs + 1) * ratingPeriodMs;
+                long periodTimeMs = 0;
+                int to = from;
+                for (; to < matches.size() && matches.get(to).endTimeMs < periodEndMs; to++) {
+                    RatedMatch match = matches.get(to);
+                    int player1 = getPlayerIndex(players, match.player1, general, limited, constructed);
+                    int player2 = getPlayerIndex(players, match.player2, general, limited, constructed);
+                    general.addMatch(player1, player2, match.outcome);
+                    if (match.limited != null) {
+                        (match.limited ? limited : constructed).addMatch(player1, player2, match.outcome);
+                    }
+                    periodTimeMs = match.endTimeMs;
+                }
+                general.compute(periodTimeMs, true);
+                limited.compute(periodTimeMs, true);
+                constructed.compute(periodTimeMs, true);
+                from = to;
+            }
+
+            Map<String, UserStats> stored = new HashMap<>();
+            for (UserStats userStats : getAllUsers()) {
+                stored.put(userStats.getUserName(), userStats);
+            }
+            UserStatsBatch batch = new UserStatsBatch(stored);
+            for (UserStats userStats : stored.values()) {
+                ResultProtos.UserStatsProto.Builder builder = ResultProtos.UserStatsProto.newBuilder(userStats.getProto())
+                        .clearGeneralGlickoRating()
+                        .clearLimitedGlickoRating()
+                        .clearConstructedGlickoRating();
+                batch.put(new UserStats(builder.build(), userStats.getEndTimeMs()));
+            }
+            for (Map.Entry<String, Integer> player : players.entrySet()) {
+                UserStats userStats = getOrCreateUserStats(batch, player.getKey(), 0);
+                ResultProtos.UserStatsProto.Builder builder = ResultProtos.UserStatsProto.newBuilder(userStats.getProto());
+                setRating(general.getRating(player.getValue()), builder.getGeneralGlickoRatingBuilder());
+                if (limited.getRating(player.getValue()).getLastGameTimeMs() != 0) {
+                    setRating(limited.getRating(player.getValue()), builder.getLimitedGlickoRatingBuilder());
+                }
+                if (constructed.getRating(player.getValue()).getLastGameTimeMs() != 0) {
+                    setRating(constructed.getRating(player.getValue()), builder.getConstructedGlickoRatingBuilder());
+                }
+                batch.put(new UserStats(builder.build(), userStats.getEndTimeMs()));
+            }
+            save(batch);
+            Logger.getLogger(UserStatsRepository.class).info("Recalculated the ratings of " + players.size() + " users from "
+                    + matches.size() + " matches in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
         }
+    }
 
-        // process only match with options
-        if (!match.hasMatchOptions()) {
-            return;
+    private static void addRatedMatch(List<RatedMatch> matches, ResultProtos.MatchProto match, long tableEndTimeMs) {
+        if (isRated(match)) {
+            matches.add(new RatedMatch(match, match.hasEndTimeMs() ? match.getEndTimeMs() : tableEndTimeMs));
         }
-        ResultProtos.MatchOptionsProto matchOptions = match.getMatchOptions();
+    }
 
-        // process only rated matches
-        if (!matchOptions.getRated()) {
-            return;
+    private static int getPlayerIndex(Map<String, Integer> players, String playerName, GlickoRatingPeriod... periods) {
+        Integer index = players.get(playerName);
+        if (index == null) {
+            for (GlickoRatingPeriod period : periods) {
+                index = period.addPlayer(GlickoRatingSystem.getInitialRating());
+            }
+            players.put(playerName, index);
         }
+        return index;
+    }
 
-        // rating only for duels
-        if (match.getPlayersCount() != 2) {
-            return;
+    private static void setRating(GlickoRating rating, ResultProtos.GlickoRatingProto.Builder builder) {
+        builder.setRating(rating.getRating())
+                .setRatingDeviation(rating.getRatingDeviation())
+                .setLastGameTimeMs(rating.getLastGameTimeMs());
+    }
+
+    private static Set<String> getPlayerNames(List<TableRecord> records) {
+        Set<String> names = new HashSet<>();
+        for (TableRecord record : records) {
+            ResultProtos.TableProto table = record.getProto();
+            if (table.getControllerName().equals("System")) {
+                continue;
+            }
+            if (table.hasMatch()) {
+                for (ResultProtos.MatchPlayerProto player : table.getMatch().getPlayersList()) {
+                    names.add(player.getName());
+                }
+            } else if (table.hasTourney()) {
+                for (ResultProtos.TourneyPlayerProto player : table.getTourney().getPlayersList()) {
+                    names.add(player.getName());
+                }
+                for (ResultProtos.TourneyRoundProto round : table.getTourney().getRoundsList()) {
+                    for (ResultProtos.MatchProto match : round.getMatchesList()) {
+                        for (ResultProtos.MatchPlayerProto player : match.getPlayersList()) {
+                            names.add(player.getName());
+                        }
+                    }
+                }
+            }
         }
+        return names;
+    }
 
-        ResultProtos.MatchPlayerProto player1 = match.getPlayers(0);
-        ResultProtos.MatchPlayerProto player2 = match.getPlayers(1);
+    /**
+     * @param userNames
+     * @return the stats of the given users that are in the DB, by user name
+     */
+    private Map<String, UserStats> getUsers(Collection<String> userNames) {
+        Map<String, UserStats> users = new HashMap<>();
+        List<String> notCached = new ArrayList<>();
+        synchronized (cache) {
+            for (String userName : userNames) {
+                UserStats userStats = cache.get(userName);
+                if (userStats != null) {
+                    users.put(userName, userStats);
+                } else {
+                    notCached.add(userName);
+                }
+            }
+        }
+        long start = System.nanoTime();
+        try {
+            for (int from = 0; from < notCached.size(); from += QUERY_BATCH_SIZE) {
+                QueryBuilder<UserStats, Object> qb = dao.queryBuilder();
+                qb.where().in("userName", notCached.subList(from, Math.min(notCached.size(), from + QUERY_BATCH_SIZE)));
+                for (UserStats userStats : dao.query(qb.prepare())) {
+                    users.put(userStats.getUserName(), userStats);
+                }
+            }
+        } catch (SQLException ex) {
+            Logger.getLogger(UserStatsRepository.class).error("Error getting users from DB - ", ex);
+        } finally {
+            ServerMetrics.instance.queryDone("UserStatsRepository", "getUsers", System.nanoTime() - start);
+        }
+        return users;
+    }
 
-        // rate only games between human players
-        if (!player1.getHuman() || !player2.getHuman()) {
-            return;
+    private boolean save(UserStatsBatch batch) {
+        long start = System.nanoTime();
+        try {
+            // callBatchTasks commits the stats written so far if one fails on SQLite,
+            // a transaction rolls back all so the next update reads the same records again
+            TransactionManager.callInTransaction(dao.getConnectionSource(), () -> {
+                for (UserStats userStats : batch.getCreated()) {
+                    dao.create(userStats);
+                }
+                for (UserStats userStats : batch.getUpdated()) {
+                    dao.update(userStats);
+                }
+                return null;
+            });
+        } catch (Exception ex) {
+            Logger.getLogger(UserStatsRepository.class).error("Error saving user_stats to DB - ", ex);
+            return false;
+        } finally {
+            ServerMetrics.instance.queryDone("UserStatsRepository", "save", System.nanoTime() - start);
+        }
+        for (UserStats userStats : batch.getCreated()) {
+            cache(userStats);
         }
+        for (UserStats userStats : batch.getUpdated()) {
+            cache(userStats);
+        }
+        return true;
+    }
 
-        double outcome;
-        if ((player1.getQuit() == ResultProtos.MatchQuitStatus.NO_MATCH_QUIT && player1.getWins() > player2.getWins())
-                || player2.getQuit() != ResultProtos.MatchQuitStatus.NO_MATCH_QUIT) {
-            // player1 won
-            outcome = 1;
-        } else if ((player2.getQuit() == ResultProtos.MatchQuitStatus.NO_MATCH_QUIT && player1.getWins() < player2.getWins())
-                || player1.getQuit() != ResultProtos.MatchQuitStatus.NO_MATCH_QUIT) {
-            // player2 won
-            outcome = 0;
+    private void cache(UserStats userStats) {
+        synchronized (cache) {
+            cache.put(userStats.getUserName(), userStats);
+        }
+    }
+
+    private void updateRating(UserStatsBatch batch, ResultProtos.MatchProto match, long tableEndTimeMs) {
+        long matchEndTimeMs;
+        if (match.hasEndTimeMs()) {
+            matchEndTimeMs = match.getEndTimeMs();
         } else {
-            // draw
-            outcome = 0.5;
+            matchEndTimeMs = tableEndTimeMs;
         }
 
+        if (!isRated(match)) {
+            return;
+        }
+        ResultProtos.MatchOptionsProto matchOptions = match.getMatchOptions();
+        ResultProtos.MatchPlayerProto player1 = match.getPlayers(0);
+        ResultProtos.MatchPlayerProto player2 = match.getPlayers(1);
+        double outcome = getOutcome(match);
+
         // get players stats
-        UserStats player1Stats = getOrCreateUserStats(player1.getName(), tableEndTimeMs);
+        UserStats player1Stats = getOrCreateUserStats(batch, player1.getName(), tableEndTimeMs);
         ResultProtos.UserStatsProto player1StatsProto = player1Stats.getProto();
-        UserStats player2Stats = getOrCreateUserStats(player2.getName(), tableEndTimeMs);
+        UserStats player2Stats = getOrCreateUserStats(batch, player2.getName(), tableEndTimeMs);
         ResultProtos.UserStatsProto player2StatsProto = player2Stats.getProto();
 
         ResultProtos.UserStatsProto.Builder player1StatsBuilder =
@@ -310,8 +523,55 @@ public enum UserStatsRepository {
         }
 
 
-        this.update(new UserStats(player1StatsBuilder.build(), player1Stats.getEndTimeMs()));
-        this.update(new UserStats(player2StatsBuilder.build(), player2Stats.getEndTimeMs()));
+        batch.put(new UserStats(player1StatsBuilder.build(), player1Stats.getEndTimeMs()));
+        batch.put(new UserStats(player2StatsBuilder.build(), player2Stats.getEndTimeMs()));
+    }
+
+    private static boolean isRated(ResultProtos.MatchProto match) {
+        // process only match with options
+        if (!match.hasMatchOptions()) {
+            return false;
+        }
+
+        // process only rated matches
+        if (!match.getMatchOptions().getRated()) {
+            return false;
+        }
+
+        // rating only for duels
+        if (match.getPlayersCount() != 2) {
+            return false;
+        }
+
+        // rate only games between human players
+        if (!match.getPlayers(0).getHuman() || !match.getPlayers(1).getHuman()) {
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @param match rated match
+     * @return outcome for the first player
+     */
+    private static double getOutcome(ResultProtos.MatchProto match) {
+        ResultProtos.MatchPlayerProto player1 = match.getPlayers(0);
+        ResultProtos.MatchPlayerProto player2 = match.getPlayers(1);
+        double outcome;
+        if ((player1.getQuit() == ResultProtos.MatchQuitStatus.NO_MATCH_QUIT && player1.getWins() > player2.getWins())
+                || player2.getQuit() != ResultProtos.MatchQuitStatus.NO_MATCH_QUIT) {
+            // player1 won
+            outcome = 1;
+        } else if ((player2.getQuit() == ResultProtos.MatchQuitStatus.NO_MATCH_QUIT && player1.getWins() < player2.getWins())
+                || player1.getQuit() != ResultProtos.MatchQuitStatus.NO_MATCH_QUIT) {
+            // player2 won
+            outcome = 0;
+        } else {
+            // draw
+            outcome = 0.5;
+        }
+        return outcome;
     }
 
     private void updateRating(
@@ -356,12 +616,12 @@ public enum UserStatsRepository {
                 .setLastGameTimeMs(tableEndTimeMs);
     }
 
-    private UserStats getOrCreateUserStats(String playerName, long endTimeMs) {
-        UserStats userStats = this.getUser(playerName);
+    private UserStats getOrCreateUserStats(UserStatsBatch batch, String playerName, long endTimeMs) {
+        UserStats userStats = batch.get(playerName);
         if (userStats == null) {
             ResultProtos.UserStatsProto userStatsProto = ResultProtos.UserStatsProto.newBuilder().setName(playerName).build();
             userStats = new UserStats(userStatsProto, endTimeMs);
-            this.add(userStats);
+            batch.put(userStats);
         }
         return userStats;
     }
@@ -376,4 +636,69 @@ public enum UserStatsRepository {
             Logger.getLogger(UserStatsRepository.class).error("Error closing user_stats repository - ", ex);
         }
     }
+
+    private static final class RatedMatch {
+
+        private final String player1;
+        private final String player2;
+        private final double outcome;
+        // null if the match is neither limited nor constructed
+        private final Boolean limited;
+        private final long endTimeMs;
+
+        RatedMatch(ResultProtos.MatchProto match, long endTimeMs) {
+            this.player1 = match.getPlayers(0).getName();
+            this.player2 = match.getPlayers(1).getName();
+            this.outcome = getOutcome(match);
+            this.limited = match.getMatchOptions().hasLimited() ? match.getMatchOptions().getLimited() : null;
+            this.endTimeMs = endTimeMs;
+        }
+    }
+
+    /**
+     * Changes of an update run, the stats of a user are created or updated in
+     * the DB once with their final state.
+     */
+    private static final class UserStatsBatch {
+
+        private final Map<String, UserStats> stored;
+        private final Map<String, UserStats> changed = new LinkedHashMap<>();
+
+        UserStatsBatch(Map<String, UserStats> stored) {
+            this.stored = stored;
+        }
+
+        UserStats get(String userName) {
+            UserStats userStats = changed.get(userName);
+            return userStats != null ? userStats : stored.get(userName);
+        }
+
+        void put(UserStats userStats) {
+            changed.put(userStats.getUserName(), userStats);
+        }
+
+        Set<String> getUserNames() {
+            return changed.keySet();
+        }
+
+        List<UserStats> getCreated() {
+            List<UserStats> created = new ArrayList<>();
+            for (UserStats userStats : changed.values()) {
+                if (!stored.containsKey(userStats.getUserName())) {
+                    created.add(userStats);
+                }
+            }
+            return created;
+        }
+
+        List<UserStats> getUpdated() {
+            List<UserStats> updated = new ArrayList<>();
+            for (UserStats userStats : changed.values()) {
+                if (stored.containsKey(userStats.getUserName())) {
+                    updated.add(userStats);
+                }
+            }
+            return updated;
+        }
+    }
 }
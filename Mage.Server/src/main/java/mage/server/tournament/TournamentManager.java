@@ -46,6 +46,10 @@ public enum TournamentManager {
         return controllers.get(tournamentId);
     }
 
+    public int getNumberActiveTournaments() {
+        return controllers.size();
+    }
+
     public void createTournamentSession(Tournament tournament, ConcurrentHashMap<UUID, UUID> userPlayerMap, UUID tableId) {
         TournamentController tournamentController = new TournamentController(tournament, userPlayerMap, tableId);
         controllers.put(tournament.getId(), tournamentController);
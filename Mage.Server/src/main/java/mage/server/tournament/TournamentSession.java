@@ -29,8 +29,6 @@ package mage.server.tournament;
 
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import mage.cards.decks.Deck;
 import mage.game.tournament.Tournament;
@@ -39,6 +37,7 @@ import mage.interfaces.callback.ClientCallbackMethod;
 import mage.server.User;
 import mage.server.UserManager;
 import mage.server.util.ThreadExecutor;
+import mage.utils.timer.HashedWheelTimer;
 import mage.view.TournamentView;
 import org.apache.log4j.Logger;
 
@@ -55,8 +54,8 @@ public class TournamentSession {
     protected final Tournament tournament;
     protected boolean killed = false;
 
-    private ScheduledFuture<?> futureTimeout;
-    protected static final ScheduledExecutorService timeoutExecutor = ThreadExecutor.instance.getTimeoutExecutor();
+    private HashedWheelTimer.Timeout futureTimeout;
+    protected static final HashedWheelTimer timer = ThreadExecutor.instance.getTimer();
 
     public TournamentSession(Tournament tournament, UUID userId, UUID tableId, UUID playerId) {
         this.userId = userId;
@@ -125,7 +124,7 @@ public class TournamentSession {
         }
         cancelTimeout();
         if (seconds > 0) {
-            futureTimeout = timeoutExecutor.schedule(
+            futureTimeout = timer.schedule(
                     () -> {
                         try {
                             TournamentManager.instance.timeout(tournament.getId(), userId);
@@ -140,7 +139,7 @@ public class TournamentSession {
 
     private synchronized void cancelTimeout() {
         if (futureTimeout != null) {
-            futureTimeout.cancel(false);
+            futureTimeout.cancel();
             logger.debug("Timeout is Done: " + futureTimeout.isDone() + "  userId: " + userId);
         }
     }
@@ -165,7 +164,7 @@ public class TournamentSession {
 
     private void cleanUp() {
         if (futureTimeout != null && !futureTimeout.isDone()) {
-            futureTimeout.cancel(true);
+            futureTimeout.cancel();
         }
     }
 
@@ -28,10 +28,13 @@
 package mage.server.util;
 
 import java.io.File;
+import java.math.BigInteger;
 import java.util.List;
+import java.util.Locale;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
+import mage.server.CallbackQueue;
 import mage.server.util.config.Config;
 import mage.server.util.config.GamePlugin;
 import mage.server.util.config.Plugin;
@@ -96,6 +99,18 @@ public enum ConfigSettings {
         return config.getServer().getMaxGameThreads().intValue();
     }
 
+    public ThreadExecutor.GameExecutionMode getGameExecutionMode() {
+        String mode = config.getServer().getGameExecution();
+        if (mode != null && !mode.isEmpty()) {
+            try {
+                return ThreadExecutor.GameExecutionMode.valueOf(mode.trim().toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException ex) {
+                logger.error("Unknown gameExecution: " + mode);
+            }
+        }
+        return ThreadExecutor.GameExecutionMode.POOLED;
+    }
+
     public int getMaxSecondsIdle() {
         return config.getServer().getMaxSecondsIdle().intValue();
     }
@@ -144,6 +159,32 @@ public enum ConfigSettings {
         return config.getServer().getMailgunDomain();
     }
 
+    public int getCallbackQueueSize() {
+        BigInteger size = config.getServer().getCallbackQueueSize();
+        return size == null ? 1000 : size.intValue();
+    }
+
+    public CallbackQueue.OverflowPolicy getCallbackQueueOverflow() {
+        String policy = config.getServer().getCallbackQueueOverflow();
+        if (policy != null && !policy.isEmpty()) {
+            try {
+                return CallbackQueue.OverflowPolicy.valueOf(policy.trim().toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException ex) {
+                logger.error("Unknown callbackQueueOverflow: " + policy);
+            }
+        }
+        return CallbackQueue.OverflowPolicy.DROP_NEWEST;
+    }
+
+    public String getMetricsFile() {
+        return config.getServer().getMetricsFile();
+    }
+
+    public int getMetricsInterval() {
+        BigInteger interval = config.getServer().getMetricsInterval();
+        return interval == null ? 15 : interval.intValue();
+    }
+
     public String getMailSmtpHost() {
         return config.getServer().getMailSmtpHost();
     }
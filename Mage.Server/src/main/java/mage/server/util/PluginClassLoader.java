@@ -40,6 +40,11 @@ import java.net.URLClassLoader;
  */
 public class PluginClassLoader extends URLClassLoader {
 
+    static {
+        // the plugins are loaded in parallel on server start
+        ClassLoader.registerAsParallelCapable();
+    }
+
     public PluginClassLoader(){
         super(new URL[0], PluginClassLoader.class.getClassLoader());
     }
@@ -51,26 +56,28 @@ public class PluginClassLoader extends URLClassLoader {
 
     @Override
     public Class<?> loadClass(String name) throws ClassNotFoundException {
-        // First check whether it's already been loaded, if so use it
-        Class loadedClass = findLoadedClass(name);
+        synchronized (getClassLoadingLock(name)) {
+            // First check whether it's already been loaded, if so use it
+            Class loadedClass = findLoadedClass(name);
 
-        // Not loaded, try to load it
-        if (loadedClass == null) {
-            try {
-                // Ignore parent delegation and just try to load locally
-                loadedClass = findClass(name);
-            } catch (ClassNotFoundException e) {
-                // Swallow exception - does not exist locally
-            }
-
-            // If not found locally, use normal parent delegation in URLClassloader
+            // Not loaded, try to load it
             if (loadedClass == null) {
-                // throws ClassNotFoundException if not found in delegation hierarchy at all
-                loadedClass = super.loadClass(name);
+                try {
+                    // Ignore parent delegation and just try to load locally
+                    loadedClass = findClass(name);
+                } catch (ClassNotFoundException e) {
+                    // Swallow exception - does not exist locally
+                }
+
+                // If not found locally, use normal parent delegation in URLClassloader
+                if (loadedClass == null) {
+                    // throws ClassNotFoundException if not found in delegation hierarchy at all
+                    loadedClass = super.loadClass(name);
+                }
             }
+            // will never return null (ClassNotFoundException will be thrown)
+            return loadedClass;
         }
-        // will never return null (ClassNotFoundException will be thrown)
-        return loadedClass;
     }
 
 
@@ -29,10 +29,12 @@ package mage.server.util;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import mage.utils.timer.HashedWheelTimer;
+import org.apache.log4j.Logger;
 
 /**
  *
@@ -40,11 +42,41 @@ import java.util.concurrent.TimeUnit;
  */
 public enum ThreadExecutor {
 instance;
+
+    /**
+     * How the games are executed
+     */
+    public enum GameExecutionMode {
+        /**
+         * each game runs on a thread of a pool with maxGameThreads threads,
+         * further games wait for a free thread
+         */
+        POOLED,
+        /**
+         * each game gets its own thread, but only maxGameThreads games can work
+         * at the same time, games waiting for an answer of a human player
+         * don't count
+         */
+        ELASTIC,
+        /**
+         * like ELASTIC but the games run on virtual threads (needs Java 21 or
+         * newer, otherwise ELASTIC is used)
+         */
+        VIRTUAL
+    }
+
+    private static final Logger logger = Logger.getLogger(ThreadExecutor.class);
+
     private static final ExecutorService callExecutor = Executors.newCachedThreadPool();
     private static final ExecutorService userExecutor = Executors.newCachedThreadPool();
-    private static final ExecutorService gameExecutor = Executors.newFixedThreadPool(ConfigSettings.instance.getMaxGameThreads());
-    private static final ScheduledExecutorService timeoutExecutor = Executors.newScheduledThreadPool(4);
-    private static final ScheduledExecutorService timeoutIdleExecutor = Executors.newScheduledThreadPool(4);
+    private static final ExecutorService callbackExecutor = Executors.newCachedThreadPool();
+    private static final GameExecutionMode gameExecutionMode = ConfigSettings.instance.getGameExecutionMode();
+    // limits the working game threads, null if the pool size limits the games
+    private static final Semaphore gamePermits = gameExecutionMode == GameExecutionMode.POOLED ? null : new Semaphore(ConfigSettings.instance.getMaxGameThreads(), true);
+    private static final ExecutorService gameExecutor = createGameExecutor(gameExecutionMode);
+    // runs the expired tasks of the timer
+    private static final ExecutorService timerExecutor = Executors.newFixedThreadPool(4);
+    private static final HashedWheelTimer timer = new HashedWheelTimer("TIMER", 100, TimeUnit.MILLISECONDS, 512, timerExecutor);
 
     /**
      * noxx: what the settings below do is setting the ability to keep OS
@@ -63,18 +95,37 @@ instance;
         ((ThreadPoolExecutor) userExecutor).setKeepAliveTime(60, TimeUnit.SECONDS);
         ((ThreadPoolExecutor) userExecutor).allowCoreThreadTimeOut(true);
         ((ThreadPoolExecutor) userExecutor).setThreadFactory(new XMageThreadFactory("USER"));
-        ((ThreadPoolExecutor) gameExecutor).setKeepAliveTime(60, TimeUnit.SECONDS);
-        ((ThreadPoolExecutor) gameExecutor).allowCoreThreadTimeOut(true);
-        ((ThreadPoolExecutor) gameExecutor).setThreadFactory(new XMageThreadFactory("GAME"));
-        ((ThreadPoolExecutor) timeoutExecutor).setKeepAliveTime(60, TimeUnit.SECONDS);
-        ((ThreadPoolExecutor) timeoutExecutor).allowCoreThreadTimeOut(true);
-        ((ThreadPoolExecutor) timeoutExecutor).setThreadFactory(new XMageThreadFactory("TIMEOUT"));
-        ((ThreadPoolExecutor) timeoutIdleExecutor).setKeepAliveTime(60, TimeUnit.SECONDS);
-        ((ThreadPoolExecutor) timeoutIdleExecutor).allowCoreThreadTimeOut(true);
-        ((ThreadPoolExecutor) timeoutIdleExecutor).setThreadFactory(new XMageThreadFactory("TIMEOUT_IDLE"));
+        ((ThreadPoolExecutor) callbackExecutor).setKeepAliveTime(60, TimeUnit.SECONDS);
+        ((ThreadPoolExecutor) callbackExecutor).allowCoreThreadTimeOut(true);
+        ((ThreadPoolExecutor) callbackExecutor).setThreadFactory(new XMageThreadFactory("CALLBACK"));
+        if (gameExecutor instanceof ThreadPoolExecutor) {
+            ((ThreadPoolExecutor) gameExecutor).setKeepAliveTime(60, TimeUnit.SECONDS);
+            ((ThreadPoolExecutor) gameExecutor).allowCoreThreadTimeOut(true);
+            ((ThreadPoolExecutor) gameExecutor).setThreadFactory(new XMageThreadFactory("GAME"));
+        }
+        ((ThreadPoolExecutor) timerExecutor).setKeepAliveTime(60, TimeUnit.SECONDS);
+        ((ThreadPoolExecutor) timerExecutor).allowCoreThreadTimeOut(true);
+        ((ThreadPoolExecutor) timerExecutor).setThreadFactory(new XMageThreadFactory("TIMEOUT"));
     }
 
 
+    private static ExecutorService createGameExecutor(GameExecutionMode mode) {
+        switch (mode) {
+            case VIRTUAL:
+                try {
+                    // the server is built for Java 8, so the virtual thread executor can only be looked up at runtime
+                    return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                } catch (ReflectiveOperationException ex) {
+                    logger.warn("Virtual threads are not supported by this Java version, using game execution mode ELASTIC");
+                    return Executors.newCachedThreadPool();
+                }
+            case ELASTIC:
+                return Executors.newCachedThreadPool();
+            default:
+                return Executors.newFixedThreadPool(ConfigSettings.instance.getMaxGameThreads());
+        }
+    }
+
     public int getActiveThreads(ExecutorService executerService) {
         if (executerService instanceof ThreadPoolExecutor) {
             return ((ThreadPoolExecutor) executerService).getActiveCount();
@@ -86,16 +137,58 @@ instance;
         return callExecutor;
     }
 
+    /**
+     * @return executor sending the queued callbacks of the sessions
+     */
+    public ExecutorService getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
     public ExecutorService getGameExecutor() {
         return gameExecutor;
     }
 
-    public ScheduledExecutorService getTimeoutExecutor() {
-        return timeoutExecutor;
+    public GameExecutionMode getGameExecutionMode() {
+        return gameExecutionMode;
     }
 
-    public ScheduledExecutorService getTimeoutIdleExecutor() {
-        return timeoutIdleExecutor;
+    /**
+     * @return permits a game thread needs to work (see GameThreadLimiter), null
+     * if the games are limited by the size of the game executor
+     */
+    public Semaphore getGamePermits() {
+        return gamePermits;
+    }
+
+    /**
+     * @return number of game threads working at the moment
+     */
+    public int getActiveGameThreads() {
+        if (gamePermits != null) {
+            return ConfigSettings.instance.getMaxGameThreads() - gamePermits.availablePermits();
+        }
+        return getActiveThreads(gameExecutor);
+    }
+
+    /**
+     * @return number of games waiting for a game thread
+     */
+    public int getWaitingGames() {
+        if (gamePermits != null) {
+            return gamePermits.getQueueLength();
+        }
+        if (gameExecutor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) gameExecutor).getQueue().size();
+        }
+        return 0;
+    }
+
+    /**
+     * @return timer shared by all timeouts and countdowns of the server
+     * (priority timers, idle timeouts, sideboarding, draft picks, ...)
+     */
+    public HashedWheelTimer getTimer() {
+        return timer;
     }
 
 }
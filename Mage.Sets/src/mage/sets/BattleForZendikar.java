@@ -365,7 +365,7 @@ public class BattleForZendikar extends ExpansionSet {
     }
 
     @Override
-    public List<CardInfo> getSpecialLand() {
+    public synchronized List<CardInfo> getSpecialLand() {
         if (savedSpecialLand.isEmpty()) {
             CardCriteria criteria = new CardCriteria();
             criteria.setCodes("EXP");
@@ -28,6 +28,7 @@
 package mage.sets;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import mage.cards.ExpansionSet;
 import mage.cards.repository.CardCriteria;
@@ -50,6 +51,8 @@ public class DragonsMaze extends ExpansionSet {
     }
 
     List<CardInfo> savedSpecialRares = new ArrayList<>();
+    List<CardInfo> savedSpecialCommons = new ArrayList<>();
+    List<CardInfo> savedSpecialMythics = new ArrayList<>();
 
     private DragonsMaze() {
         super("Dragon's Maze", "DGM", ExpansionSet.buildDate(2013, 5, 03), SetType.EXPANSION);
@@ -221,7 +224,7 @@ public class DragonsMaze extends ExpansionSet {
     }
 
     @Override
-    public List<CardInfo> getCardsByRarity(Rarity rarity) {
+    public synchronized List<CardInfo> getCardsByRarity(Rarity rarity) {
         if (rarity == Rarity.COMMON) {
             List<CardInfo> savedCardsInfos = savedCards.get(rarity);
             if (savedCardsInfos == null) {
@@ -232,7 +235,7 @@ public class DragonsMaze extends ExpansionSet {
                     criteria.maxCardNumber(maxCardNumberInBooster);
                 }
                 savedCardsInfos = CardRepository.instance.findCards(criteria);
-                savedCards.put(rarity, savedCardsInfos);
+                savedCards.put(rarity, Collections.unmodifiableList(savedCardsInfos));
             }
             // Return a copy of the saved cards information, as not to modify the original.
             return new ArrayList<>(savedCardsInfos);
@@ -242,16 +245,19 @@ public class DragonsMaze extends ExpansionSet {
     }
 
     @Override
-    public List<CardInfo> getSpecialCommon() {
-        CardCriteria criteria = new CardCriteria();
-        criteria.rarities(Rarity.COMMON).setCodes(this.code).types(CardType.LAND);
-        return CardRepository.instance.findCards(criteria);
+    public synchronized List<CardInfo> getSpecialCommon() {
+        if (savedSpecialCommons.isEmpty()) {
+            CardCriteria criteria = new CardCriteria();
+            criteria.rarities(Rarity.COMMON).setCodes(this.code).types(CardType.LAND);
+            savedSpecialCommons.addAll(CardRepository.instance.findCards(criteria));
+        }
+        return new ArrayList<>(savedSpecialCommons);
     }
 
     @Override
-    public List<CardInfo> getSpecialRare() {
+    public synchronized List<CardInfo> getSpecialRare() {
         List<CardInfo> specialRares = new ArrayList<>();
-        if (savedSpecialRares == null) {
+        if (savedSpecialRares.isEmpty()) {
             CardCriteria criteria = new CardCriteria();
             criteria.setCodes("GTC").name("Breeding Pool");
             savedSpecialRares.addAll(CardRepository.instance.findCards(criteria));
@@ -289,10 +295,13 @@ public class DragonsMaze extends ExpansionSet {
     }
 
     @Override
-    public List<CardInfo> getSpecialMythic() {
-        CardCriteria criteria = new CardCriteria();
-        criteria.rarities(Rarity.MYTHIC).setCodes(this.code).types(CardType.LAND);
-        return CardRepository.instance.findCards(criteria);
+    public synchronized List<CardInfo> getSpecialMythic() {
+        if (savedSpecialMythics.isEmpty()) {
+            CardCriteria criteria = new CardCriteria();
+            criteria.rarities(Rarity.MYTHIC).setCodes(this.code).types(CardType.LAND);
+            savedSpecialMythics.addAll(CardRepository.instance.findCards(criteria));
+        }
+        return new ArrayList<>(savedSpecialMythics);
     }
 
 }
@@ -28,6 +28,7 @@
 package mage.sets;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import mage.cards.ExpansionSet;
@@ -254,7 +255,7 @@ public class FateReforged extends ExpansionSet {
     }
 
     @Override
-    public List<CardInfo> getCardsByRarity(Rarity rarity) {
+    public synchronized List<CardInfo> getCardsByRarity(Rarity rarity) {
         // Common cards retrievement of Fate Reforged boosters - prevent the retrievement of the common lands (e.g. Blossoming Sands)
         if (rarity == Rarity.COMMON) {
             List<CardInfo> savedCardsInfos = savedCards.get(rarity);
@@ -266,7 +267,7 @@ public class FateReforged extends ExpansionSet {
                     criteria.maxCardNumber(maxCardNumberInBooster);
                 }
                 savedCardsInfos = CardRepository.instance.findCards(criteria);
-                savedCards.put(rarity, savedCardsInfos);
+                savedCards.put(rarity, Collections.unmodifiableList(savedCardsInfos));
             }
             // Return a copy of the saved cards information, as not to let modify the original.
             return new ArrayList<>(savedCardsInfos);
@@ -276,7 +277,7 @@ public class FateReforged extends ExpansionSet {
     }
 
     @Override
-    public List<CardInfo> getSpecialCommon() {
+    public synchronized List<CardInfo> getSpecialCommon() {
         List<CardInfo> specialCommons = new ArrayList<>();
         if (savedSpecialCommon.isEmpty()) {
             // the 10 common lands from Fate Reforged can show up in the basic lands slot
@@ -292,7 +293,7 @@ public class FateReforged extends ExpansionSet {
     }
 
     @Override
-    public List<CardInfo> getSpecialRare() {
+    public synchronized List<CardInfo> getSpecialRare() {
         List<CardInfo> specialRares = new ArrayList<>();
         if (savedSpecialRares.isEmpty()) {
             CardCriteria criteria = new CardCriteria();
@@ -276,7 +276,7 @@ public class HourOfDevastation extends ExpansionSet {
     }
 
     @Override
-    public List<CardInfo> getSpecialLand() {
+    public synchronized List<CardInfo> getSpecialLand() {
         if (savedSpecialLand.isEmpty()) {
             CardCriteria criteria = new CardCriteria();
             criteria.setCodes("MPS-AKH");
@@ -327,7 +327,7 @@ public class MastersEditionIV extends ExpansionSet {
     }
 
     @Override
-    public List<CardInfo> getSpecialLand() {
+    public synchronized List<CardInfo> getSpecialLand() {
         // ME4 replace all basic lands with special (1 per booster)
         // https://mtg.gamepedia.com/Masters_Edition_IV
 
@@ -231,7 +231,7 @@ public class OathOfTheGatewatch extends ExpansionSet {
     }
 
     @Override
-    public List<CardInfo> getSpecialLand() {
+    public synchronized List<CardInfo> getSpecialLand() {
         if (savedSpecialLand.isEmpty()) {
             CardCriteria criteria = new CardCriteria();
             criteria.setCodes("EXP");
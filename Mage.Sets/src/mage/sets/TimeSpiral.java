@@ -1,9 +1,11 @@
 package mage.sets;
 
+import java.util.ArrayList;
 import java.util.List;
 import mage.cards.Card;
 import mage.cards.ExpansionSet;
 import mage.cards.repository.CardCriteria;
+import mage.cards.repository.CardInfo;
 import mage.cards.repository.CardRepository;
 import mage.constants.Rarity;
 import mage.constants.SetType;
@@ -16,6 +18,8 @@ public class TimeSpiral extends ExpansionSet {
         return instance;
     }
 
+    protected final List<CardInfo> savedTimeshifted = new ArrayList<>();
+
     private TimeSpiral() {
         super("Time Spiral", "TSP", ExpansionSet.buildDate(2006, 9, 9), SetType.EXPANSION);
         this.blockName = "Time Spiral";
@@ -322,9 +326,22 @@ public class TimeSpiral extends ExpansionSet {
     @Override
     public List<Card> createBooster() {
         List<Card> booster = super.createBooster();
-        CardCriteria criteria = new CardCriteria();
-        criteria.rarities(Rarity.SPECIAL).setCodes("TSB");
-        addToBooster(booster, CardRepository.instance.findCards(criteria));
+        addToBooster(booster, getTimeshifted());
         return booster;
     }
+
+    @Override
+    public void prepareBoosterPools() {
+        super.prepareBoosterPools();
+        getTimeshifted();
+    }
+
+    public synchronized List<CardInfo> getTimeshifted() {
+        if (savedTimeshifted.isEmpty()) {
+            CardCriteria criteria = new CardCriteria();
+            criteria.rarities(Rarity.SPECIAL).setCodes("TSB");
+            savedTimeshifted.addAll(CardRepository.instance.findCards(criteria));
+        }
+        return new ArrayList<>(savedTimeshifted);
+    }
 }
@@ -27,6 +27,8 @@
  */
 package mage.sets;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import mage.cards.ExpansionSet;
 import mage.cards.h.HighTide;
@@ -49,6 +51,8 @@ public class VintageMasters extends ExpansionSet {
         return instance;
     }
 
+    protected final EnumMap<Rarity, List<CardInfo>> savedSpecialCards = new EnumMap<>(Rarity.class);
+
     private VintageMasters() {
         super("Vintage Masters", "VMA", ExpansionSet.buildDate(2014, 6, 16), SetType.MAGIC_ONLINE);
         this.hasBasicLands = false;
@@ -383,37 +387,38 @@ public class VintageMasters extends ExpansionSet {
 
     @Override
     public List<CardInfo> getSpecialCommon() {
-        CardCriteria criteria = new CardCriteria();
-        criteria.rarities(Rarity.COMMON).setCodes(this.code);
-        return CardRepository.instance.findCards(criteria);
+        return getSpecialCardsByRarity(Rarity.COMMON);
     }
 
     @Override
     public List<CardInfo> getSpecialUncommon() {
-        CardCriteria criteria = new CardCriteria();
-        criteria.rarities(Rarity.UNCOMMON).setCodes(this.code);
-        return CardRepository.instance.findCards(criteria);
+        return getSpecialCardsByRarity(Rarity.UNCOMMON);
     }
 
     @Override
     public List<CardInfo> getSpecialRare() {
-        CardCriteria criteria = new CardCriteria();
-        criteria.rarities(Rarity.RARE).setCodes(this.code);
-        return CardRepository.instance.findCards(criteria);
+        return getSpecialCardsByRarity(Rarity.RARE);
     }
 
     @Override
     public List<CardInfo> getSpecialMythic() {
-        CardCriteria criteria = new CardCriteria();
-        criteria.rarities(Rarity.MYTHIC).setCodes(this.code);
-        return CardRepository.instance.findCards(criteria);
+        return getSpecialCardsByRarity(Rarity.MYTHIC);
     }
 
     @Override
     public List<CardInfo> getSpecialBonus() {
-        CardCriteria criteria = new CardCriteria();
-        criteria.rarities(Rarity.BONUS).setCodes(this.code);
-        return CardRepository.instance.findCards(criteria);
+        return getSpecialCardsByRarity(Rarity.BONUS);
+    }
+
+    private synchronized List<CardInfo> getSpecialCardsByRarity(Rarity rarity) {
+        List<CardInfo> savedCardsInfos = savedSpecialCards.get(rarity);
+        if (savedCardsInfos == null) {
+            CardCriteria criteria = new CardCriteria();
+            criteria.rarities(rarity).setCodes(this.code);
+            savedCardsInfos = CardRepository.instance.findCards(criteria);
+            savedSpecialCards.put(rarity, savedCardsInfos);
+        }
+        return new ArrayList<>(savedCardsInfos);
     }
 
 }
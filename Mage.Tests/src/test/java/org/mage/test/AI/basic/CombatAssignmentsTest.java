@@ -0,0 +1,89 @@
+package org.mage.test.AI.basic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import mage.ObjectColor;
+import mage.abilities.keyword.ProtectionAbility;
+import mage.constants.PhaseStep;
+import mage.constants.Zone;
+import mage.filter.common.FilterCreaturePermanent;
+import mage.game.permanent.Permanent;
+import mage.player.ai.CombatAssignments;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mage.test.serverside.base.CardTestPlayerBase;
+
+/**
+ * Identical creatures must not be enumerated in every permutation
+ */
+public class CombatAssignmentsTest extends CardTestPlayerBase {
+
+    @Test
+    public void testIdenticalAttackers() {
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion", 3);
+        addCard(Zone.BATTLEFIELD, playerA, "Pillarfield Ox", 1);
+
+        setStopAt(1, PhaseStep.BEGIN_COMBAT);
+        execute();
+
+        List<Permanent> creatures = currentGame.getBattlefield().getAllActivePermanents(new FilterCreaturePermanent(), playerA.getId(), currentGame);
+        List<List<UUID>> attacks = CombatAssignments.getAttacks(creatures, currentGame);
+        // 0 to 3 lions with or without the ox instead of 2^4
+        Assert.assertEquals(8, attacks.size());
+        Assert.assertEquals(4, attacks.get(0).size());
+        Assert.assertTrue(attacks.get(attacks.size() - 1).isEmpty());
+    }
+
+    @Test
+    public void testIdenticalBlockers() {
+        addCard(Zone.BATTLEFIELD, playerA, "Pillarfield Ox", 1);
+        addCard(Zone.BATTLEFIELD, playerB, "Silvercoat Lion", 2);
+
+        setStopAt(1, PhaseStep.BEGIN_COMBAT);
+        execute();
+
+        List<UUID> attackerIds = new ArrayList<>();
+        attackerIds.add(getPermanent("Pillarfield Ox", playerA).getId());
+        List<Permanent> blockers = currentGame.getBattlefield().getAllActivePermanents(new FilterCreaturePermanent(), playerB.getId(), currentGame);
+        List<List<List<UUID>>> blocks = CombatAssignments.getBlocks(attackerIds, blockers, currentGame);
+        // no block, one lion blocks, both lions block
+        Assert.assertEquals(3, blocks.size());
+        Assert.assertTrue(blocks.get(0).get(0).isEmpty());
+    }
+
+    @Test
+    public void testIdenticalBlockersThatCanBlockDifferentAttackers() {
+        addCard(Zone.BATTLEFIELD, playerA, "Pillarfield Ox", 1);
+        addCard(Zone.BATTLEFIELD, playerB, "Silvercoat Lion", 2);
+
+        setStopAt(1, PhaseStep.BEGIN_COMBAT);
+        execute();
+
+        List<UUID> attackerIds = new ArrayList<>();
+        attackerIds.add(getPermanent("Pillarfield Ox", playerA).getId());
+        List<Permanent> blockers = currentGame.getBattlefield().getAllActivePermanents(new FilterCreaturePermanent(), playerB.getId(), currentGame);
+        // a tapped lion has the same profile but can't block, check both orders of the lions
+        for (Permanent tapped : blockers) {
+            tapped.setTapped(true);
+            List<List<List<UUID>>> blocks = CombatAssignments.getBlocks(attackerIds, blockers, currentGame);
+            // no block, the untapped lion blocks
+            Assert.assertEquals(2, blocks.size());
+            tapped.setTapped(false);
+        }
+    }
+
+    @Test
+    public void testProfileDependsOnAbilityText() {
+        addCard(Zone.BATTLEFIELD, playerB, "Silvercoat Lion", 2);
+
+        setStopAt(1, PhaseStep.BEGIN_COMBAT);
+        execute();
+
+        List<Permanent> lions = currentGame.getBattlefield().getAllActivePermanents(new FilterCreaturePermanent(), playerB.getId(), currentGame);
+        Assert.assertEquals(CombatAssignments.getCombatProfile(lions.get(0), currentGame), CombatAssignments.getCombatProfile(lions.get(1), currentGame));
+        lions.get(0).addAbility(ProtectionAbility.from(ObjectColor.RED), currentGame);
+        lions.get(1).addAbility(ProtectionAbility.from(ObjectColor.BLUE), currentGame);
+        Assert.assertNotEquals(CombatAssignments.getCombatProfile(lions.get(0), currentGame), CombatAssignments.getCombatProfile(lions.get(1), currentGame));
+    }
+}
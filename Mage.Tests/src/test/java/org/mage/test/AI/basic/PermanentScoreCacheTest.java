@@ -0,0 +1,81 @@
+package org.mage.test.AI.basic;
+
+import mage.constants.PhaseStep;
+import mage.constants.Zone;
+import mage.filter.common.FilterCreaturePermanent;
+import mage.game.Game;
+import mage.game.permanent.Permanent;
+import mage.player.ai.GameStateEvaluator2;
+import mage.player.ai.PermanentScoreCache;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mage.test.serverside.base.CardTestPlayerBase;
+
+/**
+ * Permanent scores are reused by the nodes of a simulation tree as long as the
+ * permanent didn't change
+ */
+public class PermanentScoreCacheTest extends CardTestPlayerBase {
+
+    @Test
+    public void testUnchangedPermanentsAreNotScoredAgain() {
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion", 2);
+        addCard(Zone.BATTLEFIELD, playerA, "Plains", 2);
+        addCard(Zone.BATTLEFIELD, playerB, "Pillarfield Ox", 1);
+
+        setStopAt(3, PhaseStep.BEGIN_COMBAT);
+        execute();
+
+        PermanentScoreCache cache = new PermanentScoreCache();
+        int score = GameStateEvaluator2.evaluate(playerA.getId(), currentGame, null);
+        Assert.assertEquals(score, GameStateEvaluator2.evaluate(playerA.getId(), currentGame, cache));
+        Assert.assertEquals(0, cache.getHits());
+        Assert.assertEquals(5, cache.getMisses());
+
+        // a node below uses the scores of the node above
+        Game sim = currentGame.copy();
+        Assert.assertEquals(score, GameStateEvaluator2.evaluate(playerA.getId(), sim, cache));
+        Assert.assertEquals(5, cache.getHits());
+        Assert.assertEquals(5, cache.getMisses());
+
+        // only the tapped lion is scored again, not the other lion in the same state as before
+        Permanent lion = sim.getBattlefield().getAllActivePermanents(new FilterCreaturePermanent(), playerA.getId(), sim).get(0);
+        lion.setTapped(true);
+        int tappedScore = GameStateEvaluator2.evaluate(playerA.getId(), sim, null);
+        Assert.assertNotEquals(score, tappedScore);
+        Assert.assertEquals(tappedScore, GameStateEvaluator2.evaluate(playerA.getId(), sim, cache));
+        Assert.assertEquals(9, cache.getHits());
+        Assert.assertEquals(6, cache.getMisses());
+
+        // the untapped lion of the first game still gets its own score
+        Assert.assertEquals(score, GameStateEvaluator2.evaluate(playerA.getId(), currentGame, cache));
+        Assert.assertEquals(14, cache.getHits());
+        Assert.assertEquals(6, cache.getMisses());
+    }
+
+    @Test
+    public void testEffectsOfOtherPermanentsAreNotCached() {
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion", 1);
+        // Creatures without flying can't attack.
+        addCard(Zone.BATTLEFIELD, playerB, "Magus of the Moat", 1);
+
+        setStopAt(3, PhaseStep.BEGIN_COMBAT);
+        execute();
+
+        PermanentScoreCache cache = new PermanentScoreCache();
+        Permanent lion = getPermanent("Silvercoat Lion", playerA);
+        int score = GameStateEvaluator2.evaluatePermanent(lion, currentGame);
+        Assert.assertEquals(score, cache.getScore(lion, currentGame));
+
+        // the lion itself is unchanged, but it can attack again
+        Game sim = currentGame.copy();
+        sim.getBattlefield().removePermanent(getPermanent("Magus of the Moat", playerB).getId());
+        sim.applyEffects();
+        Permanent simLion = sim.getPermanent(lion.getId());
+        int canAttackScore = GameStateEvaluator2.evaluatePermanent(simLion, sim);
+        Assert.assertNotEquals(score, canAttackScore);
+        Assert.assertEquals(canAttackScore, cache.getScore(simLion, sim));
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(1, cache.getMisses());
+    }
+}
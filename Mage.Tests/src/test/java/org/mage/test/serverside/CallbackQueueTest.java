@@ -0,0 +1,174 @@
+package org.mage.test.serverside;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import mage.interfaces.callback.ClientCallback;
+import mage.interfaces.callback.ClientCallbackMethod;
+import mage.server.CallbackQueue;
+import mage.server.CallbackQueue.OverflowPolicy;
+import mage.server.Session;
+import org.jboss.remoting.callback.AsynchInvokerCallbackHandler;
+import org.jboss.remoting.callback.Callback;
+import org.jboss.remoting.callback.HandleCallbackException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Overflow of the callback queue of a session. The queue is only drained
+ * after the callbacks of a test were added.
+ */
+public class CallbackQueueTest {
+
+    private final UUID gameId = UUID.randomUUID();
+    private ExecutorService executor;
+    private CountDownLatch blocked;
+    private RecordingCallbackHandler handler;
+    private Session session;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        blocked = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        handler = new RecordingCallbackHandler();
+        session = new Session("callback-queue", handler);
+    }
+
+    @After
+    public void tearDown() {
+        blocked.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testDropNewestKeepsPrompts() throws Exception {
+        CallbackQueue queue = new CallbackQueue(session, executor, 3, OverflowPolicy.DROP_NEWEST);
+        queue.add(callback(ClientCallbackMethod.CHATMESSAGE, "chat 1"));
+        queue.add(callback(ClientCallbackMethod.GAME_TARGET, "target"));
+        queue.add(callback(ClientCallbackMethod.CHATMESSAGE, "chat 2"));
+        // the queue is full, the new message is dropped
+        queue.add(callback(ClientCallbackMethod.CHATMESSAGE, "chat 3"));
+        // a prompt is never dropped, the oldest message makes room for it
+        queue.add(callback(ClientCallbackMethod.GAME_ASK, "ask"));
+        Assert.assertEquals(3, queue.size());
+        Assert.assertEquals(2, queue.getSessionDroppedCount());
+
+        blocked.countDown();
+        Assert.assertEquals(Arrays.asList("target", "chat 2", "ask"), handler.await(3));
+        awaitSent(queue, 3);
+        Assert.assertEquals(3, queue.getMaxSize());
+        Assert.assertTrue(queue.getSessionMaxSendLatency() >= queue.getSessionAverageSendLatency());
+    }
+
+    @Test
+    public void testDropOldest() throws Exception {
+        CallbackQueue queue = new CallbackQueue(session, executor, 2, OverflowPolicy.DROP_OLDEST);
+        queue.add(callback(ClientCallbackMethod.GAME_SELECT, "select"));
+        queue.add(callback(ClientCallbackMethod.CHATMESSAGE, "chat 1"));
+        queue.add(callback(ClientCallbackMethod.CHATMESSAGE, "chat 2"));
+        Assert.assertEquals(1, queue.getSessionDroppedCount());
+
+        blocked.countDown();
+        Assert.assertEquals(Arrays.asList("select", "chat 2"), handler.await(2));
+    }
+
+    @Test
+    public void testPromptThatDoesNotFitDisconnects() throws Exception {
+        CallbackQueue queue = new CallbackQueue(session, executor, 2, OverflowPolicy.DROP_NEWEST);
+        queue.add(callback(ClientCallbackMethod.GAME_TARGET, "target"));
+        queue.add(callback(ClientCallbackMethod.GAME_ASK, "ask"));
+        // no update can make room, the client has to reconnect instead of missing the prompt
+        queue.add(callback(ClientCallbackMethod.GAME_CHOOSE_CHOICE, "choice"));
+        Assert.assertEquals(0, queue.size());
+        queue.add(callback(ClientCallbackMethod.CHATMESSAGE, "chat"));
+        Assert.assertEquals(0, queue.size());
+        Assert.assertEquals(2, queue.getSessionDroppedCount());
+
+        blocked.countDown();
+        TimeUnit.MILLISECONDS.sleep(100);
+        Assert.assertTrue(handler.await(0).isEmpty());
+    }
+
+    @Test
+    public void testStatisticsPerSession() throws Exception {
+        Session other = new Session("callback-queue-other", new RecordingCallbackHandler());
+        CallbackQueue queue = new CallbackQueue(session, executor, 1, OverflowPolicy.DROP_NEWEST);
+        CallbackQueue otherQueue = new CallbackQueue(other, executor, 1, OverflowPolicy.DROP_NEWEST);
+        queue.add(callback(ClientCallbackMethod.CHATMESSAGE, "chat 1"));
+        queue.add(callback(ClientCallbackMethod.CHATMESSAGE, "chat 2"));
+        otherQueue.add(callback(ClientCallbackMethod.CHATMESSAGE, "chat 1"));
+
+        blocked.countDown();
+        handler.await(1);
+        awaitSent(queue, 1);
+        Assert.assertEquals(1, queue.getSessionDroppedCount());
+        Assert.assertEquals(0, otherQueue.getSessionDroppedCount());
+    }
+
+    /**
+     * The statistics are updated after the callback was handed over
+     */
+    private static void awaitSent(CallbackQueue queue, int count) throws InterruptedException {
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (queue.getSessionSentCount() < count && System.nanoTime() < end) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        Assert.assertEquals(count, queue.getSessionSentCount());
+    }
+
+    private ClientCallback callback(ClientCallbackMethod method, String data) {
+        return new ClientCallback(method, gameId, data);
+    }
+
+    /**
+     * Connection of a session that keeps the data of the sent callbacks
+     */
+    private static class RecordingCallbackHandler implements AsynchInvokerCallbackHandler {
+
+        private final List<String> sent = new ArrayList<>();
+
+        synchronized List<String> await(int count) throws InterruptedException {
+            long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (sent.size() < count && System.nanoTime() < end) {
+                wait(100);
+            }
+            Assert.assertEquals(count, sent.size());
+            return new ArrayList<>(sent);
+        }
+
+        @Override
+        public synchronized void handleCallback(Callback callback) throws HandleCallbackException {
+            sent.add((String) ((ClientCallback) callback.getCallbackObject()).getData());
+            notifyAll();
+        }
+
+        @Override
+        public void handleCallbackOneway(Callback callback) throws HandleCallbackException {
+            handleCallback(callback);
+        }
+
+        @Override
+        public void handleCallbackOneway(Callback callback, boolean serverSide) throws HandleCallbackException {
+            handleCallback(callback);
+        }
+
+        @Override
+        public void handleCallback(Callback callback, boolean asynch, boolean serverSide) throws HandleCallbackException {
+            handleCallback(callback);
+        }
+    }
+}
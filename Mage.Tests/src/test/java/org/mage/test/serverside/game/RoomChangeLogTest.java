@@ -0,0 +1,173 @@
+package org.mage.test.serverside.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import mage.server.game.RoomChangeLog;
+import mage.view.MatchView;
+import mage.view.RoomChangesView;
+import mage.view.RoomChangesView.Changes;
+import mage.view.RoomState;
+import mage.view.TableView;
+import mage.view.UsersView;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RoomChangeLogTest {
+
+    private static final List<TableView> NO_TABLES = Collections.emptyList();
+    private static final List<MatchView> NO_MATCHES = Collections.emptyList();
+
+    @Test
+    public void testMergedChangesEqualChangesInSequence() {
+        Map<String, Integer> base = createMap("a", 1, "b", 2);
+        // b changed, c added
+        Changes<String, Integer> first = new Changes<>(createMap("b", 3, "c", 4), new ArrayList<>(), Arrays.asList("a", "b", "c"));
+        // a removed, c changed
+        Changes<String, Integer> second = new Changes<>(createMap("c", 5), Arrays.asList("a"), Arrays.asList("b", "c"));
+        // a added again at the end, b removed
+        Changes<String, Integer> third = new Changes<>(createMap("a", 6), Arrays.asList("b"), Arrays.asList("c", "a"));
+
+        Map<String, Integer> inSequence = new LinkedHashMap<>(base);
+        Assert.assertTrue(first.applyTo(inSequence));
+        Assert.assertTrue(second.applyTo(inSequence));
+        Assert.assertTrue(third.applyTo(inSequence));
+
+        Changes<String, Integer> merged = third.merge(second.merge(first));
+        Assert.assertTrue(merged.getRemoved().contains("b"));
+        Assert.assertFalse(merged.getRemoved().contains("a"));
+        Map<String, Integer> mergedOnce = new LinkedHashMap<>(base);
+        Assert.assertTrue(merged.applyTo(mergedOnce));
+
+        Assert.assertEquals(createMap("c", 5, "a", 6), inSequence);
+        Assert.assertEquals(new ArrayList<>(inSequence.keySet()), new ArrayList<>(mergedOnce.keySet()));
+        Assert.assertEquals(inSequence, mergedOnce);
+    }
+
+    @Test
+    public void testChangesThatDontFit() {
+        // the order contains an object the client doesn't have
+        Changes<String, Integer> changes = new Changes<>(createMap("b", 2), new ArrayList<>(), Arrays.asList("a", "b"));
+        Assert.assertFalse(changes.applyTo(new LinkedHashMap<>()));
+        Assert.assertTrue(changes.applyTo(createMap("a", 1)));
+    }
+
+    @Test
+    public void testUnchangedRoomHasNoNewVersion() {
+        RoomChangeLog log = new RoomChangeLog();
+        Assert.assertNotNull(update(log, createUsers("u1", "u2")));
+        Assert.assertNull(update(log, createUsers("u1", "u2")));
+        Assert.assertEquals(1, log.getVersion());
+
+        RoomChangesView changes = log.getChanges(1);
+        Assert.assertFalse(changes.isFull());
+        Assert.assertTrue(changes.getUsers().isEmpty());
+    }
+
+    @Test
+    public void testReplayChangesSinceVersion() {
+        RoomChangeLog log = new RoomChangeLog();
+        update(log, createUsers("u1", "u2"));
+        update(log, createUsers("u1", "u2", "u3"));
+        RoomState client = new RoomState();
+        Assert.assertTrue(client.apply(log.getChanges(RoomChangesView.FULL)));
+        Assert.assertEquals(2, client.getVersion());
+
+        update(log, createUsers("u3", "u2"));
+        update(log, createUsers("u3", "u2", "u4"));
+        update(log, createUsers("u2", "u4", "u1"));
+        RoomChangesView changes = log.getChanges(2);
+        Assert.assertFalse(changes.isFull());
+        Assert.assertEquals(2, changes.getBaseVersion());
+        Assert.assertEquals(5, changes.getVersion());
+        // the merged changes only contain the users that are new since version 2
+        Assert.assertEquals(Arrays.asList("u4", "u1"), new ArrayList<>(changes.getUsers().getChanged().keySet()));
+        Assert.assertTrue(changes.getUsers().getRemoved().contains("u3"));
+
+        Assert.assertTrue(client.apply(changes));
+        Assert.assertEquals(5, client.getVersion());
+        Assert.assertEquals(Arrays.asList("u2", "u4", "u1"), getUserNames(client));
+
+        // a pushed change set with another base version is not applied
+        update(log, createUsers("u2"));
+        update(log, createUsers("u5"));
+        Assert.assertFalse(client.apply(update(log, createUsers("u6"))));
+        Assert.assertEquals(5, client.getVersion());
+        Assert.assertTrue(client.apply(log.getChanges(client.getVersion())));
+        Assert.assertEquals(Arrays.asList("u6"), getUserNames(client));
+    }
+
+    @Test
+    public void testFullRoomWhenHistoryIsExhausted() {
+        RoomChangeLog log = new RoomChangeLog();
+        update(log, createUsers("u0"));
+        RoomState client = new RoomState();
+        Assert.assertTrue(client.apply(log.getChanges(RoomChangesView.FULL)));
+
+        // 30 change sets are kept
+        for (int i = 1; i <= 30; i++) {
+            update(log, createUsers("u" + i));
+        }
+        RoomChangesView changes = log.getChanges(1);
+        Assert.assertFalse(changes.isFull());
+        Assert.assertEquals(1, changes.getBaseVersion());
+
+        update(log, createUsers("u31"));
+        changes = log.getChanges(1);
+        Assert.assertTrue(changes.isFull());
+        Assert.assertEquals(32, changes.getVersion());
+        Assert.assertEquals(Arrays.asList("u31"), changes.getUsers().getOrder());
+        Assert.assertTrue(client.apply(changes));
+        Assert.assertEquals(Arrays.asList("u31"), getUserNames(client));
+
+        // unknown versions get the full room too
+        Assert.assertTrue(log.getChanges(40).isFull());
+    }
+
+    @Test
+    public void testChangesWithoutMatches() {
+        UUID matchId = UUID.randomUUID();
+        Changes<UUID, MatchView> matches = new Changes<>(new LinkedHashMap<>(), Arrays.asList(matchId), new ArrayList<>());
+        RoomChangesView changes = new RoomChangesView(3, 4, Changes.empty(), matches, Changes.empty(), 1, 2, 3);
+
+        RoomChangesView withoutMatches = changes.withoutMatches();
+        Assert.assertFalse(changes.getMatches().isEmpty());
+        Assert.assertTrue(withoutMatches.getMatches().isEmpty());
+        Assert.assertEquals(3, withoutMatches.getBaseVersion());
+        Assert.assertEquals(4, withoutMatches.getVersion());
+        Assert.assertSame(changes.getTables(), withoutMatches.getTables());
+        Assert.assertSame(changes.getUsers(), withoutMatches.getUsers());
+    }
+
+    private static RoomChangesView update(RoomChangeLog log, List<UsersView> users) {
+        return log.update(NO_TABLES, NO_MATCHES, users, 0, 0, 10);
+    }
+
+    private static List<UsersView> createUsers(String... names) {
+        List<UsersView> users = new ArrayList<>();
+        for (String name : names) {
+            users.add(new UsersView("world", name, "", 0, "", 0, "", "10 ms", 1500, 1500, 1500));
+        }
+        return users;
+    }
+
+    private static List<String> getUserNames(RoomState state) {
+        List<String> names = new ArrayList<>();
+        for (UsersView user : state.getRoomUsersInfo().getUsersView()) {
+            names.add(user.getUserName());
+        }
+        return names;
+    }
+
+    private static Map<String, Integer> createMap(Object... keysAndValues) {
+        Map<String, Integer> map = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put((String) keysAndValues[i], (Integer) keysAndValues[i + 1]);
+        }
+        return map;
+    }
+}
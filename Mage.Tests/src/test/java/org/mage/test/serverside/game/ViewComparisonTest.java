@@ -0,0 +1,75 @@
+package org.mage.test.serverside.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import mage.counters.Counter;
+import mage.server.game.ViewComparison;
+import mage.view.ChatMessage;
+import mage.view.ChatMessage.MessageColor;
+import mage.view.CounterView;
+import mage.view.UsersView;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ViewComparisonTest {
+
+    @Test
+    public void testSameContent() {
+        Assert.assertTrue(ViewComparison.isSame(createUser("user", "10 ms"), createUser("user", "10 ms")));
+        Assert.assertFalse(ViewComparison.isSame(createUser("user", "10 ms"), createUser("user", "20 ms")));
+        Assert.assertFalse(ViewComparison.isSame(createUser("user", "10 ms"), null));
+    }
+
+    @Test
+    public void testNestedViews() {
+        List<CounterView> counters = createCounters(1, 2);
+        Assert.assertTrue(ViewComparison.isSame(counters, createCounters(1, 2)));
+        Assert.assertFalse(ViewComparison.isSame(counters, createCounters(1, 3)));
+        Assert.assertFalse(ViewComparison.isSame(counters, createCounters(1)));
+
+        Map<String, CounterView> map = new LinkedHashMap<>();
+        map.put("a", counters.get(0));
+        map.put("b", counters.get(1));
+        Map<String, CounterView> reordered = new LinkedHashMap<>();
+        reordered.put("b", counters.get(1));
+        reordered.put("a", counters.get(0));
+        // the client shows the entries in the order of the map
+        Assert.assertFalse(ViewComparison.isSame(map, reordered));
+    }
+
+    @Test
+    public void testSkippedFields() {
+        Assert.assertTrue(ViewComparison.isSameExcept(createUser("user", "10 ms"), createUser("user", "20 ms"), "infoPing"));
+        Assert.assertFalse(ViewComparison.isSameExcept(createUser("user", "10 ms"), createUser("other", "20 ms"), "infoPing"));
+    }
+
+    @Test
+    public void testValuesComparedByEquals() {
+        Assert.assertTrue(ViewComparison.isSame(new Date(1000), new Date(1000)));
+        Assert.assertFalse(ViewComparison.isSame(new Date(1000), new Date(2000)));
+        Assert.assertFalse(ViewComparison.isSame(MessageColor.BLUE, MessageColor.BLACK));
+        Assert.assertTrue(ViewComparison.isSame(createMessage(1000), createMessage(1000)));
+        // a changed time has to be sent to the client
+        Assert.assertFalse(ViewComparison.isSame(createMessage(1000), createMessage(2000)));
+    }
+
+    private static ChatMessage createMessage(long time) {
+        return new ChatMessage("user", "text", new Date(time), MessageColor.BLUE);
+    }
+
+    private static UsersView createUser(String name, String ping) {
+        return new UsersView("world", name, "", 0, "", 0, "", ping, 1500, 1500, 1500);
+    }
+
+    private static List<CounterView> createCounters(Integer... counts) {
+        List<CounterView> counters = new ArrayList<>();
+        for (int count : Arrays.asList(counts)) {
+            counters.add(new CounterView(new Counter("counter", count)));
+        }
+        return counters;
+    }
+}
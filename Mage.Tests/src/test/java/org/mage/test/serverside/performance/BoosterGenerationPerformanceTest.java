@@ -0,0 +1,72 @@
+package org.mage.test.serverside.performance;
+
+import java.util.List;
+import mage.cards.Card;
+import mage.cards.ExpansionSet;
+import mage.cards.repository.CardScanner;
+import mage.sets.FateReforged;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Boosters of a 64 player sealed event (6 boosters per player): with empty
+ * booster pools, as every event started before, and with the pools prepared at
+ * server start.
+ */
+@Ignore
+public class BoosterGenerationPerformanceTest {
+
+    private static final int PLAYERS = 64;
+    private static final int BOOSTERS_PER_PLAYER = 6;
+    private static final int ROUNDS = 10;
+
+    @Before
+    public void setUp() {
+        CardScanner.scan();
+    }
+
+    @Test
+    public void testSealedEventBoosters() {
+        ExpansionSet set = FateReforged.getInstance();
+
+        // warm up
+        set.removeSavedCards();
+        createBoosters(set);
+
+        long cold = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            set.removeSavedCards();
+            long start = System.nanoTime();
+            createBoosters(set);
+            cold += System.nanoTime() - start;
+        }
+
+        set.removeSavedCards();
+        long start = System.nanoTime();
+        set.prepareBoosterPools();
+        long prepare = System.nanoTime() - start;
+        long prepared = 0;
+        int cards = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            start = System.nanoTime();
+            cards = createBoosters(set);
+            prepared += System.nanoTime() - start;
+        }
+
+        Assert.assertEquals(PLAYERS * BOOSTERS_PER_PLAYER * 15, cards);
+        System.out.println(PLAYERS * BOOSTERS_PER_PLAYER + " boosters of " + set.getName() + ":");
+        System.out.println("Empty pools:    " + cold / ROUNDS / 1000000 + " ms");
+        System.out.println("Prepared pools: " + prepared / ROUNDS / 1000000 + " ms (prepared once in " + prepare / 1000000 + " ms)");
+    }
+
+    private static int createBoosters(ExpansionSet set) {
+        int cards = 0;
+        for (int i = 0; i < PLAYERS * BOOSTERS_PER_PLAYER; i++) {
+            List<Card> booster = set.createBooster();
+            cards += booster.size();
+        }
+        return cards;
+    }
+}
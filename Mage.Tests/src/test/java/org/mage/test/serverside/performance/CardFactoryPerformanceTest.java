@@ -0,0 +1,88 @@
+package org.mage.test.serverside.performance;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import mage.cards.Card;
+import mage.cards.CardFactory;
+import mage.cards.CardSetInfo;
+import mage.cards.ExpansionSet;
+import mage.sets.FateReforged;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares creating cards with a reflective constructor lookup per card (as
+ * CardImpl.createCard did before) with the cached constructors of
+ * CardFactory: a forty card deck and eight 15 card boosters per round.
+ */
+@Ignore
+public class CardFactoryPerformanceTest {
+
+    private static final int ROUNDS = 200;
+    private static final int DECK_SIZE = 40;
+    private static final int BOOSTERS = 8;
+    private static final int BOOSTER_SIZE = 15;
+
+    @Test
+    public void testCreateDecksAndBoosters() throws Exception {
+        ExpansionSet set = FateReforged.getInstance();
+        List<ExpansionSet.SetCardInfo> setCards = set.getSetCardInfo();
+        List<ExpansionSet.SetCardInfo> cards = new ArrayList<>();
+        for (int i = 0; i < DECK_SIZE + BOOSTERS * BOOSTER_SIZE; i++) {
+            cards.add(setCards.get(i % setCards.size()));
+        }
+
+        // warm up
+        for (int i = 0; i < 20; i++) {
+            createReflective(set, cards);
+            createWithFactory(set, cards);
+        }
+
+        long t1 = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            createReflective(set, cards);
+        }
+        long t2 = System.nanoTime();
+        int created = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            created = createWithFactory(set, cards);
+        }
+        long t3 = System.nanoTime();
+
+        Assert.assertEquals(cards.size(), created);
+        System.out.println("Deck of " + DECK_SIZE + " + " + BOOSTERS + " boosters of " + BOOSTER_SIZE + " cards:");
+        System.out.println("Reflection:   " + (t2 - t1) / ROUNDS / 1000 + " us");
+        System.out.println("Card factory: " + (t3 - t2) / ROUNDS / 1000 + " us");
+    }
+
+    private static int createReflective(ExpansionSet set, List<ExpansionSet.SetCardInfo> cards) throws Exception {
+        int created = 0;
+        for (ExpansionSet.SetCardInfo setCard : cards) {
+            Class<?> cardClass = Class.forName(setCard.getCardClass().getName());
+            Constructor<?> constructor = cardClass.getConstructor(UUID.class, CardSetInfo.class);
+            Card card = (Card) constructor.newInstance(null, createSetInfo(set, setCard));
+            if (card != null) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+    private static int createWithFactory(ExpansionSet set, List<ExpansionSet.SetCardInfo> cards) throws Exception {
+        int created = 0;
+        for (ExpansionSet.SetCardInfo setCard : cards) {
+            Card card = CardFactory.forName(setCard.getCardClass().getName()).create(createSetInfo(set, setCard));
+            if (card != null) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+    private static CardSetInfo createSetInfo(ExpansionSet set, ExpansionSet.SetCardInfo setCard) {
+        return new CardSetInfo(setCard.getName(), set.getCode(), setCard.getCardNumber(), setCard.getRarity(), setCard.getGraphicInfo());
+    }
+}
@@ -0,0 +1,168 @@
+package org.mage.test.serverside.performance;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import mage.interfaces.callback.ClientCallback;
+import mage.interfaces.callback.ClientCallbackMethod;
+import mage.remote.traffic.ZippedObjectImpl;
+import mage.server.Session;
+import mage.utils.CompressUtil;
+import mage.view.ChatMessage;
+import mage.view.ChatMessage.MessageColor;
+import mage.view.ChatMessage.MessageType;
+import org.apache.log4j.Logger;
+import org.jboss.remoting.callback.AsynchInvokerCallbackHandler;
+import org.jboss.remoting.callback.Callback;
+import org.jboss.remoting.callback.HandleCallbackException;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares a chat broadcast to 2000 sessions that serialize the chat message
+ * for each session with one that serializes it once and only sends the bytes.
+ *
+ * Each session is simulated by serializing the callback as the connection of
+ * the session would do.
+ */
+public class ChatBroadcastPerformanceTest {
+
+    private static final Logger logger = Logger.getLogger(ChatBroadcastPerformanceTest.class);
+
+    private static final int SESSIONS = 2000;
+    private static final int ROUNDS = 20;
+
+    @Test
+    @Ignore
+    public void testBroadcast() throws Exception {
+        UUID chatId = UUID.randomUUID();
+        String text = "Anyone up for a Commander game? Looking for 3 more players, casual decks only, no infinite combos please.";
+
+        // warm up
+        for (int i = 0; i < 3; i++) {
+            broadcastPerSession(chatId, text);
+            broadcastSerializedOnce(chatId, text);
+        }
+
+        long t1 = System.nanoTime();
+        long bytesPerSession = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            bytesPerSession = broadcastPerSession(chatId, text);
+        }
+        long t2 = System.nanoTime();
+        long bytesOnce = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            bytesOnce = broadcastSerializedOnce(chatId, text);
+        }
+        long t3 = System.nanoTime();
+
+        logger.info("Serialized per session: " + (t2 - t1) / ROUNDS / 1000 + " us per broadcast, " + bytesPerSession / SESSIONS + " bytes per session");
+        logger.info("Serialized once:        " + (t3 - t2) / ROUNDS / 1000 + " us per broadcast, " + bytesOnce / SESSIONS + " bytes per session");
+    }
+
+    @Test
+    public void testMessageIdsPerSession() throws Exception {
+        RecordingCallbackHandler firstHandler = new RecordingCallbackHandler();
+        RecordingCallbackHandler secondHandler = new RecordingCallbackHandler();
+        Session first = new Session("chat-broadcast-1", firstHandler);
+        Session second = new Session("chat-broadcast-2", secondHandler);
+        UUID chatId = UUID.randomUUID();
+
+        // the first session got a message before, so the sessions are at different message ids
+        first.fireCallback(new ClientCallback(ClientCallbackMethod.CHATMESSAGE, chatId, new ZippedObjectImpl<>(createMessage("welcome"))));
+        ClientCallback shared = new ClientCallback(ClientCallbackMethod.CHATMESSAGE, chatId, new ZippedObjectImpl<>(createMessage("hello")));
+        first.fireCallback(shared);
+        second.fireCallback(shared);
+
+        List<ClientCallback> firstSent = firstHandler.await(2);
+        List<ClientCallback> secondSent = secondHandler.await(1);
+        Assert.assertEquals(0, firstSent.get(0).getMessageId());
+        Assert.assertEquals(1, firstSent.get(1).getMessageId());
+        Assert.assertEquals(0, secondSent.get(0).getMessageId());
+        // each session sent its own copy of the shared callback with the same serialized message
+        Assert.assertEquals(0, shared.getMessageId());
+        Assert.assertNotSame(shared, firstSent.get(1));
+        Assert.assertNotSame(firstSent.get(1), secondSent.get(0));
+        Assert.assertSame(shared.getData(), firstSent.get(1).getData());
+        Assert.assertSame(shared.getData(), secondSent.get(0).getData());
+        ChatMessage received = (ChatMessage) CompressUtil.decompress(secondSent.get(0).getData());
+        Assert.assertEquals("hello", received.getMessage());
+    }
+
+    private static long broadcastPerSession(UUID chatId, String text) throws IOException {
+        ClientCallback shared = new ClientCallback(ClientCallbackMethod.CHATMESSAGE, chatId, createMessage(text));
+        long bytes = 0;
+        for (int i = 0; i < SESSIONS; i++) {
+            shared.setMessageId(i);
+            bytes += send(shared);
+        }
+        return bytes;
+    }
+
+    private static long broadcastSerializedOnce(UUID chatId, String text) throws IOException {
+        ClientCallback shared = new ClientCallback(ClientCallbackMethod.CHATMESSAGE, chatId, new ZippedObjectImpl<>(createMessage(text)));
+        long bytes = 0;
+        for (int i = 0; i < SESSIONS; i++) {
+            ClientCallback sent = new ClientCallback(shared.getMethod(), shared.getObjectId(), shared.getData());
+            sent.setMessageId(i);
+            bytes += send(sent);
+        }
+        return bytes;
+    }
+
+    private static ChatMessage createMessage(String text) {
+        return new ChatMessage("Player1", text, new Date(), MessageColor.BLUE, MessageType.TALK, null);
+    }
+
+    private static int send(ClientCallback call) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(call);
+        }
+        return bos.size();
+    }
+
+    /**
+     * Connection of a session that keeps the sent callbacks
+     */
+    private static class RecordingCallbackHandler implements AsynchInvokerCallbackHandler {
+
+        private final List<ClientCallback> sent = new ArrayList<>();
+
+        synchronized List<ClientCallback> await(int count) throws InterruptedException {
+            long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (sent.size() < count && System.nanoTime() < end) {
+                wait(100);
+            }
+            Assert.assertEquals(count, sent.size());
+            return new ArrayList<>(sent);
+        }
+
+        @Override
+        public synchronized void handleCallback(Callback callback) throws HandleCallbackException {
+            sent.add((ClientCallback) callback.getCallbackObject());
+            notifyAll();
+        }
+
+        @Override
+        public void handleCallbackOneway(Callback callback) throws HandleCallbackException {
+            handleCallback(callback);
+        }
+
+        @Override
+        public void handleCallbackOneway(Callback callback, boolean serverSide) throws HandleCallbackException {
+            handleCallback(callback);
+        }
+
+        @Override
+        public void handleCallback(Callback callback, boolean asynch, boolean serverSide) throws HandleCallbackException {
+            handleCallback(callback);
+        }
+    }
+}
@@ -23,6 +23,18 @@ public class CopyGameStatePerformanceTest extends CardTestPlayerBase {
         }
         long t2 = System.currentTimeMillis();
         System.out.println("Test took: " + (t2-t1) + " ms");
+
+        // copies made by AI players during simulations
+        Game sim = currentGame.copy();
+        sim.setSimulation(true);
+        System.out.println("Started copying simulation...");
+        t1 = System.currentTimeMillis();
+        for (int i = 0; i < 2000; i++) {
+            Game game = sim.copy();
+            Game game2 = game.copy();
+        }
+        t2 = System.currentTimeMillis();
+        System.out.println("Simulation test took: " + (t2-t1) + " ms");
     }
 
     public static void main(String[] args) {
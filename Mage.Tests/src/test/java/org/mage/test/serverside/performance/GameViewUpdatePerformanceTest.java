@@ -0,0 +1,69 @@
+package org.mage.test.serverside.performance;
+
+import mage.constants.PhaseStep;
+import mage.constants.Zone;
+import mage.remote.traffic.ZippedObjectImpl;
+import mage.server.game.GameViewDeltaEncoder;
+import mage.view.GameView;
+import mage.view.GameViewDelta;
+import org.apache.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.mage.test.serverside.base.CardTestPlayerBase;
+
+/**
+ * Compares the server CPU time of one game update of a session: the full game
+ * view compressed (as before the delta updates) against the view reduced to
+ * the changed parts and compressed.
+ */
+@Ignore
+public class GameViewUpdatePerformanceTest extends CardTestPlayerBase {
+
+    private static final Logger logger = Logger.getLogger(GameViewUpdatePerformanceTest.class);
+
+    private static final int ROUNDS = 1000;
+
+    @Test
+    public void testUnchangedBoard() throws Exception {
+        addCard(Zone.BATTLEFIELD, playerA, "Mountain", 7);
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion", 5);
+        addCard(Zone.BATTLEFIELD, playerA, "Juggernaut", 2);
+        addCard(Zone.GRAVEYARD, playerA, "Shock", 4);
+        addCard(Zone.BATTLEFIELD, playerB, "Forest", 7);
+        addCard(Zone.BATTLEFIELD, playerB, "Grizzly Bears", 6);
+        addCard(Zone.GRAVEYARD, playerB, "Giant Growth", 4);
+        setStopAt(1, PhaseStep.END_TURN);
+        execute();
+
+        // the views are built for each update, so the compared views are different objects
+        GameView[] views = new GameView[50];
+        for (int i = 0; i < views.length; i++) {
+            views[i] = new GameView(currentGame.getState(), currentGame, playerA.getId(), null);
+        }
+        GameViewDeltaEncoder encoder = new GameViewDeltaEncoder();
+        encoder.reset(views[0]);
+
+        // warm up
+        for (int i = 0; i < 100; i++) {
+            new ZippedObjectImpl<>(views[i % views.length]);
+            new ZippedObjectImpl<>(encoder.encode(views[i % views.length]));
+        }
+
+        long t1 = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            new ZippedObjectImpl<>(views[i % views.length]);
+        }
+        long t2 = System.nanoTime();
+        GameViewDelta delta = null;
+        for (int i = 0; i < ROUNDS; i++) {
+            delta = encoder.encode(views[i % views.length]);
+            new ZippedObjectImpl<>(delta);
+        }
+        long t3 = System.nanoTime();
+
+        Assert.assertFalse(delta.isFull());
+        logger.info("Full view:  " + (t2 - t1) / ROUNDS / 1000 + " us per update");
+        logger.info("Delta view: " + (t3 - t2) / ROUNDS / 1000 + " us per update");
+    }
+}
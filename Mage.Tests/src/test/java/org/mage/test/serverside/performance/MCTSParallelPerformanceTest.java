@@ -0,0 +1,72 @@
+package org.mage.test.serverside.performance;
+
+import java.io.FileNotFoundException;
+import mage.constants.MultiplayerAttackOption;
+import mage.constants.PhaseStep;
+import mage.constants.RangeOfInfluence;
+import mage.constants.Zone;
+import mage.game.Game;
+import mage.game.GameException;
+import mage.game.TwoPlayerDuel;
+import mage.player.ai.ComputerPlayerMCTS;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.mage.test.player.TestPlayer;
+import org.mage.test.serverside.base.impl.CardTestPlayerAPIImpl;
+
+/**
+ * Compares root parallel and tree parallel MCTS search with 4, 8 and 16
+ * threads by the number of games simulated during the same think time.
+ */
+@Ignore
+public class MCTSParallelPerformanceTest extends CardTestPlayerAPIImpl {
+
+    private static final int[] THREADS = {4, 8, 16};
+
+    private ComputerPlayerMCTS mctsPlayer;
+    private ComputerPlayerMCTS.ParallelMode parallelMode;
+    private int threads;
+
+    @Override
+    protected Game createNewGameAndPlayers() throws GameException, FileNotFoundException {
+        Game game = new TwoPlayerDuel(MultiplayerAttackOption.LEFT, RangeOfInfluence.ONE, 0, 20);
+        playerA = createPlayer(game, playerA, "PlayerA");
+        playerB = createPlayer(game, playerB, "PlayerB");
+        return game;
+    }
+
+    @Override
+    protected TestPlayer createPlayer(String name, RangeOfInfluence rangeOfInfluence) {
+        if (name.equals("PlayerA")) {
+            mctsPlayer = new ComputerPlayerMCTS("PlayerA", RangeOfInfluence.ONE, 3);
+            mctsPlayer.setParallelMode(parallelMode);
+            mctsPlayer.setPoolSize(threads);
+            TestPlayer testPlayer = new TestPlayer(mctsPlayer);
+            testPlayer.setAIPlayer(true);
+            return testPlayer;
+        }
+        return super.createPlayer(name, rangeOfInfluence);
+    }
+
+    @Test
+    public void testSimulationsPerSecond() throws Exception {
+        for (ComputerPlayerMCTS.ParallelMode mode : ComputerPlayerMCTS.ParallelMode.values()) {
+            for (int threadCount : THREADS) {
+                parallelMode = mode;
+                threads = threadCount;
+                reset();
+                addCard(Zone.BATTLEFIELD, playerA, "Mountain", 4);
+                addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion", 3);
+                addCard(Zone.HAND, playerA, "Lightning Bolt", 2);
+                addCard(Zone.BATTLEFIELD, playerB, "Silvercoat Lion", 2);
+                setStopAt(3, PhaseStep.END_TURN);
+                execute();
+                long thinkTime = Math.max(1, mctsPlayer.getTotalThinkTime());
+                System.out.println(mode + " threads: " + threadCount
+                        + " simulations: " + mctsPlayer.getTotalSimulations()
+                        + " think time: " + mctsPlayer.getTotalThinkTime() + "s"
+                        + " per second: " + mctsPlayer.getTotalSimulations() / thinkTime);
+            }
+        }
+    }
+}
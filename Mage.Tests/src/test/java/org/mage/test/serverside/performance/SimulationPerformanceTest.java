@@ -0,0 +1,87 @@
+package org.mage.test.serverside.performance;
+
+import java.io.FileNotFoundException;
+import mage.constants.MultiplayerAttackOption;
+import mage.constants.PhaseStep;
+import mage.constants.RangeOfInfluence;
+import mage.constants.Zone;
+import mage.game.Game;
+import mage.game.GameException;
+import mage.game.TwoPlayerDuel;
+import mage.player.ai.ComputerPlayer;
+import mage.player.ai.ComputerPlayer7;
+import mage.player.ai.ComputerPlayerMCTS;
+import org.apache.log4j.Logger;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.mage.test.player.TestPlayer;
+import org.mage.test.serverside.base.impl.CardTestPlayerAPIImpl;
+
+/**
+ * Measures the simulated nodes per second of the minimax AI and the simulated
+ * games per second of the MCTS AI in the same game. Run it before and after a
+ * change of the simulation to compare both.
+ */
+@Ignore
+public class SimulationPerformanceTest extends CardTestPlayerAPIImpl {
+
+    private static final Logger logger = Logger.getLogger(SimulationPerformanceTest.class);
+
+    private boolean mcts;
+    private ComputerPlayer aiPlayer;
+
+    @Override
+    protected Game createNewGameAndPlayers() throws GameException, FileNotFoundException {
+        Game game = new TwoPlayerDuel(MultiplayerAttackOption.LEFT, RangeOfInfluence.ONE, 0, 20);
+        playerA = createPlayer(game, playerA, "PlayerA");
+        playerB = createPlayer(game, playerB, "PlayerB");
+        return game;
+    }
+
+    @Override
+    protected TestPlayer createPlayer(String name, RangeOfInfluence rangeOfInfluence) {
+        if (name.equals("PlayerA")) {
+            if (mcts) {
+                aiPlayer = new ComputerPlayerMCTS("PlayerA", RangeOfInfluence.ONE, 3);
+            } else {
+                aiPlayer = new ComputerPlayer7("PlayerA", RangeOfInfluence.ONE, 6);
+            }
+            TestPlayer testPlayer = new TestPlayer(aiPlayer);
+            testPlayer.setAIPlayer(true);
+            return testPlayer;
+        }
+        return super.createPlayer(name, rangeOfInfluence);
+    }
+
+    @Test
+    public void testNodesPerSecond() throws Exception {
+        mcts = false;
+        playGame();
+        ComputerPlayer7 player = (ComputerPlayer7) aiPlayer;
+        long time = Math.max(1, player.getTotalSimulationTime());
+        logger.info("ComputerPlayer7 nodes: " + player.getTotalNodes()
+                + " time: " + player.getTotalSimulationTime() + "ms"
+                + " per second: " + player.getTotalNodes() * 1000 / time);
+    }
+
+    @Test
+    public void testPlayoutsPerSecond() throws Exception {
+        mcts = true;
+        playGame();
+        ComputerPlayerMCTS player = (ComputerPlayerMCTS) aiPlayer;
+        long thinkTime = Math.max(1, player.getTotalThinkTime());
+        logger.info("ComputerPlayerMCTS playouts: " + player.getTotalSimulations()
+                + " time: " + player.getTotalThinkTime() + "s"
+                + " per second: " + player.getTotalSimulations() / thinkTime);
+    }
+
+    private void playGame() throws Exception {
+        reset();
+        addCard(Zone.BATTLEFIELD, playerA, "Mountain", 4);
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion", 3);
+        addCard(Zone.HAND, playerA, "Lightning Bolt", 2);
+        addCard(Zone.BATTLEFIELD, playerB, "Silvercoat Lion", 2);
+        setStopAt(3, PhaseStep.END_TURN);
+        execute();
+    }
+}
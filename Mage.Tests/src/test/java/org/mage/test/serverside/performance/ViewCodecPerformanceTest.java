@@ -0,0 +1,81 @@
+package org.mage.test.serverside.performance;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import mage.constants.PhaseStep;
+import mage.constants.Zone;
+import mage.remote.traffic.CompactObjectCodec;
+import mage.remote.traffic.CompactZippedObject;
+import mage.remote.traffic.ZippedObjectImpl;
+import mage.view.GameView;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.mage.test.serverside.base.CardTestPlayerBase;
+
+/**
+ * Compares payload size and encode / decode time of game views sent with
+ * Java serialization + GZIP and with the compact codec.
+ */
+@Ignore
+public class ViewCodecPerformanceTest extends CardTestPlayerBase {
+
+    private static final int ROUNDS = 1000;
+
+    @Test
+    public void testGameViewEncoding() throws Exception {
+        addCard(Zone.BATTLEFIELD, playerA, "Mountain", 7);
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion", 5);
+        addCard(Zone.BATTLEFIELD, playerA, "Juggernaut", 2);
+        addCard(Zone.HAND, playerA, "Lightning Bolt", 3);
+        addCard(Zone.GRAVEYARD, playerA, "Shock", 4);
+        addCard(Zone.BATTLEFIELD, playerB, "Forest", 7);
+        addCard(Zone.BATTLEFIELD, playerB, "Grizzly Bears", 6);
+        addCard(Zone.GRAVEYARD, playerB, "Giant Growth", 4);
+        setStopAt(1, PhaseStep.END_TURN);
+        execute();
+
+        GameView gameView = new GameView(currentGame.getState(), currentGame, playerA.getId(), null);
+
+        // warm up
+        for (int i = 0; i < 100; i++) {
+            new ZippedObjectImpl<>(gameView).unzip();
+            new CompactZippedObject<>(gameView).unzip();
+        }
+
+        long t1 = System.nanoTime();
+        ZippedObjectImpl<GameView> zipped = null;
+        for (int i = 0; i < ROUNDS; i++) {
+            zipped = new ZippedObjectImpl<>(gameView);
+        }
+        long t2 = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            zipped.unzip();
+        }
+        long t3 = System.nanoTime();
+        byte[] compact = null;
+        for (int i = 0; i < ROUNDS; i++) {
+            compact = CompactObjectCodec.encode(gameView);
+        }
+        long t4 = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            CompactObjectCodec.decode(compact);
+        }
+        long t5 = System.nanoTime();
+
+        Assert.assertTrue(CompactObjectCodec.decode(compact) instanceof GameView);
+        // payload as sent inside the callback
+        System.out.println("Serialization + GZIP: " + getSerializedSize(zipped) + " bytes, encode " + (t2 - t1) / ROUNDS / 1000 + " us, decode " + (t3 - t2) / ROUNDS / 1000 + " us");
+        System.out.println("Compact codec:        " + getSerializedSize(new CompactZippedObject<>(gameView)) + " bytes, encode " + (t4 - t3) / ROUNDS / 1000 + " us, decode " + (t5 - t4) / ROUNDS / 1000 + " us");
+    }
+
+    private static int getSerializedSize(Serializable object) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(object);
+        }
+        return bos.size();
+    }
+}
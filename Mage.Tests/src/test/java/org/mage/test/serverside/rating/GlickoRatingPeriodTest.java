@@ -0,0 +1,80 @@
+package org.mage.test.serverside.rating;
+
+import java.util.Random;
+import mage.server.rating.GlickoRating;
+import mage.server.rating.GlickoRatingPeriod;
+import mage.server.rating.GlickoRatingSystem;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GlickoRatingPeriodTest {
+
+    private final Random random = new Random();
+
+    @Test
+    public void testGlickmanExample() {
+        // example of the Glicko paper, the player wins against the first and loses against the others
+        long time = 1000;
+        GlickoRatingPeriod period = new GlickoRatingPeriod();
+        int player = period.addPlayer(new GlickoRating(1500, 200, time));
+        int opponent1 = period.addPlayer(new GlickoRating(1400, 30, time));
+        int opponent2 = period.addPlayer(new GlickoRating(1550, 100, time));
+        int opponent3 = period.addPlayer(new GlickoRating(1700, 300, time));
+        period.addMatch(player, opponent1, 1);
+        period.addMatch(opponent2, player, 1);
+        period.addMatch(player, opponent3, 0);
+        period.compute(time, false);
+
+        Assert.assertEquals(1464.1, period.getRating(player).getRating(), 0.1);
+        Assert.assertEquals(151.4, period.getRating(player).getRatingDeviation(), 0.1);
+        Assert.assertEquals(time, period.getRating(player).getLastGameTimeMs());
+    }
+
+    @Test
+    public void testOneMatchIsSameAsUpdateRating() {
+        GlickoRatingSystem glickoRatingSystem = new GlickoRatingSystem();
+        for (int i = 0; i < 1000; i++) {
+            GlickoRating player1 = new GlickoRating(random.nextDouble() * 2500 + 500, random.nextDouble() * 300 + 30, random.nextInt(1000));
+            GlickoRating player2 = new GlickoRating(random.nextDouble() * 2500 + 500, random.nextDouble() * 300 + 30, random.nextInt(1000));
+            double outcome = random.nextInt(3) / 2.0;
+            long time = 1000 + random.nextInt(100000000);
+
+            GlickoRatingPeriod period = new GlickoRatingPeriod();
+            period.addMatch(period.addPlayer(player1), period.addPlayer(player2), outcome);
+            period.compute(time, false);
+            glickoRatingSystem.updateRating(player1, player2, outcome, time);
+
+            Assert.assertEquals(player1.getRating(), period.getRating(0).getRating(), 1e-9);
+            Assert.assertEquals(player1.getRatingDeviation(), period.getRating(0).getRatingDeviation(), 1e-9);
+            Assert.assertEquals(player2.getRating(), period.getRating(1).getRating(), 1e-9);
+            Assert.assertEquals(player2.getRatingDeviation(), period.getRating(1).getRatingDeviation(), 1e-9);
+        }
+    }
+
+    @Test
+    public void testParallelIsSameAsSequential() {
+        GlickoRatingPeriod sequential = new GlickoRatingPeriod();
+        GlickoRatingPeriod parallel = new GlickoRatingPeriod();
+        int players = 2000;
+        for (int i = 0; i < players; i++) {
+            GlickoRating rating = new GlickoRating(random.nextDouble() * 1000 + 1000, random.nextDouble() * 300 + 30, random.nextInt(1000));
+            sequential.addPlayer(rating);
+            parallel.addPlayer(rating);
+        }
+        for (int day = 1; day <= 10; day++) {
+            for (int i = 0; i < 5000; i++) {
+                int player1 = random.nextInt(players);
+                int player2 = (player1 + 1 + random.nextInt(players - 1)) % players;
+                double outcome = random.nextInt(3) / 2.0;
+                sequential.addMatch(player1, player2, outcome);
+                parallel.addMatch(player1, player2, outcome);
+            }
+            sequential.compute(day * 86400000L, false);
+            parallel.compute(day * 86400000L, true);
+        }
+        for (int i = 0; i < players; i++) {
+            Assert.assertEquals(sequential.getRating(i).getRating(), parallel.getRating(i).getRating(), 0);
+            Assert.assertEquals(sequential.getRating(i).getRatingDeviation(), parallel.getRating(i).getRatingDeviation(), 0);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.mage.test.serverside.record;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import mage.game.result.ResultProtos.TableProto;
+import mage.server.record.TableRecord;
+import mage.server.record.TableRecordRepository;
+import mage.server.record.TableRecorderImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TableRecorderTest {
+
+    @Test
+    public void testBatchWithFailingRecord() {
+        // after all records of earlier runs
+        long base = System.currentTimeMillis() * 1000;
+        TableRecord first = createRecord(base + 1);
+        TableRecord second = createRecord(base + 2);
+        TableRecord third = createRecord(base + 3);
+        long failed = TableRecorderImpl.instance.getFailedCount();
+
+        // the proto is unique, so inserting the first record again fails
+        int written = TableRecorderImpl.instance.write(Arrays.asList(first, second, createRecord(base + 1), third));
+
+        Assert.assertEquals(3, written);
+        Assert.assertEquals(failed + 1, TableRecorderImpl.instance.getFailedCount());
+        List<Long> endTimes = new ArrayList<>();
+        for (TableRecord record : TableRecordRepository.instance.getAfter(base)) {
+            // other tests write records after the same base
+            if (record.getProto().getEndTimeMs() <= base + 3) {
+                endTimes.add(record.getProto().getEndTimeMs());
+            }
+        }
+        // written once each, the failed batch was rolled back
+        Assert.assertEquals(Arrays.asList(base + 1, base + 2, base + 3), endTimes);
+    }
+
+    private static TableRecord createRecord(long endTimeMs) {
+        return new TableRecord(TableProto.newBuilder().setControllerName("test").setEndTimeMs(endTimeMs).build(), endTimeMs);
+    }
+}
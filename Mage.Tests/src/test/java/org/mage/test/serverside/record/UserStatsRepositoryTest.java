@@ -0,0 +1,130 @@
+package org.mage.test.serverside.record;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import mage.game.result.ResultProtos.GlickoRatingProto;
+import mage.game.result.ResultProtos.MatchOptionsProto;
+import mage.game.result.ResultProtos.MatchPlayerProto;
+import mage.game.result.ResultProtos.MatchProto;
+import mage.game.result.ResultProtos.MatchQuitStatus;
+import mage.game.result.ResultProtos.TableProto;
+import mage.game.result.ResultProtos.TourneyPlayerProto;
+import mage.game.result.ResultProtos.TourneyProto;
+import mage.game.result.ResultProtos.TourneyQuitStatus;
+import mage.game.result.ResultProtos.TourneyRoundProto;
+import mage.game.result.ResultProtos.UserStatsProto;
+import mage.server.record.TableRecord;
+import mage.server.record.TableRecordRepository;
+import mage.server.record.UserStats;
+import mage.server.record.UserStatsRepository;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class UserStatsRepositoryTest {
+
+    private static final int PLAYERS = 6;
+    private static final int TABLES = 60;
+    private static final long SHIFT_MS = 1000000;
+
+    @Test
+    public void testBatchedUpdateEqualsUpdatePerRecord() {
+        // after all records of earlier runs
+        long base = System.currentTimeMillis() * 1000;
+        String prefix = "stats" + base;
+
+        // the same tables for two sets of players, the second set a bit later
+        List<TableRecord> single = createRecords(new Random(7), prefix + "single", base);
+        List<TableRecord> batched = createRecords(new Random(7), prefix + "batched", base + SHIFT_MS);
+
+        for (TableRecord record : single) {
+            TableRecordRepository.instance.add(record);
+            UserStatsRepository.instance.updateUserStats();
+        }
+        for (TableRecord record : batched) {
+            TableRecordRepository.instance.add(record);
+        }
+        List<String> updated = UserStatsRepository.instance.updateUserStats();
+
+        Assert.assertEquals(PLAYERS, updated.size());
+        for (int i = 0; i < PLAYERS; i++) {
+            UserStats expected = UserStatsRepository.instance.getUser(prefix + "single" + i);
+            UserStats actual = UserStatsRepository.instance.getUser(prefix + "batched" + i);
+            Assert.assertNotNull(expected);
+            Assert.assertNotNull(actual);
+            Assert.assertEquals(expected.getEndTimeMs() + SHIFT_MS, actual.getEndTimeMs());
+            Assert.assertEquals(normalize(expected.getProto(), 0), normalize(actual.getProto(), SHIFT_MS));
+        }
+    }
+
+    private static List<TableRecord> createRecords(Random random, String playerPrefix, long base) {
+        List<TableRecord> records = new ArrayList<>();
+        for (int i = 0; i < TABLES; i++) {
+            long endTimeMs = base + i * 1000;
+            TableProto.Builder table = TableProto.newBuilder()
+                    .setControllerName(playerPrefix + random.nextInt(PLAYERS))
+                    .setEndTimeMs(endTimeMs);
+            if (random.nextInt(4) > 0) {
+                table.setMatch(createMatch(random, playerPrefix, endTimeMs));
+            } else {
+                TourneyProto.Builder tourney = TourneyProto.newBuilder();
+                for (String name : createNames(random, playerPrefix, 4)) {
+                    tourney.addPlayers(TourneyPlayerProto.newBuilder().setName(name)
+                            .setQuit(TourneyQuitStatus.values()[random.nextInt(4)]));
+                }
+                for (int round = 0; round < 2; round++) {
+                    tourney.addRounds(TourneyRoundProto.newBuilder()
+                            .addMatches(createMatch(random, playerPrefix, endTimeMs - 100))
+                            .addMatches(createMatch(random, playerPrefix, endTimeMs - 50)));
+                }
+                table.setTourney(tourney);
+            }
+            records.add(new TableRecord(table.build(), endTimeMs));
+        }
+        return records;
+    }
+
+    private static MatchProto createMatch(Random random, String playerPrefix, long endTimeMs) {
+        MatchProto.Builder match = MatchProto.newBuilder()
+                .setEndTimeMs(endTimeMs)
+                .setMatchOptions(MatchOptionsProto.newBuilder().setRated(random.nextInt(4) > 0).setLimited(random.nextBoolean()));
+        for (String name : createNames(random, playerPrefix, 2)) {
+            match.addPlayers(MatchPlayerProto.newBuilder().setName(name)
+                    .setWins(random.nextInt(3))
+                    .setQuit(random.nextInt(6) == 0 ? MatchQuitStatus.QUIT : MatchQuitStatus.NO_MATCH_QUIT)
+                    .setHuman(true));
+        }
+        return match.build();
+    }
+
+    private static Set<String> createNames(Random random, String playerPrefix, int count) {
+        Set<String> names = new LinkedHashSet<>();
+        while (names.size() < count) {
+            names.add(playerPrefix + random.nextInt(PLAYERS));
+        }
+        return names;
+    }
+
+    /**
+     * The stats without the player name and with the rating times moved back
+     */
+    private static UserStatsProto normalize(UserStatsProto proto, long shiftMs) {
+        UserStatsProto.Builder builder = UserStatsProto.newBuilder(proto).clearName();
+        if (proto.hasGeneralGlickoRating()) {
+            builder.setGeneralGlickoRating(normalize(proto.getGeneralGlickoRating(), shiftMs));
+        }
+        if (proto.hasConstructedGlickoRating()) {
+            builder.setConstructedGlickoRating(normalize(proto.getConstructedGlickoRating(), shiftMs));
+        }
+        if (proto.hasLimitedGlickoRating()) {
+            builder.setLimitedGlickoRating(normalize(proto.getLimitedGlickoRating(), shiftMs));
+        }
+        return builder.build();
+    }
+
+    private static GlickoRatingProto normalize(GlickoRatingProto proto, long shiftMs) {
+        return GlickoRatingProto.newBuilder(proto).setLastGameTimeMs(proto.getLastGameTimeMs() - shiftMs).build();
+    }
+}
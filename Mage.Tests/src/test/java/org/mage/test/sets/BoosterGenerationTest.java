@@ -2,8 +2,15 @@ package org.mage.test.sets;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import mage.abilities.Ability;
+import mage.abilities.MageSingleton;
 import mage.cards.Card;
 import mage.cards.repository.CardInfo;
 import mage.cards.repository.CardScanner;
@@ -99,6 +106,30 @@ public class BoosterGenerationTest extends MageTestBase {
         }
     }
 
+    @Test
+    public void testBoosterCardsAreNotShared() {
+        // the pools are kept between boosters, the cards must still be new objects
+        FateReforged.getInstance().prepareBoosterPools();
+        List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            cards.addAll(FateReforged.getInstance().createBooster());
+        }
+        Set<UUID> cardIds = new HashSet<>();
+        Set<UUID> abilityIds = new HashSet<>();
+        Set<Ability> abilities = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Card card : cards) {
+            assertTrue("card id used twice: " + card.getName(), cardIds.add(card.getId()));
+            for (Ability ability : card.getAbilities()) {
+                if (ability instanceof MageSingleton) {
+                    continue;
+                }
+                assertTrue("ability shared: " + card.getName() + " " + ability.getRule(), abilities.add(ability));
+                assertTrue("ability id used twice: " + card.getName() + " " + ability.getRule(), abilityIds.add(ability.getId()));
+                Assert.assertEquals(card.getId(), ability.getSourceId());
+            }
+        }
+    }
+
     private static String str(List<Card> cards) {
         StringBuilder sb = new StringBuilder("[");
         Iterator<Card> iterator = cards.iterator();
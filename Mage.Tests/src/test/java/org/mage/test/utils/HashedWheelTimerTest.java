@@ -0,0 +1,168 @@
+package org.mage.test.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import mage.utils.timer.HashedWheelTimer;
+import mage.utils.timer.HashedWheelTimer.Timeout;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HashedWheelTimerTest {
+
+    private static final long TICK_MS = 10;
+
+    private HashedWheelTimer timer;
+
+    @After
+    public void stopTimer() {
+        if (timer != null) {
+            timer.stop();
+        }
+    }
+
+    @Test
+    public void testScheduledTaskRunsAfterDelay() throws Exception {
+        timer = new HashedWheelTimer("test-timer", TICK_MS, TimeUnit.MILLISECONDS, 8, null);
+        CountDownLatch ran = new CountDownLatch(1);
+        AtomicLong runTime = new AtomicLong();
+        long start = System.nanoTime();
+        Timeout timeout = timer.schedule(() -> {
+            runTime.set(System.nanoTime());
+            ran.countDown();
+        }, 50, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(1, timer.getPendingTimeouts());
+        Assert.assertFalse(timeout.isDone());
+        Assert.assertTrue(timeout.getDelay(TimeUnit.MILLISECONDS) <= 50);
+
+        Assert.assertTrue(ran.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(runTime.get() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        Assert.assertTrue(timeout.isDone());
+        Assert.assertFalse(timeout.isCancelled());
+        Assert.assertEquals(0, timeout.getDelay(TimeUnit.MILLISECONDS));
+        Assert.assertEquals(0, timer.getPendingTimeouts());
+        // a task that has run can't be cancelled
+        Assert.assertFalse(timeout.cancel());
+    }
+
+    @Test
+    public void testTasksRunInOrderOfTheirDelay() throws Exception {
+        timer = new HashedWheelTimer("test-timer", TICK_MS, TimeUnit.MILLISECONDS, 8, null);
+        List<Integer> runs = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch ran = new CountDownLatch(4);
+        for (int delay : new int[]{60, 0, 30, 120}) {
+            timer.schedule(() -> {
+                runs.add(delay);
+                ran.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+        Assert.assertTrue(ran.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(Arrays.asList(0, 30, 60, 120), runs);
+    }
+
+    @Test
+    public void testCancelledTaskDoesNotRun() throws Exception {
+        timer = new HashedWheelTimer("test-timer", TICK_MS, TimeUnit.MILLISECONDS, 8, null);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch otherRan = new CountDownLatch(1);
+        Timeout cancelled = timer.schedule(runs::incrementAndGet, 20 * TICK_MS, TimeUnit.MILLISECONDS);
+        // cancelled after it was put into its bucket
+        Timeout cancelledLater = timer.schedule(runs::incrementAndGet, 20 * TICK_MS, TimeUnit.MILLISECONDS);
+        timer.schedule(otherRan::countDown, 25 * TICK_MS, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(3, timer.getPendingTimeouts());
+
+        Assert.assertTrue(cancelled.cancel());
+        Assert.assertFalse(cancelled.cancel());
+        Assert.assertTrue(cancelled.isCancelled());
+        Assert.assertTrue(cancelled.isDone());
+        Assert.assertEquals(2, timer.getPendingTimeouts());
+        TimeUnit.MILLISECONDS.sleep(3 * TICK_MS);
+        Assert.assertTrue(cancelledLater.cancel());
+        Assert.assertEquals(1, timer.getPendingTimeouts());
+
+        Assert.assertTrue(otherRan.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(0, runs.get());
+        Assert.assertEquals(0, timer.getPendingTimeouts());
+    }
+
+    @Test
+    public void testDelaysLongerThanTheWheel() throws Exception {
+        // the wheel covers 4 ticks, the timeouts have to wait several rounds
+        timer = new HashedWheelTimer("test-timer", TICK_MS, TimeUnit.MILLISECONDS, 3, null);
+        AtomicLong shortRun = new AtomicLong();
+        AtomicLong longRun = new AtomicLong();
+        CountDownLatch ran = new CountDownLatch(2);
+        long start = System.nanoTime();
+        timer.schedule(() -> {
+            shortRun.set(System.nanoTime());
+            ran.countDown();
+        }, 2 * TICK_MS, TimeUnit.MILLISECONDS);
+        // same bucket as the short timeout, 3 rounds later
+        timer.schedule(() -> {
+            longRun.set(System.nanoTime());
+            ran.countDown();
+        }, 14 * TICK_MS, TimeUnit.MILLISECONDS);
+
+        Assert.assertTrue(ran.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(shortRun.get() - start >= TimeUnit.MILLISECONDS.toNanos(2 * TICK_MS));
+        Assert.assertTrue(longRun.get() - start >= TimeUnit.MILLISECONDS.toNanos(14 * TICK_MS));
+        Assert.assertTrue(longRun.get() > shortRun.get());
+
+        // the tick counter is past the wheel size, new timeouts still get the right bucket
+        CountDownLatch ranLater = new CountDownLatch(1);
+        AtomicLong laterRun = new AtomicLong();
+        long later = System.nanoTime();
+        timer.schedule(() -> {
+            laterRun.set(System.nanoTime());
+            ranLater.countDown();
+        }, 9 * TICK_MS, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(ranLater.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(laterRun.get() - later >= TimeUnit.MILLISECONDS.toNanos(9 * TICK_MS));
+    }
+
+    @Test
+    public void testFixedRateUntilCancelled() throws Exception {
+        timer = new HashedWheelTimer("test-timer", TICK_MS, TimeUnit.MILLISECONDS, 8, null);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch ranThreeTimes = new CountDownLatch(3);
+        Timeout timeout = timer.scheduleAtFixedRate(() -> {
+            runs.incrementAndGet();
+            ranThreeTimes.countDown();
+        }, 0, 3 * TICK_MS, TimeUnit.MILLISECONDS);
+
+        Assert.assertTrue(ranThreeTimes.await(5, TimeUnit.SECONDS));
+        // a periodic task stays scheduled
+        Assert.assertFalse(timeout.isDone());
+        Assert.assertEquals(1, timer.getPendingTimeouts());
+        Assert.assertTrue(timeout.cancel());
+        Assert.assertEquals(0, timer.getPendingTimeouts());
+        int runsAfterCancel = runs.get();
+        TimeUnit.MILLISECONDS.sleep(10 * TICK_MS);
+        Assert.assertEquals(runsAfterCancel, runs.get());
+    }
+
+    @Test
+    public void testTaskErrorDoesNotStopTheTimer() throws Exception {
+        timer = new HashedWheelTimer("test-timer", TICK_MS, TimeUnit.MILLISECONDS, 8, null);
+        CountDownLatch ran = new CountDownLatch(1);
+        timer.schedule(() -> {
+            throw new IllegalStateException("test");
+        }, 0, TimeUnit.MILLISECONDS);
+        timer.schedule(ran::countDown, 2 * TICK_MS, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(ran.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testScheduleOnStoppedTimer() {
+        timer = new HashedWheelTimer("test-timer", TICK_MS, TimeUnit.MILLISECONDS, 8, null);
+        timer.stop();
+        timer.schedule(() -> {
+        }, 0, TimeUnit.MILLISECONDS);
+    }
+}
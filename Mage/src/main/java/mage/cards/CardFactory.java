@@ -0,0 +1,108 @@
+package mage.cards;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import mage.cards.repository.PluginClassloaderRegistery;
+
+/**
+ * Creates the cards of one card class.
+ *
+ * The constructors are looked up once per class and kept as method handles,
+ * the classes are cached by name, so creating a card needs no reflection
+ * lookups.
+ */
+public final class CardFactory {
+
+    private static final MethodType SET_INFO_CONSTRUCTOR = MethodType.methodType(void.class, UUID.class, CardSetInfo.class);
+    private static final MethodType OWNER_CONSTRUCTOR = MethodType.methodType(void.class, UUID.class);
+
+    private static final ConcurrentMap<String, Class<?>> classes = new ConcurrentHashMap<>();
+    private static final ClassValue<CardFactory> factories = new ClassValue<CardFactory>() {
+        @Override
+        protected CardFactory computeValue(Class<?> type) {
+            return new CardFactory(type);
+        }
+    };
+
+    private final Class<?> cardClass;
+    // (UUID, CardSetInfo)Card and (UUID)Card, null if the class has no such public constructor
+    private final MethodHandle setInfoConstructor;
+    private final MethodHandle ownerConstructor;
+
+    private CardFactory(Class<?> cardClass) {
+        this.cardClass = cardClass;
+        this.setInfoConstructor = findConstructor(cardClass, SET_INFO_CONSTRUCTOR);
+        this.ownerConstructor = findConstructor(cardClass, OWNER_CONSTRUCTOR);
+    }
+
+    public static CardFactory of(Class<?> cardClass) {
+        return factories.get(cardClass);
+    }
+
+    /**
+     * @param className card class, also searched in the plugin class loaders
+     * @return
+     * @throws ClassNotFoundException
+     */
+    public static CardFactory forName(String className) throws ClassNotFoundException {
+        Class<?> cardClass = classes.get(className);
+        if (cardClass == null) {
+            try {
+                cardClass = Class.forName(className);
+            } catch (ClassNotFoundException ex) {
+                try {
+                    cardClass = PluginClassloaderRegistery.forName(className);
+                } catch (ClassNotFoundException ex2) {
+                    throw ex;
+                }
+            }
+            classes.putIfAbsent(className, cardClass);
+        }
+        return of(cardClass);
+    }
+
+    public Class<?> getCardClass() {
+        return cardClass;
+    }
+
+    /**
+     * @param setInfo null to create the card with the constructor that only
+     * takes the owner
+     * @return new card without owner
+     * @throws NoSuchMethodException the class has no matching public
+     * constructor
+     * @throws InvocationTargetException the constructor failed
+     */
+    public Card create(CardSetInfo setInfo) throws NoSuchMethodException, InvocationTargetException {
+        MethodHandle constructor = setInfo == null ? ownerConstructor : setInfoConstructor;
+        if (constructor == null) {
+            throw new NoSuchMethodException(cardClass.getName() + ".<init>" + (setInfo == null ? OWNER_CONSTRUCTOR : SET_INFO_CONSTRUCTOR));
+        }
+        try {
+            if (setInfo == null) {
+                return (Card) constructor.invokeExact((UUID) null);
+            }
+            return (Card) constructor.invokeExact((UUID) null, setInfo);
+        } catch (Throwable t) {
+            // same as a reflective constructor call
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    private static MethodHandle findConstructor(Class<?> cardClass, MethodType type) {
+        if (!Card.class.isAssignableFrom(cardClass)) {
+            return null;
+        }
+        try {
+            MethodHandle constructor = MethodHandles.publicLookup().findConstructor(cardClass, type);
+            return constructor.asType(constructor.type().changeReturnType(Card.class));
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            return null;
+        }
+    }
+}
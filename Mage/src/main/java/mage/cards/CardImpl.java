@@ -27,7 +27,6 @@
  */
 package mage.cards;
 
-import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
 import mage.MageObject;
@@ -40,7 +39,6 @@ import mage.abilities.costs.VariableCost;
 import mage.abilities.costs.common.RemoveVariableCountersTargetCost;
 import mage.abilities.effects.common.NameACardEffect;
 import mage.abilities.mana.ActivatedManaAbilityImpl;
-import mage.cards.repository.PluginClassloaderRegistery;
 import mage.constants.*;
 import mage.counters.Counter;
 import mage.counters.CounterType;
@@ -152,6 +150,14 @@ public abstract class CardImpl extends MageObjectImpl implements Card {
         this.name = name;
     }
 
+    /**
+     * Copies the card. Only the frame color is shared with the original, all
+     * other characteristics (types, subtypes, mana cost, color and the
+     * abilities) are copied because the game changes them on the card
+     * objects. Cards don't share an immutable per class prototype.
+     *
+     * @param card
+     */
     public CardImpl(final CardImpl card) {
         super(card);
         ownerId = card.ownerId;
@@ -166,10 +172,17 @@ public abstract class CardImpl extends MageObjectImpl implements Card {
             nightCard = card.nightCard;
         }
         if (card.spellAbility != null) {
-            spellAbility = card.getSpellAbility().copy();
+            // the spell ability is usually one of the abilities, use that copy instead of a second one
+            if (card.abilities.get(card.spellAbility.getId()).orElse(null) == card.spellAbility) {
+                spellAbility = (SpellAbility) abilities.get(card.spellAbility.getId()).get();
+            } else {
+                spellAbility = card.getSpellAbility().copy();
+            }
         } else {
             spellAbility = null;
         }
+        // never changed after the card is created
+        frameColor = card.frameColor;
 
         flipCard = card.flipCard;
         flipCardName = card.flipCardName;
@@ -190,13 +203,8 @@ public abstract class CardImpl extends MageObjectImpl implements Card {
 
     public static Card createCard(String name, CardSetInfo setInfo) {
         try {
-            return createCard(Class.forName(name), setInfo);
+            return createCard(CardFactory.forName(name).getCardClass(), setInfo);
         } catch (ClassNotFoundException ex) {
-            try {
-                return createCard(PluginClassloaderRegistery.forName(name), setInfo);
-            } catch (ClassNotFoundException ex2) {
-                // ignored
-            }
             logger.fatal("Error loading card: " + name, ex);
             return null;
         }
@@ -209,16 +217,10 @@ public abstract class CardImpl extends MageObjectImpl implements Card {
     public static Card createCard(Class<?> clazz, CardSetInfo setInfo, List<String> errorList) {
         String setCode = null;
         try {
-            Card card;
-            if (setInfo == null) {
-                Constructor<?> con = clazz.getConstructor(UUID.class);
-                card = (Card) con.newInstance(new Object[]{null});
-            } else {
+            if (setInfo != null) {
                 setCode = setInfo.getExpansionSetCode();
-                Constructor<?> con = clazz.getConstructor(UUID.class, CardSetInfo.class);
-                card = (Card) con.newInstance(null, setInfo);
             }
-            return card;
+            return CardFactory.of(clazz).create(setInfo);
         } catch (Exception e) {
             String err = "Error loading card: " + clazz.getCanonicalName() + " (" + setCode + ")";
             if (errorList != null) {
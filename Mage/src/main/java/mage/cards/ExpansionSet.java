@@ -126,6 +126,7 @@ public abstract class ExpansionSet implements Serializable {
     protected int maxCardNumberInBooster; // used to omit cards with collector numbers beyond the regular cards in a set for boosters
 
     protected final EnumMap<Rarity, List<CardInfo>> savedCards;
+    protected final EnumMap<Rarity, List<CardInfo>> savedDoubleFacedCards;
 
     public ExpansionSet(String name, String code, Date releaseDate, SetType setType) {
         this.name = name;
@@ -134,6 +135,7 @@ public abstract class ExpansionSet implements Serializable {
         this.setType = setType;
         this.maxCardNumberInBooster = Integer.MAX_VALUE;
         savedCards = new EnumMap<>(Rarity.class);
+        savedDoubleFacedCards = new EnumMap<>(Rarity.class);
     }
 
     public String getName() {
@@ -198,6 +200,14 @@ public abstract class ExpansionSet implements Serializable {
         return theBooster;
     }
 
+    /**
+     * Moves a random card of the pool copy to the booster. The card is created
+     * from its card info and not copied from a prototype card, because copied
+     * cards share their singleton abilities and can't get own ids.
+     *
+     * @param booster
+     * @param cards
+     */
     protected void addToBooster(List<Card> booster, List<CardInfo> cards) {
         if (!cards.isEmpty()) {
             CardInfo cardInfo = cards.remove(RandomUtil.nextInt(cards.size()));
@@ -210,6 +220,31 @@ public abstract class ExpansionSet implements Serializable {
         }
     }
 
+    /**
+     * Loads the card pools of all booster slots (rarities, double faced and
+     * special cards), so creating boosters doesn't need to query the card DB.
+     * Called after the cards are scanned. The rarity and double faced pools
+     * are released by drafts and tournaments when their boosters are done
+     * (see {@link #removeSavedCards()}) and loaded again on first use.
+     */
+    public void prepareBoosterPools() {
+        if (!hasBoosters) {
+            return;
+        }
+        for (Rarity rarity : new Rarity[]{Rarity.LAND, Rarity.COMMON, Rarity.UNCOMMON, Rarity.RARE, Rarity.MYTHIC}) {
+            getCardsByRarity(rarity);
+            if (numBoosterDoubleFaced > 0) {
+                getDoubleFacedCardsByRarity(rarity);
+            }
+        }
+        getSpecialCommon();
+        getSpecialUncommon();
+        getSpecialRare();
+        getSpecialMythic();
+        getSpecialBonus();
+        getSpecialLand();
+    }
+
     public List<Card> createBooster() {
         if (needsLegends) {
             for (int i = 0; i < 100000; i++) {//don't want to somehow loop forever
@@ -284,20 +319,32 @@ public abstract class ExpansionSet implements Serializable {
      */
     public void addDoubleFace(List<Card> booster) {
         for (int i = 0; i < numBoosterDoubleFaced; i++) {
-            CardCriteria criteria = new CardCriteria();
-            criteria.setCodes(this.code).doubleFaced(true);
+            Rarity rarity;
             if (RandomUtil.nextInt(15) < 10) {
-                criteria.rarities(Rarity.COMMON);
+                rarity = Rarity.COMMON;
             } else if (RandomUtil.nextInt(5) < 4) {
-                criteria.rarities(Rarity.UNCOMMON);
+                rarity = Rarity.UNCOMMON;
             } else if (RandomUtil.nextInt(8) < 7) {
-                criteria.rarities(Rarity.RARE);
+                rarity = Rarity.RARE;
             } else {
-                criteria.rarities(Rarity.MYTHIC);
+                rarity = Rarity.MYTHIC;
             }
-            List<CardInfo> doubleFacedCards = CardRepository.instance.findCards(criteria);
-            addToBooster(booster, doubleFacedCards);
+            addToBooster(booster, getDoubleFacedCardsByRarity(rarity));
+        }
+    }
+
+    public synchronized List<CardInfo> getDoubleFacedCardsByRarity(Rarity rarity) {
+        List<CardInfo> savedCardsInfos = savedDoubleFacedCards.get(rarity);
+        if (savedCardsInfos == null) {
+            CardCriteria criteria = new CardCriteria();
+            criteria.setCodes(this.code);
+            criteria.rarities(rarity);
+            criteria.doubleFaced(true);
+            savedCardsInfos = CardRepository.instance.findCards(criteria);
+            savedDoubleFacedCards.put(rarity, Collections.unmodifiableList(savedCardsInfos));
         }
+        // Return a copy of the saved cards information, as not to let modify the original.
+        return new ArrayList<>(savedCardsInfos);
     }
 
     public static Date buildDate(int year, int month, int day) {
@@ -394,7 +441,7 @@ public abstract class ExpansionSet implements Serializable {
         return hasBasicLands;
     }
 
-    public List<CardInfo> getCardsByRarity(Rarity rarity) {
+    public synchronized List<CardInfo> getCardsByRarity(Rarity rarity) {
         List<CardInfo> savedCardsInfos = savedCards.get(rarity);
         if (savedCardsInfos == null) {
             CardCriteria criteria = new CardCriteria();
@@ -413,7 +460,7 @@ public abstract class ExpansionSet implements Serializable {
                 savedCardsInfos.removeIf(next -> next.getCardNumberAsInt() > maxCardNumberInBooster && rarity != Rarity.LAND);
             }
 
-            savedCards.put(rarity, savedCardsInfos);
+            savedCards.put(rarity, Collections.unmodifiableList(savedCardsInfos));
         }
         // Return a copy of the saved cards information, as not to let modify the original.
         return new ArrayList<>(savedCardsInfos);
@@ -447,8 +494,13 @@ public abstract class ExpansionSet implements Serializable {
         return setType == SetType.CUSTOM_SET;
     }
 
-    public void removeSavedCards() {
+    /**
+     * Releases the rarity and double faced card pools, the small special slot
+     * pools of the sets are kept
+     */
+    public synchronized void removeSavedCards() {
         savedCards.clear();
+        savedDoubleFacedCards.clear();
     }
 
     public int getMaxCardNumberInBooster() {
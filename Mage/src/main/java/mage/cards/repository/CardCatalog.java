@@ -0,0 +1,331 @@
+package mage.cards.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import mage.constants.CardType;
+import mage.constants.ColoredManaSymbol;
+import mage.constants.Rarity;
+
+/**
+ * Immutable in-memory copy of the cards of the card database with hash indexes
+ * for the frequent lookups.
+ *
+ * The catalog is built from the database once and replaced when cards are
+ * added, the database stays the persistent source. All lists keep the order
+ * of the cards in the database.
+ */
+public final class CardCatalog {
+
+    private final List<CardInfo> cards;
+    private final Map<CardInfo, Integer> positions = new IdentityHashMap<>();
+    private final Map<String, List<CardInfo>> byName = new HashMap<>();
+    private final Map<String, List<CardInfo>> byLowerCaseName = new HashMap<>();
+    private final Map<String, CardInfo> bySetAndNumber = new HashMap<>();
+    private final Map<String, CardInfo> byClassName = new HashMap<>();
+    private final Map<String, List<CardInfo>> bySet = new HashMap<>();
+    private final Map<Rarity, List<CardInfo>> byRarity = new EnumMap<>(Rarity.class);
+    private final Map<CardType, List<CardInfo>> byType = new EnumMap<>(CardType.class);
+    // W, U, B, R, G and O for the colorless cards
+    private final Map<ColoredManaSymbol, List<CardInfo>> byColor = new EnumMap<>(ColoredManaSymbol.class);
+    private final SortedSet<String> names;
+    private final SortedSet<String> nonLandNames;
+    private final SortedSet<String> creatureNames;
+    private final SortedSet<String> artifactNames;
+    private final SortedSet<String> nonLandAndNonCreatureNames;
+    private final SortedSet<String> nonArtifactAndNonLandNames;
+
+    /**
+     * @param cards all cards in the order of the database
+     */
+    public CardCatalog(List<CardInfo> cards) {
+        this.cards = Collections.unmodifiableList(new ArrayList<>(cards));
+        for (CardInfo card : this.cards) {
+            positions.put(card, positions.size());
+            add(byName, card.getName(), card);
+            if (card.getName() != null) {
+                add(byLowerCaseName, card.getName().toLowerCase(Locale.ENGLISH), card);
+            }
+            if (!card.isNightCard()) {
+                bySetAndNumber.putIfAbsent(setAndNumber(card.getSetCode(), card.getCardNumber()), card);
+            }
+            if (card.getClassName() != null) {
+                byClassName.putIfAbsent(card.getClassName(), card);
+            }
+            add(bySet, card.getSetCode(), card);
+            if (card.getRarity() != null) {
+                add(byRarity, card.getRarity(), card);
+            }
+            for (CardType type : CardType.values()) {
+                if (hasType(card, type)) {
+                    add(byType, type, card);
+                }
+            }
+            if (card.white) {
+                add(byColor, ColoredManaSymbol.W, card);
+            }
+            if (card.blue) {
+                add(byColor, ColoredManaSymbol.U, card);
+            }
+            if (card.black) {
+                add(byColor, ColoredManaSymbol.B, card);
+            }
+            if (card.red) {
+                add(byColor, ColoredManaSymbol.R, card);
+            }
+            if (card.green) {
+                add(byColor, ColoredManaSymbol.G, card);
+            }
+            if (!card.white && !card.blue && !card.black && !card.red && !card.green) {
+                add(byColor, ColoredManaSymbol.O, card);
+            }
+        }
+        for (Map<?, List<CardInfo>> index : Arrays.asList(byName, byLowerCaseName, bySet, byRarity, byType, byColor)) {
+            index.replaceAll((key, list) -> Collections.unmodifiableList(list));
+        }
+        names = collectNames(card -> true);
+        nonLandNames = collectNames(card -> !hasType(card, CardType.LAND));
+        creatureNames = collectNames(card -> hasType(card, CardType.CREATURE));
+        artifactNames = collectNames(card -> hasType(card, CardType.ARTIFACT));
+        nonLandAndNonCreatureNames = collectNames(card -> !hasType(card, CardType.CREATURE) && !hasType(card, CardType.LAND));
+        nonArtifactAndNonLandNames = collectNames(card -> !hasType(card, CardType.ARTIFACT) && !hasType(card, CardType.LAND));
+    }
+
+    public int size() {
+        return cards.size();
+    }
+
+    public List<CardInfo> getAll() {
+        return cards;
+    }
+
+    public List<CardInfo> findByName(String name) {
+        return byName.getOrDefault(name, Collections.emptyList());
+    }
+
+    public List<CardInfo> findByNameIgnoreCase(String name) {
+        return byLowerCaseName.getOrDefault(name.toLowerCase(Locale.ENGLISH), Collections.emptyList());
+    }
+
+    /**
+     * @param setCode
+     * @param cardNumber
+     * @return day side of the card, null if not found
+     */
+    public CardInfo findBySetAndNumber(String setCode, String cardNumber) {
+        return bySetAndNumber.get(setAndNumber(setCode, cardNumber));
+    }
+
+    public CardInfo findByClassName(String className) {
+        return byClassName.get(className);
+    }
+
+    public List<CardInfo> findBySet(String setCode) {
+        return bySet.getOrDefault(setCode, Collections.emptyList());
+    }
+
+    public List<CardInfo> findByRarity(Rarity rarity) {
+        return byRarity.getOrDefault(rarity, Collections.emptyList());
+    }
+
+    public List<CardInfo> findByType(CardType type) {
+        return byType.getOrDefault(type, Collections.emptyList());
+    }
+
+    /**
+     * @param color W, U, B, R, G or O for the colorless cards
+     * @return
+     */
+    public List<CardInfo> findByColor(ColoredManaSymbol color) {
+        return byColor.getOrDefault(color, Collections.emptyList());
+    }
+
+    /**
+     * Names of all cards, the halves of split cards are separate names
+     *
+     * @return
+     */
+    public SortedSet<String> getNames() {
+        return names;
+    }
+
+    public SortedSet<String> getNonLandNames() {
+        return nonLandNames;
+    }
+
+    public SortedSet<String> getCreatureNames() {
+        return creatureNames;
+    }
+
+    public SortedSet<String> getArtifactNames() {
+        return artifactNames;
+    }
+
+    public SortedSet<String> getNonLandAndNonCreatureNames() {
+        return nonLandAndNonCreatureNames;
+    }
+
+    public SortedSet<String> getNonArtifactAndNonLandNames() {
+        return nonArtifactAndNonLandNames;
+    }
+
+    /**
+     * Finds the cards without SQL. The smallest index that fits the criteria
+     * is used to get the candidates, they are checked with the criteria
+     * matcher.
+     *
+     * @param criteria
+     * @return the matching cards in the database order
+     */
+    public List<CardInfo> find(CardCriteria criteria) {
+        Predicate<CardInfo> matcher = criteria.matcher();
+        List<CardInfo> result = new ArrayList<>();
+        long skip = criteria.getStart() == null ? 0 : criteria.getStart();
+        long count = criteria.getCount() == null ? Long.MAX_VALUE : criteria.getCount();
+        for (CardInfo card : getCandidates(criteria)) {
+            if (result.size() >= count) {
+                break;
+            }
+            if (matcher.test(card)) {
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    result.add(card);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param classNames
+     * @return cards whose class name is not in the given names
+     */
+    public List<CardInfo> findMissing(Collection<String> classNames) {
+        Set<String> known = new HashSet<>(classNames);
+        List<CardInfo> result = new ArrayList<>();
+        for (CardInfo card : cards) {
+            if (card.getClassName() != null && !known.contains(card.getClassName())) {
+                result.add(card);
+            }
+        }
+        return result;
+    }
+
+    private List<CardInfo> getCandidates(CardCriteria criteria) {
+        List<List<CardInfo>> best = null;
+        int bestSize = cards.size();
+        if (!criteria.getSetCodes().isEmpty()) {
+            List<List<CardInfo>> lists = new ArrayList<>();
+            for (String setCode : criteria.getSetCodes()) {
+                lists.add(findBySet(setCode));
+            }
+            if (size(lists) < bestSize) {
+                best = lists;
+                bestSize = size(lists);
+            }
+        }
+        String nameExact = criteria.getNameExact();
+        if (nameExact != null && nameExact.indexOf('%') < 0 && nameExact.indexOf('_') < 0
+                && findByName(nameExact).size() < bestSize) {
+            best = Collections.singletonList(findByName(nameExact));
+            bestSize = best.get(0).size();
+        }
+        if (!criteria.getRarities().isEmpty()) {
+            List<List<CardInfo>> lists = new ArrayList<>();
+            for (Rarity rarity : new HashSet<>(criteria.getRarities())) {
+                lists.add(findByRarity(rarity));
+            }
+            if (size(lists) < bestSize) {
+                best = lists;
+                bestSize = size(lists);
+            }
+        }
+        if (!criteria.getColorSelection().isEmpty()) {
+            List<List<CardInfo>> lists = new ArrayList<>();
+            for (ColoredManaSymbol color : criteria.getColorSelection()) {
+                lists.add(findByColor(color));
+            }
+            if (size(lists) < bestSize) {
+                best = lists;
+                bestSize = size(lists);
+            }
+        }
+        if (criteria.isTypeSelection()) {
+            List<List<CardInfo>> lists = new ArrayList<>();
+            for (CardType type : new HashSet<>(criteria.getTypes())) {
+                lists.add(findByType(type));
+            }
+            if (size(lists) < bestSize) {
+                best = lists;
+                bestSize = size(lists);
+            }
+        }
+        if (best == null) {
+            return cards;
+        }
+        if (best.size() == 1) {
+            return best.get(0);
+        }
+        // a card can be in several lists (e.g. artifact creatures), they are merged in the database order
+        Set<CardInfo> merged = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (List<CardInfo> list : best) {
+            merged.addAll(list);
+        }
+        List<CardInfo> candidates = new ArrayList<>(merged);
+        candidates.sort((c1, c2) -> Integer.compare(positions.get(c1), positions.get(c2)));
+        return candidates;
+    }
+
+    private SortedSet<String> collectNames(Predicate<CardInfo> filter) {
+        SortedSet<String> result = new TreeSet<>();
+        for (CardInfo card : cards) {
+            if (card.getName() == null || !filter.test(card)) {
+                continue;
+            }
+            int index = card.getName().indexOf(" // ");
+            if (index > 0) {
+                result.add(card.getName().substring(0, index));
+                result.add(card.getName().substring(index + 4));
+            } else {
+                result.add(card.getName());
+            }
+        }
+        return Collections.unmodifiableSortedSet(result);
+    }
+
+    /**
+     * Same check as the LIKE '%TYPE%' of the database queries
+     */
+    static boolean hasType(CardInfo card, CardType type) {
+        return card.types != null && card.types.contains(type.name());
+    }
+
+    private static String setAndNumber(String setCode, String cardNumber) {
+        return setCode + '/' + cardNumber;
+    }
+
+    private static int size(List<List<CardInfo>> lists) {
+        int size = 0;
+        for (List<CardInfo> list : lists) {
+            size += list.size();
+        }
+        return size;
+    }
+
+    private static <K> void add(Map<K, List<CardInfo>> index, K key, CardInfo card) {
+        index.computeIfAbsent(key, k -> new ArrayList<>()).add(card);
+    }
+}
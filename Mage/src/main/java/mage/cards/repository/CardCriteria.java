@@ -34,7 +34,10 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
 import mage.constants.CardType;
+import mage.constants.ColoredManaSymbol;
 import mage.constants.Rarity;
 
 /**
@@ -202,6 +205,189 @@ public class CardCriteria {
         return this;
     }
 
+    public String getNameExact() {
+        return nameExact;
+    }
+
+    public List<String> getSetCodes() {
+        return setCodes;
+    }
+
+    public List<Rarity> getRarities() {
+        return rarities;
+    }
+
+    public List<CardType> getTypes() {
+        return types;
+    }
+
+    /**
+     * @return true if the types restrict the cards (not all types selected)
+     */
+    public boolean isTypeSelection() {
+        return !types.isEmpty() && types.size() != 7;
+    }
+
+    /**
+     * @return selected colors (O for colorless) if the colors restrict the
+     * cards, otherwise empty
+     */
+    public List<ColoredManaSymbol> getColorSelection() {
+        List<ColoredManaSymbol> colors = new ArrayList<>();
+        if (!black || !blue || !green || !red || !white || !colorless) {
+            if (white) {
+                colors.add(ColoredManaSymbol.W);
+            }
+            if (blue) {
+                colors.add(ColoredManaSymbol.U);
+            }
+            if (black) {
+                colors.add(ColoredManaSymbol.B);
+            }
+            if (red) {
+                colors.add(ColoredManaSymbol.R);
+            }
+            if (green) {
+                colors.add(ColoredManaSymbol.G);
+            }
+            if (colorless) {
+                colors.add(ColoredManaSymbol.O);
+            }
+        }
+        return colors;
+    }
+
+    public Long getStart() {
+        return start;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public String getSortBy() {
+        return sortBy;
+    }
+
+    /**
+     * Matcher with the same conditions as the query of {@link #buildQuery},
+     * used to search the {@link CardCatalog} without SQL (start, count and
+     * sort order are not part of the matcher)
+     *
+     * @return
+     */
+    public Predicate<CardInfo> matcher() {
+        List<Predicate<CardInfo>> conditions = new ArrayList<>();
+        conditions.add(card -> !card.nightCard && !card.splitCardHalf);
+        if (name != null) {
+            Predicate<String> like = like('%' + name + '%');
+            conditions.add(card -> like.test(card.name));
+        }
+        if (nameExact != null) {
+            Predicate<String> like = like(nameExact);
+            conditions.add(card -> like.test(card.name));
+        }
+        if (rules != null) {
+            Predicate<String> like = like('%' + rules + '%');
+            conditions.add(card -> like.test(card.rules));
+        }
+        if (doubleFaced != null) {
+            boolean value = doubleFaced;
+            conditions.add(card -> card.doubleFaced == value);
+        }
+        if (!rarities.isEmpty()) {
+            List<Rarity> values = new ArrayList<>(rarities);
+            conditions.add(card -> values.contains(card.rarity));
+        }
+        if (!setCodes.isEmpty()) {
+            List<String> values = new ArrayList<>(setCodes);
+            conditions.add(card -> values.contains(card.setCode));
+        }
+        if (isTypeSelection()) {
+            List<CardType> values = new ArrayList<>(types);
+            conditions.add(card -> values.stream().anyMatch(type -> CardCatalog.hasType(card, type)));
+        }
+        for (CardType type : notTypes) {
+            conditions.add(card -> card.types != null && !CardCatalog.hasType(card, type));
+        }
+        for (String superType : supertypes) {
+            Predicate<String> like = like('%' + superType + '%');
+            conditions.add(card -> like.test(card.supertypes));
+        }
+        for (String superType : notSupertypes) {
+            Predicate<String> like = like('%' + superType + '%');
+            conditions.add(card -> card.supertypes != null && !like.test(card.supertypes));
+        }
+        for (String subType : subtypes) {
+            Predicate<String> like = like('%' + subType + '%');
+            conditions.add(card -> like.test(card.subtypes));
+        }
+        if (convertedManaCost != null) {
+            int value = convertedManaCost;
+            conditions.add(card -> card.convertedManaCost == value);
+        }
+        List<ColoredManaSymbol> colors = getColorSelection();
+        if (!colors.isEmpty()) {
+            conditions.add(card -> (colors.contains(ColoredManaSymbol.W) && card.white)
+                    || (colors.contains(ColoredManaSymbol.U) && card.blue)
+                    || (colors.contains(ColoredManaSymbol.B) && card.black)
+                    || (colors.contains(ColoredManaSymbol.R) && card.red)
+                    || (colors.contains(ColoredManaSymbol.G) && card.green)
+                    || (colors.contains(ColoredManaSymbol.O) && !card.white && !card.blue && !card.black && !card.red && !card.green));
+        }
+        if (minCardNumber != Integer.MIN_VALUE) {
+            int value = minCardNumber;
+            conditions.add(card -> card.getCardNumberAsInt() >= value);
+        }
+        if (maxCardNumber != Integer.MAX_VALUE) {
+            int value = maxCardNumber;
+            conditions.add(card -> card.getCardNumberAsInt() <= value);
+        }
+        return card -> {
+            for (Predicate<CardInfo> condition : conditions) {
+                if (!condition.test(card)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * @param pattern pattern of a SQL LIKE (% and _ as wildcards)
+     * @return matcher of the pattern, null values never match
+     */
+    private static Predicate<String> like(String pattern) {
+        if (pattern.indexOf('_') < 0) {
+            String inner = pattern.length() >= 2 && pattern.startsWith("%") && pattern.endsWith("%")
+                    ? pattern.substring(1, pattern.length() - 1) : null;
+            if (pattern.indexOf('%') < 0) {
+                return value -> value != null && value.equals(pattern);
+            }
+            if (inner != null && inner.indexOf('%') < 0) {
+                return value -> value != null && value.contains(inner);
+            }
+        }
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : pattern.toCharArray()) {
+            if (c == '%' || c == '_') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '%' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        Pattern compiled = Pattern.compile(regex.toString(), Pattern.DOTALL);
+        return value -> value != null && compiled.matcher(value).matches();
+    }
+
     public void buildQuery(QueryBuilder qb) throws SQLException {
         Where where = qb.where();
         where.eq("nightCard", false);
@@ -29,11 +29,8 @@ package mage.cards.repository;
 
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.DaoManager;
-import com.j256.ormlite.dao.GenericRawResults;
 import com.j256.ormlite.jdbc.JdbcConnectionSource;
 import com.j256.ormlite.stmt.QueryBuilder;
-import com.j256.ormlite.stmt.SelectArg;
-import com.j256.ormlite.stmt.Where;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.table.TableUtils;
@@ -41,7 +38,6 @@ import java.io.File;
 import java.sql.SQLException;
 import java.util.*;
 import mage.cards.CardSetInfo;
-import mage.constants.CardType;
 import mage.constants.SetType;
 import mage.util.RandomUtil;
 import org.apache.log4j.Logger;
@@ -59,8 +55,12 @@ public enum CardRepository {
     private static final long CARD_DB_VERSION = 51;
     // raise this if new cards were added to the server
     private static final long CARD_CONTENT_VERSION = 106;
+    private static final int ADD_BATCH_SIZE = 2000;
     private Dao<CardInfo, Object> cardDao;
     private Set<String> classNames;
+    private volatile QueryListener queryListener;
+    // built on first use, replaced when cards are added
+    private volatile CardCatalog catalog;
 
     CardRepository() {
         File file = new File("db");
@@ -82,22 +82,78 @@ public enum CardRepository {
         }
     }
 
+    /**
+     * @param queryListener gets the duration of the card queries, null for
+     * none
+     */
+    public void setQueryListener(QueryListener queryListener) {
+        this.queryListener = queryListener;
+    }
+
+    private void queryDone(String query, long startNanos) {
+        QueryListener listener = queryListener;
+        if (listener != null) {
+            listener.queryDone("CardRepository", query, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * @return in-memory catalog of all cards of the database
+     */
+    public CardCatalog getCatalog() {
+        CardCatalog current = catalog;
+        if (current == null) {
+            synchronized (this) {
+                current = catalog;
+                if (current == null) {
+                    current = loadCatalog();
+                }
+            }
+        }
+        return current;
+    }
+
+    private CardCatalog loadCatalog() {
+        long start = System.nanoTime();
+        try {
+            CardCatalog loaded = new CardCatalog(cardDao.queryForAll());
+            catalog = loaded;
+            return loaded;
+        } catch (SQLException ex) {
+            // not kept, the next call tries again
+            Logger.getLogger(CardRepository.class).error("Error loading the card catalog from DB : " + ex);
+            return new CardCatalog(Collections.emptyList());
+        } finally {
+            queryDone("loadCatalog", start);
+        }
+    }
+
+    /**
+     * Adds the cards in transactions of {@link #ADD_BATCH_SIZE} cards
+     *
+     * @param cards
+     */
     public void addCards(final List<CardInfo> cards) {
         try {
-            cardDao.callBatchTasks(() -> {
-                try {
-                    for (CardInfo card : cards) {
-                        cardDao.create(card);
-                        if (classNames != null) {
-                            classNames.add(card.getClassName());
+            for (int from = 0; from < cards.size(); from += ADD_BATCH_SIZE) {
+                List<CardInfo> batch = cards.subList(from, Math.min(cards.size(), from + ADD_BATCH_SIZE));
+                cardDao.callBatchTasks(() -> {
+                    try {
+                        for (CardInfo card : batch) {
+                            cardDao.create(card);
+                            if (classNames != null) {
+                                classNames.add(card.getClassName());
+                            }
                         }
+                    } catch (SQLException ex) {
+                        Logger.getLogger(CardRepository.class).error("Error adding cards to DB - ", ex);
                     }
-                } catch (SQLException ex) {
-                    Logger.getLogger(CardRepository.class).error("Error adding cards to DB - ", ex);
-                }
-                return null;
-            });
+                    return null;
+                });
+            }
         } catch (Exception ex) {
+        } finally {
+            catalog = null;
         }
     }
 
@@ -136,182 +192,43 @@ public enum CardRepository {
     }
 
     public Set<String> getNames() {
-        Set<String> names = new TreeSet<>();
-        try {
-            QueryBuilder<CardInfo, Object> qb = cardDao.queryBuilder();
-            qb.distinct().selectColumns("name");
-            List<CardInfo> results = cardDao.query(qb.prepare());
-            for (CardInfo card : results) {
-                int result = card.getName().indexOf(" // ");
-                if (result > 0) {
-                    names.add(card.getName().substring(0, result));
-                    names.add(card.getName().substring(result + 4));
-                } else {
-                    names.add(card.getName());
-                }
-            }
-        } catch (SQLException ex) {
-            Logger.getLogger(CardRepository.class).error("Error getting names from DB : " + ex);
-        }
-        return names;
+        return new TreeSet<>(getCatalog().getNames());
     }
 
     public Set<String> getNonLandNames() {
-        Set<String> names = new TreeSet<>();
-        try {
-            QueryBuilder<CardInfo, Object> qb = cardDao.queryBuilder();
-            qb.distinct().selectColumns("name");
-            qb.where().not().like("types", new SelectArg('%' + CardType.LAND.name() + '%'));
-            List<CardInfo> results = cardDao.query(qb.prepare());
-            for (CardInfo card : results) {
-                int result = card.getName().indexOf(" // ");
-                if (result > 0) {
-                    names.add(card.getName().substring(0, result));
-                    names.add(card.getName().substring(result + 4));
-                } else {
-                    names.add(card.getName());
-                }
-            }
-        } catch (SQLException ex) {
-            Logger.getLogger(CardRepository.class).error("Error getting non-land names from DB : " + ex);
-
-        }
-        return names;
+        return new TreeSet<>(getCatalog().getNonLandNames());
     }
 
     public Set<String> getCreatureNames() {
-        Set<String> names = new TreeSet<>();
-        try {
-            QueryBuilder<CardInfo, Object> qb = cardDao.queryBuilder();
-            qb.distinct().selectColumns("name");
-            qb.where().like("types", new SelectArg('%' + CardType.CREATURE.name() + '%'));
-            List<CardInfo> results = cardDao.query(qb.prepare());
-            for (CardInfo card : results) {
-                int result = card.getName().indexOf(" // ");
-                if (result > 0) {
-                    names.add(card.getName().substring(0, result));
-                    names.add(card.getName().substring(result + 4));
-                } else {
-                    names.add(card.getName());
-                }
-            }
-        } catch (SQLException ex) {
-            Logger.getLogger(CardRepository.class).error("Error getting creature names from DB : " + ex);
-
-        }
-        return names;
+        return new TreeSet<>(getCatalog().getCreatureNames());
     }
 
     public Set<String> getArtifactNames() {
-        Set<String> names = new TreeSet<>();
-        try {
-            QueryBuilder<CardInfo, Object> qb = cardDao.queryBuilder();
-            qb.distinct().selectColumns("name");
-            qb.where().like("types", new SelectArg('%' + CardType.ARTIFACT.name() + '%'));
-            List<CardInfo> results = cardDao.query(qb.prepare());
-            for (CardInfo card : results) {
-                int result = card.getName().indexOf(" // ");
-                if (result > 0) {
-                    names.add(card.getName().substring(0, result));
-                    names.add(card.getName().substring(result + 4));
-                } else {
-                    names.add(card.getName());
-                }
-            }
-        } catch (SQLException ex) {
-            Logger.getLogger(CardRepository.class).error("Error getting artifact names from DB : " + ex);
-
-        }
-        return names;
+        return new TreeSet<>(getCatalog().getArtifactNames());
     }
 
     public Set<String> getNonLandAndNonCreatureNames() {
-        Set<String> names = new TreeSet<>();
-        try {
-            QueryBuilder<CardInfo, Object> qb = cardDao.queryBuilder();
-            qb.distinct().selectColumns("name");
-            Where where = qb.where();
-            where.and(where.not().like("types", '%' + CardType.CREATURE.name() + '%'), where.not().like("types", '%' + CardType.LAND.name() + '%'));
-            List<CardInfo> results = cardDao.query(qb.prepare());
-            for (CardInfo card : results) {
-                int result = card.getName().indexOf(" // ");
-                if (result > 0) {
-                    names.add(card.getName().substring(0, result));
-                    names.add(card.getName().substring(result + 4));
-                } else {
-                    names.add(card.getName());
-                }
-            }
-        } catch (SQLException ex) {
-            Logger.getLogger(CardRepository.class).error("Error getting non-land and non-creature names from DB : " + ex);
-        }
-        return names;
+        return new TreeSet<>(getCatalog().getNonLandAndNonCreatureNames());
     }
 
     public Set<String> getNonArtifactAndNonLandNames() {
-        Set<String> names = new TreeSet<>();
-        try {
-            QueryBuilder<CardInfo, Object> qb = cardDao.queryBuilder();
-            qb.distinct().selectColumns("name");
-            Where where = qb.where();
-            where.and(where.not().like("types", '%' + CardType.ARTIFACT.name() + '%'), where.not().like("types", '%' + CardType.LAND.name() + '%'));
-            List<CardInfo> results = cardDao.query(qb.prepare());
-            for (CardInfo card : results) {
-                int result = card.getName().indexOf(" // ");
-                if (result > 0) {
-                    names.add(card.getName().substring(0, result));
-                    names.add(card.getName().substring(result + 4));
-                } else {
-                    names.add(card.getName());
-                }
-            }
-        } catch (SQLException ex) {
-            Logger.getLogger(CardRepository.class).error("Error getting non-artifact non-land names from DB : " + ex);
-
-        }
-        return names;
+        return new TreeSet<>(getCatalog().getNonArtifactAndNonLandNames());
     }
 
     public CardInfo findCard(String setCode, String cardNumber) {
-        try {
-            QueryBuilder<CardInfo, Object> queryBuilder = cardDao.queryBuilder();
-            queryBuilder.limit(1L).where().eq("setCode", new SelectArg(setCode)).and().eq("cardNumber", cardNumber).and().eq("nightCard", false);
-            List<CardInfo> result = cardDao.query(queryBuilder.prepare());
-            if (!result.isEmpty()) {
-                return result.get(0);
-            }
-        } catch (SQLException ex) {
-            Logger.getLogger(CardRepository.class).error("Error finding card from DB : " + ex);
-
-        }
-        return null;
+        return getCatalog().findBySetAndNumber(setCode, cardNumber);
     }
 
     public List<String> getClassNames() {
         List<String> names = new ArrayList<>();
-        try {
-            List<CardInfo> results = cardDao.queryForAll();
-            for (CardInfo card : results) {
-                names.add(card.getClassName());
-            }
-        } catch (SQLException ex) {
-            Logger.getLogger(CardRepository.class).error("Error getting classnames from DB : " + ex);
+        for (CardInfo card : getCatalog().getAll()) {
+            names.add(card.getClassName());
         }
         return names;
     }
 
     public List<CardInfo> getMissingCards(List<String> classNames) {
-        try {
-            QueryBuilder<CardInfo, Object> queryBuilder = cardDao.queryBuilder();
-            queryBuilder.where().not().in("className", classNames);
-
-            return cardDao.query(queryBuilder.prepare());
-        } catch (SQLException ex) {
-            Logger.getLogger(CardRepository.class).error("Error getting missing cards from DB : " + ex);
-
-        }
-
-        return Collections.emptyList();
+        return getCatalog().findMissing(classNames);
     }
 
     /**
@@ -386,33 +303,19 @@ public enum CardRepository {
     }
 
     public List<CardInfo> findCards(String name) {
-        try {
-            QueryBuilder<CardInfo, Object> queryBuilder = cardDao.queryBuilder();
-            queryBuilder.where().eq("name", new SelectArg(name));
-            return cardDao.query(queryBuilder.prepare());
-        } catch (SQLException ex) {
-        }
-        return Collections.emptyList();
+        return new ArrayList<>(getCatalog().findByName(name));
     }
 
     public List<CardInfo> findCardsCaseInsensitive(String name) {
-        try {
-            String sqlName = name.toLowerCase(Locale.ENGLISH).replaceAll("\'", "\'\'");
-            GenericRawResults<CardInfo> rawResults = cardDao.queryRaw(
-                    "select * from " + CardRepository.VERSION_ENTITY_NAME + " where lower(name) = '" + sqlName + '\'',
-                    cardDao.getRawRowMapper());
-            List<CardInfo> result = new ArrayList<>();
-            for (CardInfo cardinfo : rawResults) {
-                result.add(cardinfo);
-            }
-            return result;
-        } catch (SQLException ex) {
-            Logger.getLogger(CardRepository.class).error("Error during execution of raw sql statement", ex);
-        }
-        return Collections.emptyList();
+        return new ArrayList<>(getCatalog().findByNameIgnoreCase(name));
     }
 
     public List<CardInfo> findCards(CardCriteria criteria) {
+        if (criteria.getSortBy() == null) {
+            return getCatalog().find(criteria);
+        }
+        // sorted queries are rare, they still use the database
+        long start = System.nanoTime();
         try {
             QueryBuilder<CardInfo, Object> queryBuilder = cardDao.queryBuilder();
             criteria.buildQuery(queryBuilder);
@@ -420,6 +323,8 @@ public enum CardRepository {
             return cardDao.query(queryBuilder.prepare());
         } catch (SQLException ex) {
             Logger.getLogger(CardRepository.class).error("Error during execution of card repository query statement", ex);
+        } finally {
+            queryDone("findCardsByCriteria", start);
         }
         return Collections.emptyList();
     }
@@ -463,6 +368,7 @@ public enum CardRepository {
         try {
             ConnectionSource connectionSource = new JdbcConnectionSource(JDBC_URL);
             cardDao = DaoManager.createDao(connectionSource, CardInfo.class);
+            catalog = null;
         } catch (SQLException ex) {
             Logger.getLogger(CardRepository.class).error("Error opening card repository - ", ex);
         }
@@ -28,7 +28,11 @@
 package mage.cards.repository;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 import mage.cards.*;
 import org.apache.log4j.Logger;
 
@@ -52,7 +56,6 @@ public final class CardScanner {
         }
         scanned = true;
 
-        List<CardInfo> cardsToAdd = new ArrayList<>();
         int setsUpdatedCount = 0;
         int setsAddedCount = 0;
 
@@ -81,29 +84,80 @@ public final class CardScanner {
             logger.info("DB: need to update " + setsUpdatedCount + " sets");
         }
 
+        // the existing cards are loaded with one query and compared in memory
+        CardCatalog catalog = CardRepository.instance.getCatalog();
+        List<MissingCard> missingCards = new ArrayList<>();
         for (ExpansionSet set : Sets.getInstance().values()) {
             for (ExpansionSet.SetCardInfo setInfo : set.getSetCardInfo()) {
-                if (CardRepository.instance.findCard(set.getCode(), setInfo.getCardNumber()) == null) {
-                    Card card = CardImpl.createCard(
-                            setInfo.getCardClass(),
-                            new CardSetInfo(setInfo.getName(), set.getCode(), setInfo.getCardNumber(), setInfo.getRarity(), setInfo.getGraphicInfo()),
-                            errorsList);
-                    if (card != null) {
-                        cardsToAdd.add(new CardInfo(card));
-                        if (card instanceof SplitCard) {
-                            SplitCard splitCard = (SplitCard) card;
-                            cardsToAdd.add(new CardInfo(splitCard.getLeftHalfCard()));
-                            cardsToAdd.add(new CardInfo(splitCard.getRightHalfCard()));
-                        }
-                    }
+                if (catalog.findBySetAndNumber(set.getCode(), setInfo.getCardNumber()) == null) {
+                    missingCards.add(new MissingCard(set, setInfo));
                 }
             }
         }
 
-        if (!cardsToAdd.isEmpty()) {
-            logger.info("DB: need to add " + cardsToAdd.size() + " new cards");
+        if (!missingCards.isEmpty()) {
+            long start = System.currentTimeMillis();
+            List<String> errors = Collections.synchronizedList(new ArrayList<>());
+            List<CardInfo> cardsToAdd = createCardInfos(missingCards, errors);
+            if (errorsList != null) {
+                errorsList.addAll(errors);
+            }
+            logger.info("DB: need to add " + cardsToAdd.size() + " new cards (created in " + (System.currentTimeMillis() - start) + " ms)");
             CardRepository.instance.addCards(cardsToAdd);
+            logger.info("DB: added " + cardsToAdd.size() + " new cards in " + (System.currentTimeMillis() - start) + " ms");
         }
         CardRepository.instance.setContentVersion(CardRepository.instance.getContentVersionConstant());
     }
+
+    /**
+     * Instantiates the cards in parallel, the order of the card infos is the
+     * order of the missing cards
+     */
+    private static List<CardInfo> createCardInfos(List<MissingCard> missingCards, List<String> errors) {
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            return pool.submit(() -> missingCards.parallelStream()
+                    .map(missingCard -> missingCard.createCardInfos(errors))
+                    .flatMap(List::stream)
+                    .collect(Collectors.toList())
+            ).get();
+        } catch (InterruptedException | ExecutionException ex) {
+            logger.error("Error creating the cards in parallel, creating them one by one", ex);
+            return missingCards.stream()
+                    .map(missingCard -> missingCard.createCardInfos(errors))
+                    .flatMap(List::stream)
+                    .collect(Collectors.toList());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static final class MissingCard {
+
+        private final ExpansionSet set;
+        private final ExpansionSet.SetCardInfo setInfo;
+
+        MissingCard(ExpansionSet set, ExpansionSet.SetCardInfo setInfo) {
+            this.set = set;
+            this.setInfo = setInfo;
+        }
+
+        List<CardInfo> createCardInfos(List<String> errors) {
+            Card card = CardImpl.createCard(
+                    setInfo.getCardClass(),
+                    new CardSetInfo(setInfo.getName(), set.getCode(), setInfo.getCardNumber(), setInfo.getRarity(), setInfo.getGraphicInfo()),
+                    errors);
+            if (card == null) {
+                return Collections.emptyList();
+            }
+            List<CardInfo> cardInfos = new ArrayList<>();
+            cardInfos.add(new CardInfo(card));
+            if (card instanceof SplitCard) {
+                SplitCard splitCard = (SplitCard) card;
+                cardInfos.add(new CardInfo(splitCard.getLeftHalfCard()));
+                cardInfos.add(new CardInfo(splitCard.getRightHalfCard()));
+            }
+            return cardInfos;
+        }
+    }
 }
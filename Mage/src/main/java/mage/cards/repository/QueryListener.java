@@ -0,0 +1,16 @@
+package mage.cards.repository;
+
+/**
+ * Gets the duration of the repository queries (e.g. to publish them as
+ * metrics).
+ */
+@FunctionalInterface
+public interface QueryListener {
+
+    /**
+     * @param repository
+     * @param query name of the query
+     * @param nanos duration of the query
+     */
+    void queryDone(String repository, String query, long nanos);
+}
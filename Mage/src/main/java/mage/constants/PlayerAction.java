@@ -85,5 +85,6 @@ public enum PlayerAction {
     HOLD_PRIORITY,
     UNHOLD_PRIORITY,
     VIEW_LIMITED_DECK,
+    RESYNC_GAME_VIEW,
     TOGGLE_RECORD_MACRO
 }
@@ -217,9 +217,19 @@ public abstract class GameImpl implements Game, Serializable {
         return simulation;
     }
 
+    /**
+     * Switching a game to simulation mode also drops the looked at cards of
+     * the state, they are only shown to human players and copies of the
+     * simulated game don't have to carry them along.
+     *
+     * @param simulation
+     */
     @Override
     public void setSimulation(boolean simulation) {
         this.simulation = simulation;
+        if (simulation) {
+            state.clearLookedAt();
+        }
     }
 
     @Override
@@ -2638,21 +2648,20 @@ public abstract class GameImpl implements Game, Serializable {
             // set remaining amount
             result.setRemainingAmount(amountToPrevent -= result.getPreventedDamage());
         }
-        MageObject damageSource = game.getObject(damageEvent.getSourceId());
-        MageObject preventionSource = game.getObject(source.getSourceId());
-
-        if (damageSource != null && preventionSource != null) {
-            MageObject targetObject = game.getObject(event.getTargetId());
-            String targetName = "";
-            if (targetObject == null) {
-                Player targetPlayer = game.getPlayer(event.getTargetId());
-                if (targetPlayer != null) {
-                    targetName = targetPlayer.getLogName();
+        if (!game.isSimulation()) {
+            MageObject damageSource = game.getObject(damageEvent.getSourceId());
+            MageObject preventionSource = game.getObject(source.getSourceId());
+            if (damageSource != null && preventionSource != null) {
+                MageObject targetObject = game.getObject(event.getTargetId());
+                String targetName = "";
+                if (targetObject == null) {
+                    Player targetPlayer = game.getPlayer(event.getTargetId());
+                    if (targetPlayer != null) {
+                        targetName = targetPlayer.getLogName();
+                    }
+                } else {
+                    targetName = targetObject.getLogName();
                 }
-            } else {
-                targetName = targetObject.getLogName();
-            }
-            if (!game.isSimulation()) {
                 StringBuilder message = new StringBuilder(preventionSource.getLogName()).append(": Prevented ");
                 message.append(Integer.toString(result.getPreventedDamage())).append(" damage from ").append(damageSource.getLogName());
                 if (!targetName.isEmpty()) {
@@ -3042,7 +3051,7 @@ public abstract class GameImpl implements Game, Serializable {
 
     @Override
     public void saveRollBackGameState() {
-        if (gameOptions.rollbackTurnsAllowed) {
+        if (gameOptions.rollbackTurnsAllowed && !simulation) {
             int toDelete = getTurnNum() - ROLLBACK_TURNS_MAX;
             if (toDelete > 0 && gameStatesRollBack.containsKey(toDelete)) {
                 gameStatesRollBack.remove(toDelete);
@@ -70,6 +70,11 @@ public interface Draft extends MageItem, Serializable {
     void addPlayerQueryEventListener(Listener<PlayerQueryEvent> listener);
     void firePickCardEvent(UUID playerId);
 
+    /**
+     * Drops the booster pools of the sets of the draft, they are loaded again
+     * with the next booster. The pools are kept between drafts, so this is
+     * only needed if the cards of the sets changed.
+     */
     void resetBufferedCards();
 
     boolean isAbort();
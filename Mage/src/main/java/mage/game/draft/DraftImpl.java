@@ -28,6 +28,10 @@
 package mage.game.draft;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import mage.cards.Card;
 import mage.cards.ExpansionSet;
 import mage.game.draft.DraftOptions.TimingOption;
@@ -35,6 +39,7 @@ import mage.game.events.*;
 import mage.game.events.TableEvent.EventType;
 import mage.players.Player;
 import mage.players.PlayerList;
+import org.apache.log4j.Logger;
 
 /**
  *
@@ -42,6 +47,23 @@ import mage.players.PlayerList;
  */
 public abstract class DraftImpl implements Draft {
 
+    private static final Logger logger = Logger.getLogger(DraftImpl.class);
+
+    /**
+     * Shared by all drafts, the computer players of a draft pick in parallel
+     */
+    private static final ExecutorService pickExecutor = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "DRAFT PICK " + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
     protected final UUID id;
     protected final Map<UUID, DraftPlayer> players = new LinkedHashMap<>();
     protected final PlayerList table = new PlayerList();
@@ -240,7 +262,11 @@ public abstract class DraftImpl implements Draft {
                 return false;
             }
             player.setPicking();
-            player.getPlayer().pickCard(player.getBooster(), player.getDeck(), this);
+            if (player.getPlayer().isHuman()) {
+                player.getPlayer().pickCard(player.getBooster(), player.getDeck(), this);
+            } else {
+                pickComputerCard(player);
+            }
         }
         synchronized (this) {
             while (!donePicking()) {
@@ -253,6 +279,19 @@ public abstract class DraftImpl implements Draft {
         return true;
     }
 
+    private void pickComputerCard(final DraftPlayer player) {
+        pickExecutor.execute(() -> {
+            try {
+                player.getPlayer().pickCard(player.getBooster(), player.getDeck(), this);
+            } catch (Exception ex) {
+                logger.error("Error during computer pick of " + player.getPlayer().getName(), ex);
+                if (player.isPicking() && !player.getBooster().isEmpty()) {
+                    autoPick(player.getPlayer().getId());
+                }
+            }
+        });
+    }
+
     protected boolean donePicking() {
         if (isAbort()) {
             return true;
@@ -430,6 +430,10 @@ public abstract class TournamentImpl implements Tournament {
         nextStep();
     }
 
+    /**
+     * Releases the booster pools of the sets of the tournament after its
+     * boosters are opened, they are loaded again by the next event
+     */
     public void resetBufferedCards() {
         HashSet<ExpansionSet> setsDone = new HashSet<>();
         for (ExpansionSet set : sets) {
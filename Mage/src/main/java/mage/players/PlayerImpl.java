@@ -1501,12 +1501,20 @@ public abstract class PlayerImpl implements Player, Serializable {
 
     @Override
     public void lookAtCards(String name, Card card, Game game) {
+        if (game.isSimulation()) {
+            // looked at cards are only shown to human players
+            return;
+        }
         game.getState().getLookedAt(this.playerId).add(name, card);
         game.fireUpdatePlayersEvent();
     }
 
     @Override
     public void lookAtCards(String name, Cards cards, Game game) {
+        if (game.isSimulation()) {
+            // looked at cards are only shown to human players
+            return;
+        }
         game.getState().getLookedAt(this.playerId).add(name, cards);
         game.fireUpdatePlayersEvent();
     }
@@ -1900,7 +1908,7 @@ public abstract class PlayerImpl implements Player, Serializable {
                         return actualDamage;
                     }
                 }
-            } else {
+            } else if (!game.isSimulation()) {
                 MageObject sourceObject = game.getObject(sourceId);
                 game.informPlayers(damage + " damage "
                         + (sourceObject == null ? "" : "from " + sourceObject.getLogName())
@@ -3792,7 +3800,9 @@ public abstract class PlayerImpl implements Player, Serializable {
 
     @Override
     public boolean scry(int value, Ability source, Game game) {
-        game.informPlayers(getLogName() + " scries " + value);
+        if (!game.isSimulation()) {
+            game.informPlayers(getLogName() + " scries " + value);
+        }
         Cards cards = new CardsImpl();
         cards.addAll(getLibrary().getTopCards(game, value));
         if (!cards.isEmpty()) {
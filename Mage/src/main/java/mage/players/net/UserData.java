@@ -23,6 +23,8 @@ public class UserData implements Serializable {
     protected boolean passPriorityActivation;
     protected boolean autoOrderTrigger;
     protected boolean useFirstManaAbility = false;
+    protected boolean compactViews = false;
+    protected int viewDictionaryId = 0;
     private String userIdStr;
 
     protected String matchHistory;
@@ -74,6 +76,8 @@ public class UserData implements Serializable {
         this.passPriorityActivation = userData.passPriorityActivation;
         this.autoOrderTrigger = userData.autoOrderTrigger;
         this.useFirstManaAbility = userData.useFirstManaAbility;
+        this.compactViews = userData.compactViews;
+        this.viewDictionaryId = userData.viewDictionaryId;
         this.userIdStr = userData.userIdStr;
         // todo: why we don't update user stats here? => can't be updated from client side
     }
@@ -194,6 +198,29 @@ public class UserData implements Serializable {
         this.useFirstManaAbility = useFirstManaAbility;
     }
 
+    /**
+     * @return true if the client can decode game views sent in the compact
+     * format
+     */
+    public boolean isCompactViews() {
+        return compactViews;
+    }
+
+    public void setCompactViews(boolean compactViews) {
+        this.compactViews = compactViews;
+    }
+
+    /**
+     * @return id of the view dictionary the client has, 0 = none
+     */
+    public int getViewDictionaryId() {
+        return viewDictionaryId;
+    }
+
+    public void setViewDictionaryId(int viewDictionaryId) {
+        this.viewDictionaryId = viewDictionaryId;
+    }
+
     public String getHistory() {
         if (UserGroup.COMPUTER.equals(this.groupId)) { // Why we are checking UserGroup and integer equality??
             return "";
@@ -0,0 +1,95 @@
+package mage.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Index of the top level classes of a jar, written at build time so the
+ * {@link ClassScanner} doesn't have to walk the jar.
+ *
+ * The index is a resource with one class name per line. It is created in the
+ * process-classes phase of the builds of the sets and the server plugins by
+ * running this class with the classes directory as argument.
+ */
+public final class ClassIndex {
+
+    public static final String RESOURCE = "META-INF/mage/class-index";
+
+    private ClassIndex() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: ClassIndex <classes directory>");
+            System.exit(1);
+        }
+        Path classes = new File(args[0]).toPath();
+        List<String> names = create(classes);
+        Path index = classes.resolve(RESOURCE);
+        Files.createDirectories(index.getParent());
+        Files.write(index, names, StandardCharsets.UTF_8);
+        System.out.println("Class index: " + names.size() + " classes written to " + index);
+    }
+
+    /**
+     * @param classes classes directory
+     * @return sorted names of the top level classes in the directory
+     * @throws IOException
+     */
+    public static List<String> create(Path classes) throws IOException {
+        if (!Files.isDirectory(classes)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.walk(classes)) {
+            return files
+                    .filter(Files::isRegularFile)
+                    .map(file -> classes.relativize(file).toString().replace(File.separatorChar, '/'))
+                    .filter(ClassIndex::isTopLevelClass)
+                    .map(ClassIndex::getClassName)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Nested classes (javac names them Outer$Inner) are never scanned, the
+     * index and the scan of a jar without index both leave them out
+     *
+     * @param entryName path of a file in a jar or classes directory
+     * @return true if the file is a top level class
+     */
+    public static boolean isTopLevelClass(String entryName) {
+        return entryName.endsWith(".class") && entryName.indexOf('$') < 0 && !entryName.startsWith("META-INF/");
+    }
+
+    /**
+     * @param entryName path of a class file in a jar or classes directory
+     * @return name of the class
+     */
+    public static String getClassName(String entryName) {
+        return entryName.substring(0, entryName.length() - ".class".length()).replace('/', '.');
+    }
+
+    public static List<String> read(InputStream in) throws IOException {
+        List<String> names = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (!line.isEmpty()) {
+                names.add(line);
+            }
+        }
+        return names;
+    }
+}
@@ -28,13 +28,13 @@
 package mage.util;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.util.*;
 import java.util.jar.JarEntry;
-import java.util.jar.JarInputStream;
+import java.util.jar.JarFile;
 
 /**
  *
@@ -95,8 +95,8 @@ public final class ClassScanner {
         if (!directory.exists()) return cards;
 
         for (File file : directory.listFiles()) {
-            if (file.getName().endsWith(".class")) {
-                String name = packageName + '.' + file.getName().substring(0, file.getName().length() - 6);
+            if (ClassIndex.isTopLevelClass(file.getName())) {
+                String name = packageName + '.' + ClassIndex.getClassName(file.getName());
                 checkClassForInclusion(cards, type, name, classLoader);
             }
         }
@@ -107,22 +107,32 @@ public final class ClassScanner {
         List<Class> cards = new ArrayList<>();
         if (!file.exists()) return cards;
 
-
-        try(JarInputStream jarFile = new JarInputStream(new FileInputStream(file))) {
-            while (true) {
-                JarEntry jarEntry = jarFile.getNextJarEntry();
-                if (jarEntry == null) {
-                    break;
+        try (JarFile jarFile = new JarFile(file)) {
+            JarEntry index = jarFile.getJarEntry(ClassIndex.RESOURCE);
+            if (index != null) {
+                // written at build time, no need to look at all entries
+                try (InputStream in = jarFile.getInputStream(index)) {
+                    for (String className : ClassIndex.read(in)) {
+                        if (packages.contains(getPackageName(className))) checkClassForInclusion(cards, type, className, classLoader);
+                    }
                 }
-                if (jarEntry.getName().endsWith(".class")) {
-                    String className = jarEntry.getName().replace(".class", "").replace('/', '.');
-                    int packageNameEnd = className.lastIndexOf('.');
-                    String packageName = packageNameEnd != -1 ? className.substring(0, packageNameEnd) : "";
-                    if (packages.contains(packageName)) checkClassForInclusion(cards, type, className, classLoader);
+                return cards;
+            }
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry jarEntry = entries.nextElement();
+                if (ClassIndex.isTopLevelClass(jarEntry.getName())) {
+                    String className = ClassIndex.getClassName(jarEntry.getName());
+                    if (packages.contains(getPackageName(className))) checkClassForInclusion(cards, type, className, classLoader);
                 }
             }
         } catch (IOException ex) {
         }
         return cards;
     }
+
+    private static String getPackageName(String className) {
+        int packageNameEnd = className.lastIndexOf('.');
+        return packageNameEnd != -1 ? className.substring(0, packageNameEnd) : "";
+    }
 }
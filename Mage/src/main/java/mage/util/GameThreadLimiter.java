@@ -0,0 +1,64 @@
+package mage.util;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits the number of game threads working at the same time.
+ *
+ * A game thread enters the limiter with the permits of the server. While it
+ * waits for the answer of a (human) player it gives its permit back, so games
+ * waiting for their players don't block other games. Threads that never
+ * entered the limiter are not limited.
+ */
+public final class GameThreadLimiter {
+
+    private static final ThreadLocal<Semaphore> currentPermits = new ThreadLocal<>();
+
+    private GameThreadLimiter() {
+    }
+
+    /**
+     * Waits for a permit and binds the permits to the current thread
+     *
+     * @param permits
+     * @throws InterruptedException
+     */
+    public static void enter(Semaphore permits) throws InterruptedException {
+        permits.acquire();
+        currentPermits.set(permits);
+    }
+
+    /**
+     * Gives the permit of the current thread back
+     */
+    public static void exit() {
+        Semaphore permits = currentPermits.get();
+        if (permits != null) {
+            currentPermits.remove();
+            permits.release();
+        }
+    }
+
+    /**
+     * Must be called by the game thread before it starts to wait for a player,
+     * each call must be followed by {@link #endWaiting()}
+     */
+    public static void beginWaiting() {
+        Semaphore permits = currentPermits.get();
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    /**
+     * Must be called by the game thread after it got the answer of the player,
+     * blocks until a permit is available again. Don't call it while holding a
+     * lock other threads need to answer.
+     */
+    public static void endWaiting() {
+        Semaphore permits = currentPermits.get();
+        if (permits != null) {
+            permits.acquireUninterruptibly();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package mage.cards;
+
+import java.util.UUID;
+import mage.cards.basiclands.Plains;
+import mage.constants.CardType;
+import mage.constants.Rarity;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+public class CardFactoryTest {
+
+    public static class TestInstant extends CardImpl {
+
+        public TestInstant(UUID ownerId, CardSetInfo setInfo) {
+            super(ownerId, setInfo, new CardType[]{CardType.INSTANT}, "{1}{R}");
+        }
+
+        public TestInstant(final TestInstant card) {
+            super(card);
+        }
+
+        @Override
+        public TestInstant copy() {
+            return new TestInstant(this);
+        }
+    }
+
+    @Test
+    public void testCreateByName() throws Exception {
+        Card card = CardFactory.forName(Plains.class.getName()).create(setInfo("Plains"));
+        assertEquals(Plains.class, card.getClass());
+        assertEquals("Plains", card.getName());
+        assertSame(CardFactory.of(Plains.class), CardFactory.forName(Plains.class.getName()));
+    }
+
+    @Test
+    public void testCopyKeepsOneSpellAbility() throws Exception {
+        CardImpl card = (CardImpl) CardImpl.createCard(TestInstant.class, setInfo("Test Instant"));
+        CardImpl copy = (CardImpl) card.copy();
+        assertNotSame(card.getSpellAbility(), copy.getSpellAbility());
+        assertSame(copy.getSpellAbility(), copy.getAbilities().get(card.getSpellAbility().getId()).get());
+        CardImpl copyOfCopy = (CardImpl) copy.copy();
+        assertSame(copyOfCopy.getSpellAbility(), copyOfCopy.getAbilities().get(card.getSpellAbility().getId()).get());
+        // the frame color is never changed, the copies share it
+        assertSame(card.getFrameColor(null), copyOfCopy.getFrameColor(null));
+    }
+
+    private static CardSetInfo setInfo(String name) {
+        return new CardSetInfo(name, "TST", "1", Rarity.COMMON);
+    }
+}
@@ -0,0 +1,76 @@
+package mage.cards.repository;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import mage.constants.CardType;
+import mage.constants.Rarity;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class CardCatalogTest {
+
+    private final CardInfo bolt = card("Lightning Bolt", "M10", "146", Rarity.COMMON, EnumSet.of(CardType.INSTANT), false);
+    private final CardInfo bears = card("Grizzly Bears", "M10", "186", Rarity.COMMON, EnumSet.of(CardType.CREATURE), false);
+    private final CardInfo thopter = card("Ornithopter", "KLD", "223", Rarity.UNCOMMON, EnumSet.of(CardType.ARTIFACT, CardType.CREATURE), false);
+    private final CardInfo fireIce = card("Fire // Ice", "MH2", "290", Rarity.UNCOMMON, EnumSet.of(CardType.INSTANT), false);
+    private final CardInfo night = card("Insectile Aberration", "ISD", "51", Rarity.COMMON, EnumSet.of(CardType.CREATURE), true);
+    private final CardInfo day = card("Delver of Secrets", "ISD", "51", Rarity.COMMON, EnumSet.of(CardType.CREATURE), false);
+
+    private final CardCatalog catalog = new CardCatalog(Arrays.asList(bolt, bears, thopter, fireIce, night, day));
+
+    @Test
+    public void testIndexes() {
+        assertEquals(Arrays.asList(bolt), catalog.findByName("Lightning Bolt"));
+        assertEquals(Arrays.asList(bolt), catalog.findByNameIgnoreCase("lightning BOLT"));
+        assertTrue(catalog.findByName("lightning bolt").isEmpty());
+        // the night side has the same number as the day side
+        assertSame(day, catalog.findBySetAndNumber("ISD", "51"));
+        assertNull(catalog.findBySetAndNumber("ISD", "52"));
+        assertSame(thopter, catalog.findByClassName("mage.cards.Ornithopter"));
+        assertEquals(Arrays.asList(bears, thopter, night, day), catalog.findByType(CardType.CREATURE));
+    }
+
+    @Test
+    public void testNames() {
+        assertTrue(catalog.getNames().contains("Fire"));
+        assertTrue(catalog.getNames().contains("Ice"));
+        assertEquals(Arrays.asList("Delver of Secrets", "Grizzly Bears", "Insectile Aberration", "Ornithopter"),
+                Arrays.asList(catalog.getCreatureNames().toArray()));
+        assertEquals(Arrays.asList("Fire", "Ice", "Lightning Bolt"),
+                Arrays.asList(catalog.getNonLandAndNonCreatureNames().toArray()));
+    }
+
+    @Test
+    public void testCriteria() {
+        List<CardInfo> creatures = catalog.find(new CardCriteria().types(CardType.CREATURE));
+        // night cards are never found by criteria
+        assertEquals(Arrays.asList(bears, thopter, day), creatures);
+        assertEquals(Arrays.asList(thopter, fireIce), catalog.find(new CardCriteria().rarities(Rarity.UNCOMMON)));
+        assertEquals(Arrays.asList(bolt, bears), catalog.find(new CardCriteria().setCodes("M10", "ZEN")));
+        assertEquals(Arrays.asList(bolt), catalog.find(new CardCriteria().name("Bolt")));
+        assertEquals(Arrays.asList(bolt), catalog.find(new CardCriteria().nameExact("Lightning%")));
+        assertEquals(Arrays.asList(bears, thopter), catalog.find(new CardCriteria().types(CardType.CREATURE, CardType.ARTIFACT).count(2L)));
+        assertEquals(Arrays.asList(thopter), catalog.find(new CardCriteria().types(CardType.CREATURE).start(1L).count(1L)));
+        assertEquals(Arrays.asList(bolt, fireIce), catalog.find(new CardCriteria().red(true).black(false).blue(false).green(false).white(false).colorless(false)));
+    }
+
+    private static CardInfo card(String name, String setCode, String cardNumber, Rarity rarity, EnumSet<CardType> types, boolean nightCard) {
+        CardInfo card = new CardInfo();
+        card.name = name;
+        card.setCode = setCode;
+        card.cardNumber = cardNumber;
+        card.className = "mage.cards." + name.replaceAll("[^A-Za-z]", "");
+        card.rarity = rarity;
+        card.setTypes(types);
+        card.subtypes = "";
+        card.supertypes = "";
+        card.rules = "";
+        card.red = types.contains(CardType.INSTANT);
+        card.nightCard = nightCard;
+        return card;
+    }
+}
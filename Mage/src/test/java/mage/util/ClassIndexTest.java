@@ -0,0 +1,61 @@
+package mage.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testCreateAndRead() throws IOException {
+        Path classes = folder.getRoot().toPath();
+        touch(classes, "mage/sets/Alpha.class");
+        touch(classes, "mage/sets/Alpha$1.class");
+        touch(classes, "mage/sets/Zendikar.class");
+        touch(classes, "mage/sets/zendikar/Bolt.class");
+        touch(classes, "mage/sets/readme.txt");
+        touch(classes, "META-INF/versions/9/module-info.class");
+
+        List<String> names = ClassIndex.create(classes);
+        assertEquals(Arrays.asList("mage.sets.Alpha", "mage.sets.Zendikar", "mage.sets.zendikar.Bolt"), names);
+
+        String index = String.join("\n", names) + "\n\n";
+        assertEquals(names, ClassIndex.read(new ByteArrayInputStream(index.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void testJarEntriesLikeIndex() {
+        // a jar without index is scanned with the same rules
+        assertTrue(ClassIndex.isTopLevelClass("mage/sets/Alpha.class"));
+        assertFalse(ClassIndex.isTopLevelClass("mage/sets/Alpha$1.class"));
+        assertFalse(ClassIndex.isTopLevelClass("mage/sets/Alpha$AlphaEffect.class"));
+        assertFalse(ClassIndex.isTopLevelClass("META-INF/versions/9/module-info.class"));
+        assertFalse(ClassIndex.isTopLevelClass("mage/sets/readme.txt"));
+        assertEquals("mage.sets.zendikar.Bolt", ClassIndex.getClassName("mage/sets/zendikar/Bolt.class"));
+    }
+
+    @Test
+    public void testMissingDirectory() throws IOException {
+        assertEquals(0, ClassIndex.create(new File(folder.getRoot(), "missing").toPath()).size());
+    }
+
+    private static void touch(Path classes, String name) throws IOException {
+        Path file = classes.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.createFile(file);
+    }
+}
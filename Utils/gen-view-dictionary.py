@@ -0,0 +1,122 @@
+"""
+Purpose: Builds the preset deflate dictionary used by the compact game view codec
+(Mage.Common/src/main/resources/mage/remote/traffic/view-dictionary.bin).
+
+Record traffic with a server (or client) started with -Dmage.traffic.capture=<dir>,
+play some games and run:
+
+    python gen-view-dictionary.py <dir> [<dir> ...]
+
+Without captures the dictionary is built from the seed strings only:
+
+    python gen-view-dictionary.py --strings view-dictionary-seed.txt
+
+Client and server must ship the same dictionary, the id of the dictionary is checked
+on connect and the dictionary is only used if both sides have the same one.
+
+Written in Python 3.x.
+"""
+import argparse
+import os
+import struct
+import zlib
+from collections import Counter
+
+DEFAULT_OUTPUT = os.path.join('..', 'Mage.Common', 'src', 'main', 'resources',
+                              'mage', 'remote', 'traffic', 'view-dictionary.bin')
+# deflate can only look back 32 KB
+MAX_SIZE = 32 * 1024
+
+
+def read_payloads(paths):
+    payloads = []
+    for path in paths:
+        if os.path.isdir(path):
+            for name in sorted(os.listdir(path)):
+                file_name = os.path.join(path, name)
+                if os.path.isfile(file_name):
+                    with open(file_name, 'rb') as f:
+                        payloads.append(f.read())
+        else:
+            with open(path, 'rb') as f:
+                payloads.append(f.read())
+    return payloads
+
+
+def read_strings(file_name):
+    """seed strings, encoded the way ObjectOutputStream.writeUTF writes them"""
+    strings = []
+    with open(file_name, 'rb') as f:
+        for line in f:
+            line = line.rstrip(b'\r\n')
+            if line and not line.startswith(b'#'):
+                strings.append(struct.pack('>H', len(line)) + line)
+    return strings
+
+
+def count_segments(payloads, length, step):
+    """counts in how many payloads a segment occurs, a segment counts only once per payload"""
+    counter = Counter()
+    for payload in payloads:
+        seen = set()
+        for i in range(0, len(payload) - length + 1, step):
+            seen.add(payload[i:i + length])
+        counter.update(seen)
+    return counter
+
+
+def build(payloads, strings, length, step, min_count, size):
+    counter = count_segments(payloads, length, step)
+    segments = [s for s, c in counter.most_common() if c >= min_count]
+    picked = []
+    picked_size = 0
+    # most frequent first, seed strings last, skip segments that are already covered
+    for segment in segments + strings:
+        if picked_size >= size:
+            break
+        if any(segment in p for p in picked):
+            continue
+        picked.append(segment)
+        picked_size += len(segment)
+    # deflate prefers near matches, so the most frequent segments go to the end
+    picked.reverse()
+    dictionary = b''.join(picked)
+    return dictionary[-size:]
+
+
+def main():
+    parser = argparse.ArgumentParser(description='Builds the view dictionary from captured payloads')
+    parser.add_argument('captures', nargs='*', help='captured payload files or directories')
+    parser.add_argument('--strings', help='file with seed strings (class names, ...), one per line')
+    parser.add_argument('--output', default=DEFAULT_OUTPUT, help='dictionary file to write')
+    parser.add_argument('--size', type=int, default=MAX_SIZE, help='dictionary size in bytes')
+    parser.add_argument('--length', type=int, default=24, help='segment length in bytes')
+    parser.add_argument('--step', type=int, default=4, help='sample a segment every n bytes')
+    parser.add_argument('--min-count', type=int, default=2, help='minimal number of payloads a segment occurs in')
+    args = parser.parse_args()
+
+    payloads = read_payloads(args.captures)
+    strings = read_strings(args.strings) if args.strings else []
+    if not payloads and not strings:
+        parser.error('no captures and no seed strings given')
+
+    dictionary = build(payloads, strings, args.length, args.step, args.min_count, min(args.size, MAX_SIZE))
+    output_dir = os.path.dirname(args.output)
+    if output_dir and not os.path.isdir(output_dir):
+        os.makedirs(output_dir)
+    with open(args.output, 'wb') as f:
+        f.write(dictionary)
+    print('Wrote %d bytes to %s (id %08x)' % (len(dictionary), args.output, zlib.crc32(dictionary) & 0xffffffff))
+
+    if payloads:
+        plain = sum(len(zlib.compress(p)) for p in payloads)
+        trained = 0
+        for p in payloads:
+            compressor = zlib.compressobj(zlib.Z_DEFAULT_COMPRESSION, zlib.DEFLATED, zlib.MAX_WBITS,
+                                          zlib.DEF_MEM_LEVEL, zlib.Z_DEFAULT_STRATEGY, dictionary)
+            trained += len(compressor.compress(p) + compressor.flush())
+        print('%d payloads: %d bytes without, %d bytes with dictionary' % (len(payloads), plain, trained))
+
+
+if __name__ == '__main__':
+    main()